@@ -0,0 +1,10 @@
+-- Canonical gazetteer ids of the job location (Job.cityId / Job.stateId).
+-- Existing rows are filled in by LocationNormalizer.backfill() on the first
+-- startup after this script ran. Unrecognised locations get a NULL city_id
+-- and an empty state_id, so later startups do not read them again.
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS city_id  VARCHAR(64);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS state_id VARCHAR(8);
+
+CREATE INDEX IF NOT EXISTS idx_job_city  ON jobs (city_id);
+CREATE INDEX IF NOT EXISTS idx_job_state ON jobs (state_id);
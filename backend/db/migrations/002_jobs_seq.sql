@@ -0,0 +1,23 @@
+-- Job ids now come from the pooled sequence jobs_seq (allocationSize 50)
+-- instead of the identity column, so inserts can be batched.
+--
+-- Hibernate's pooled optimizer treats each value it reads from the sequence
+-- as the top of a block of 50 ids, so the first id it hands out is
+-- START - 49. Starting at max(id) + 50 makes that max(id) + 1. INCREMENT BY
+-- must equal the allocationSize, or validation fails at startup.
+--
+-- The old identity default stays in place; it is unused, as the backend
+-- always supplies the id.
+
+DO $$
+DECLARE
+    first_value BIGINT;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_class WHERE relkind = 'S' AND relname = 'jobs_seq') THEN
+        SELECT COALESCE(MAX(id), 0) + 50 INTO first_value FROM jobs;
+        EXECUTE format('CREATE SEQUENCE jobs_seq START WITH %s INCREMENT BY 50', first_value);
+    END IF;
+END
+$$;
+
+GRANT USAGE, SELECT ON SEQUENCE jobs_seq TO jobsearch_user;
@@ -0,0 +1,5 @@
+-- SHA-256 of the fetched job content (Job.contentHash), compared on
+-- re-ingestion to skip unchanged jobs. Existing rows start out NULL and are
+-- rewritten, with their hash, the next time a provider returns them.
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
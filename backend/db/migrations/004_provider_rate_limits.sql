@@ -0,0 +1,11 @@
+-- Shared token buckets of the upstream job providers (ProviderRateLimit).
+-- Rows are created on first use by the backend.
+
+CREATE TABLE IF NOT EXISTS provider_rate_limits (
+    provider           VARCHAR(50)      NOT NULL PRIMARY KEY,
+    tokens             DOUBLE PRECISION NOT NULL,
+    refilled_at_ms     BIGINT           NOT NULL,
+    next_request_at_ms BIGINT           NOT NULL
+);
+
+GRANT SELECT, INSERT, UPDATE ON provider_rate_limits TO jobsearch_user;
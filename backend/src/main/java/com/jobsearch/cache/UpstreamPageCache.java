@@ -0,0 +1,498 @@
+package com.jobsearch.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Disk cache of raw provider response pages, so the same page is not
+ * downloaded again across users and restarts within
+ * {@code app.page-cache.ttl-ms}.
+ * <p>
+ * Bodies are gzipped and appended to segment files of at most
+ * {@code segment-size-mb}; once all segments together exceed
+ * {@code max-size-mb}, the oldest segment is deleted. A fixed-size
+ * open-addressed hash table in a memory-mapped {@code index.dat} points
+ * each key at its latest record. Keys are the SHA-256 of provider and URL,
+ * so credentials in a URL never reach the disk.
+ * <p>
+ * Every record carries its key and a CRC, and is checked on read. A torn,
+ * truncated or otherwise corrupt record, an index entry pointing at an
+ * evicted segment, or an unreadable index is a cache miss, never an error.
+ * If the directory cannot be used at all, the cache turns itself off.
+ */
+@Component
+public class UpstreamPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamPageCache.class);
+
+    private static final int RECORD_MAGIC = 0x4A504331;
+    private static final int INDEX_MAGIC = 0x4A504958;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_BYTES = 16;
+    // key hash, segment, record length, offset, stored-at
+    private static final int SLOT_BYTES = 32;
+    private static final int MAX_PROBES = 16;
+    private static final int KEY_BYTES = 32;
+    // magic, key, stored-at, body length ... CRC
+    private static final int RECORD_OVERHEAD = 4 + KEY_BYTES + 8 + 4 + 4;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long ttlMs;
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final int maxBodyBytes;
+    private final int slots;
+    private final Clock clock;
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter corruptCounter;
+
+    private final TreeMap<Integer, FileChannel> segments = new TreeMap<>();
+    private final Map<Integer, Long> segmentSizes = new TreeMap<>();
+    private FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int activeSegment;
+    private volatile boolean available;
+
+    @Autowired
+    public UpstreamPageCache(@Value("${app.page-cache.enabled:true}") boolean enabled,
+                             @Value("${app.page-cache.dir:${java.io.tmpdir}/jobsearch-page-cache}") String directory,
+                             @Value("${app.page-cache.ttl-ms:3600000}") long ttlMs,
+                             @Value("${app.page-cache.max-size-mb:256}") long maxSizeMb,
+                             @Value("${app.page-cache.segment-size-mb:16}") long segmentSizeMb,
+                             @Value("${app.page-cache.index-slots:65536}") int slots,
+                             MeterRegistry meterRegistry) {
+        this(enabled, directory, ttlMs, maxSizeMb, segmentSizeMb, slots, meterRegistry, Clock.systemUTC());
+    }
+
+    /** @param clock stamps records and ages them against the TTL; a wall clock, as records outlive restarts */
+    UpstreamPageCache(boolean enabled, String directory, long ttlMs, long maxSizeMb, long segmentSizeMb, int slots,
+                      MeterRegistry meterRegistry, Clock clock) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.ttlMs = ttlMs;
+        this.segmentBytes = Math.max(1, segmentSizeMb) * 1024 * 1024;
+        this.maxBytes = Math.max(this.segmentBytes * 2, maxSizeMb * 1024 * 1024);
+        this.maxBodyBytes = (int) Math.min(Integer.MAX_VALUE / 2, this.segmentBytes);
+        this.slots = Math.max(MAX_PROBES, slots);
+        this.clock = clock;
+        this.hitCounter = Counter.builder("upstream.page-cache").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("upstream.page-cache").tag("result", "miss").register(meterRegistry);
+        this.corruptCounter = Counter.builder("upstream.page-cache").tag("result", "corrupt")
+            .description("Cache records that failed verification and were dropped")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            openIndex();
+            openSegments();
+            evictOverflow();
+            available = true;
+            logger.info("Page cache in {}: {} segments, {} bytes", directory, segments.size(), totalBytes());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Page cache disabled, cannot use {}: {}", directory, e.getMessage());
+            closeQuietly();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        available = false;
+        if (index != null) {
+            index.force();
+        }
+        closeQuietly();
+    }
+
+    /** The cached body of the page, or empty if it is not cached or no longer fresh. */
+    public Mono<byte[]> get(String provider, String url) {
+        if (!available) {
+            return Mono.empty();
+        }
+        byte[] key = keyOf(provider, url);
+        return Mono.fromCallable(() -> read(key)).subscribeOn(scheduler);
+    }
+
+    /** Collects a response body as it streams past, to store it once it parsed cleanly. */
+    public Recorder recorder(String provider, String url) {
+        return new Recorder(available ? keyOf(provider, url) : null);
+    }
+
+    public final class Recorder {
+
+        private final byte[] key;
+        private ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        private Recorder(byte[] key) {
+            this.key = key;
+            if (key == null) {
+                body = null;
+            }
+        }
+
+        /** Copies the readable bytes without consuming them. */
+        public void append(DataBuffer buffer) {
+            if (body == null) {
+                return;
+            }
+            if (body.size() + buffer.readableByteCount() > maxBodyBytes) {
+                discard();
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer input = buffers.next();
+                    byte[] bytes = new byte[input.remaining()];
+                    input.get(bytes);
+                    body.write(bytes, 0, bytes.length);
+                }
+            }
+        }
+
+        public void discard() {
+            body = null;
+        }
+
+        /** Stores the body in the background, unless it was discarded. */
+        public void commit() {
+            if (body == null || !available) {
+                return;
+            }
+            byte[] bytes = body.toByteArray();
+            body = null;
+            Mono.fromRunnable(() -> write(key, bytes))
+                .subscribeOn(scheduler)
+                .subscribe(null, e -> logger.warn("Could not write page cache record: {}", e.getMessage()));
+        }
+    }
+
+    private synchronized byte[] read(byte[] key) {
+        if (!available) {
+            return null;
+        }
+        long hash = hashOf(key);
+        int slot = findSlot(hash);
+        if (slot < 0) {
+            missCounter.increment();
+            return null;
+        }
+        int position = slotPosition(slot);
+        long storedAt = index.getLong(position + 24);
+        if (clock.millis() - storedAt > ttlMs) {
+            missCounter.increment();
+            return null;
+        }
+        FileChannel segment = segments.get(index.getInt(position + 8));
+        int length = index.getInt(position + 12);
+        long offset = index.getLong(position + 16);
+        byte[] body = segment == null ? null : readRecord(segment, offset, length, key);
+        if (body == null) {
+            if (segment != null) {
+                corruptCounter.increment();
+            }
+            clearSlot(position);
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return body;
+    }
+
+    private byte[] readRecord(FileChannel segment, long offset, int length, byte[] key) {
+        // A damaged index entry must not make us allocate or read garbage sizes
+        if (length < RECORD_OVERHEAD || length > 2 * segmentBytes || offset < 0) {
+            return null;
+        }
+        try {
+            ByteBuffer record = ByteBuffer.allocate(length);
+            while (record.hasRemaining()) {
+                if (segment.read(record, offset + record.position()) < 0) {
+                    return null;
+                }
+            }
+            record.flip();
+            if (record.getInt() != RECORD_MAGIC) {
+                return null;
+            }
+            byte[] storedKey = new byte[KEY_BYTES];
+            record.get(storedKey);
+            record.getLong();
+            int compressedLength = record.getInt();
+            if (!Arrays.equals(storedKey, key) || compressedLength != length - RECORD_OVERHEAD) {
+                return null;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, length - 4);
+            record.position(length - 4);
+            if ((int) crc.getValue() != record.getInt()) {
+                return null;
+            }
+            return gunzip(record.array(), RECORD_OVERHEAD - 4, compressedLength);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private synchronized void write(byte[] key, byte[] body) {
+        if (!available) {
+            return;
+        }
+        try {
+            byte[] compressed = gzip(body);
+            int length = RECORD_OVERHEAD + compressed.length;
+            long storedAt = clock.millis();
+            ByteBuffer record = ByteBuffer.allocate(length);
+            record.putInt(RECORD_MAGIC).put(key).putLong(storedAt).putInt(compressed.length).put(compressed);
+            CRC32 crc = new CRC32();
+            crc.update(record.array(), 0, length - 4);
+            record.putInt((int) crc.getValue());
+            record.flip();
+
+            long offset = segmentSizes.get(activeSegment);
+            if (offset > 0 && offset + length > segmentBytes) {
+                rollSegment();
+                offset = 0;
+            }
+            FileChannel segment = segments.get(activeSegment);
+            while (record.hasRemaining()) {
+                segment.write(record, offset + record.position());
+            }
+            segmentSizes.put(activeSegment, offset + length);
+
+            int position = slotPosition(slotForWrite(hashOf(key)));
+            index.putLong(position, hashOf(key));
+            index.putInt(position + 8, activeSegment);
+            index.putInt(position + 12, length);
+            index.putLong(position + 16, offset);
+            index.putLong(position + 24, storedAt);
+        } catch (IOException e) {
+            logger.warn("Could not write page cache record: {}", e.getMessage());
+        }
+    }
+
+    private int findSlot(long hash) {
+        int start = (int) Math.floorMod(hash, (long) slots);
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (start + i) % slots;
+            if (index.getLong(slotPosition(slot)) == hash) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /** The slot already holding the key, else a free or stale one, else the oldest in the probe window. */
+    private int slotForWrite(long hash) {
+        int existing = findSlot(hash);
+        if (existing >= 0) {
+            return existing;
+        }
+        int start = (int) Math.floorMod(hash, (long) slots);
+        int oldest = start;
+        long oldestStoredAt = Long.MAX_VALUE;
+        long now = clock.millis();
+        for (int i = 0; i < MAX_PROBES; i++) {
+            int slot = (start + i) % slots;
+            int position = slotPosition(slot);
+            long storedAt = index.getLong(position + 24);
+            if (index.getLong(position) == 0
+                || now - storedAt > ttlMs
+                || !segments.containsKey(index.getInt(position + 8))) {
+                return slot;
+            }
+            if (storedAt < oldestStoredAt) {
+                oldest = slot;
+                oldestStoredAt = storedAt;
+            }
+        }
+        return oldest;
+    }
+
+    private void clearSlot(int position) {
+        for (int i = 0; i < SLOT_BYTES; i += 8) {
+            index.putLong(position + i, 0);
+        }
+    }
+
+    private int slotPosition(int slot) {
+        return INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private void openIndex() throws IOException {
+        Path file = directory.resolve("index.dat");
+        long size = INDEX_HEADER_BYTES + (long) slots * SLOT_BYTES;
+        indexChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean valid = indexChannel.size() == size;
+        index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        if (valid && index.getInt(0) == INDEX_MAGIC && index.getInt(4) == INDEX_VERSION && index.getInt(8) == slots) {
+            return;
+        }
+        // New, resized or unreadable: start empty; the segments are unreachable
+        // without it and age out through eviction
+        logger.info("Page cache index {} is new or unreadable, starting empty", file);
+        for (int position = 0; position < size; position += 8) {
+            index.putLong(position, 0);
+        }
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, INDEX_VERSION);
+        index.putInt(8, slots);
+    }
+
+    private void openSegments() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                int id;
+                try {
+                    id = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                segments.put(id, channel);
+                segmentSizes.put(id, channel.size());
+            }
+        }
+        if (segments.isEmpty()) {
+            activeSegment = 0;
+            openSegment(activeSegment);
+        } else {
+            // Records are appended after a torn tail; reads of it fail the CRC
+            activeSegment = segments.lastKey();
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        activeSegment++;
+        openSegment(activeSegment);
+        evictOverflow();
+    }
+
+    private void openSegment(int id) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(id),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segments.put(id, channel);
+        segmentSizes.put(id, channel.size());
+    }
+
+    private void evictOverflow() throws IOException {
+        // Leave room for the active segment to fill up, so max-size-mb is never exceeded
+        while (segments.size() > 1
+            && totalBytes() + Math.max(0, segmentBytes - segmentSizes.get(activeSegment)) > maxBytes) {
+            int oldest = segments.firstKey();
+            segments.remove(oldest).close();
+            segmentSizes.remove(oldest);
+            Files.deleteIfExists(segmentPath(oldest));
+            logger.debug("Evicted page cache segment {}", oldest);
+        }
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (long size : segmentSizes.values()) {
+            total += size;
+        }
+        return total;
+    }
+
+    private Path segmentPath(int id) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    }
+
+    private void closeQuietly() {
+        available = false;
+        for (FileChannel channel : segments.values()) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nothing left to flush
+            }
+        }
+        segments.clear();
+        segmentSizes.clear();
+        if (indexChannel != null) {
+            try {
+                indexChannel.close();
+            } catch (IOException e) {
+                // The mapping stays valid until collected
+            }
+        }
+        index = null;
+        indexChannel = null;
+    }
+
+    private static byte[] keyOf(String provider, String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(provider.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            return digest.digest(url.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static long hashOf(byte[] key) {
+        long hash = ByteBuffer.wrap(key).getLong();
+        // Zero marks an empty slot
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] bytes, int offset, int length) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes, offset, length))) {
+            return in.readAllBytes();
+        }
+    }
+}
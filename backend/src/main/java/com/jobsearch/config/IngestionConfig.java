@@ -0,0 +1,42 @@
+package com.jobsearch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class IngestionConfig {
+
+    /**
+     * Runs the blocking JDBC writes of the reactive fetch pipelines, so page
+     * fetching never waits on the database and the number of threads doing
+     * persistence stays bounded however many fetches are in flight.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler ingestionScheduler(@Value("${app.ingestion.writer-threads:4}") int threads,
+                                        @Value("${app.ingestion.writer-queue:100}") int queuedTasks) {
+        return Schedulers.newBoundedElastic(threads, queuedTasks, "job-writer");
+    }
+
+    /**
+     * Runs the short row-locked permit reservations of the provider rate
+     * limiter. Kept apart from the writers so a backlog of page writes never
+     * delays the requests it paces.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler rateLimitScheduler(@Value("${app.rate-limit.reservation-threads:2}") int threads) {
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "rate-limiter");
+    }
+
+    /**
+     * Rescores a user against the whole catalog after their profile changes,
+     * so neither the request that notices it nor the ingestion that merges
+     * new jobs into every list waits for the scan.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler recommendationScheduler(@Value("${app.recommendations.refresh-threads:2}") int threads) {
+        return Schedulers.newBoundedElastic(threads, Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "recommendations");
+    }
+}
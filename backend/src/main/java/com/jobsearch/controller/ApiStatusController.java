@@ -1,5 +1,7 @@
 package com.jobsearch.controller;
 
+import com.jobsearch.dto.CircuitStatus;
+import com.jobsearch.service.ProviderCircuitBreaker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +11,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -25,9 +28,17 @@ public class ApiStatusController {
     private String rapidApiHost;
 
     private final WebClient webClient;
+    private final ProviderCircuitBreaker circuitBreaker;
 
-    public ApiStatusController(WebClient.Builder webClientBuilder) {
+    public ApiStatusController(WebClient.Builder webClientBuilder, ProviderCircuitBreaker circuitBreaker) {
         this.webClient = webClientBuilder.baseUrl("https://jsearch.p.rapidapi.com").build();
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /** Circuit breaker state of every provider called since startup. */
+    @GetMapping("/circuits")
+    public ResponseEntity<List<CircuitStatus>> getCircuits() {
+        return ResponseEntity.ok(circuitBreaker.status());
     }
 
     @GetMapping("/jsearch-quota")
@@ -87,7 +98,7 @@ public class ApiStatusController {
             "maxResultsPerSource", 10,
             "delayBetweenRequests", "2 seconds",
             "delayBetweenAPIs", "3 seconds",
-            "retryDelay", "60 seconds on 429 error"
+            "retryDelay", "Retry-After on 429 error, else 2-60 seconds backoff"
         ));
         
         recommendations.put("rapidAPILimits", java.util.Map.of(
@@ -2,10 +2,18 @@ package com.jobsearch.controller;
 
 import com.jobsearch.dto.JobSearchRequest;
 import com.jobsearch.dto.MessageResponse;
+import com.jobsearch.dto.RecommendationResult;
+import com.jobsearch.dto.SkillMatchResult;
 import com.jobsearch.entity.Job;
 import com.jobsearch.repository.JobRepository;
+import com.jobsearch.search.JobField;
+import com.jobsearch.search.JobSearchCriteria;
+import com.jobsearch.search.SuggestionIndex;
+import com.jobsearch.security.UserPrincipal;
 import com.jobsearch.service.JobAggregatorService;
 import com.jobsearch.service.JSearchJobService;
+import com.jobsearch.service.JobSearchService;
+import com.jobsearch.service.RecommendationService;
 import com.jobsearch.service.mock.MockJobAggregatorService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -17,11 +25,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -41,6 +54,15 @@ public class JobController {
     @Autowired
     private JSearchJobService jSearchJobService;
 
+    @Autowired
+    private JobSearchService jobSearchService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+
     @Autowired(required = false)
     private MockJobAggregatorService mockJobAggregatorService;
 
@@ -48,11 +70,23 @@ public class JobController {
     private boolean mockEnabled;
 
     @GetMapping("/all")
-    public ResponseEntity<Page<Job>> getAllJobs(
+    public ResponseEntity<?> getAllJobs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor) {
+
+        // Presence of the cursor parameter (empty for the first page) selects keyset pagination
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(jobSearchService.scroll(
+                    new JobSearchCriteria(null, null, null, null, null, null, null),
+                    sortBy, sortDir.equalsIgnoreCase("desc"), cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+            }
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("desc") ? 
             Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
@@ -64,7 +98,7 @@ public class JobController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<Job>> searchJobs(
+    public ResponseEntity<?> searchJobs(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String company,
             @RequestParam(required = false) String location,
@@ -72,10 +106,18 @@ public class JobController {
             @RequestParam(required = false) Long maxSalary,
             @RequestParam(required = false) Boolean isRemote,
             @RequestParam(required = false) String source,
+            @RequestParam(required = false) String state,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String near,
+            @RequestParam(required = false) Double radiusKm,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "10") int facetLimit) {
 
         try {
             // Sanitize inputs
@@ -83,20 +125,33 @@ public class JobController {
             company = (company != null && company.trim().isEmpty()) ? null : company;
             location = (location != null && location.trim().isEmpty()) ? null : location;
             source = (source != null && source.trim().isEmpty()) ? null : source;
+            state = (state != null && state.trim().isEmpty()) ? null : state;
+            city = (city != null && city.trim().isEmpty()) ? null : city;
+            near = (near != null && near.trim().isEmpty()) ? null : near;
             
             logger.info("Searching jobs with filters - title: {}, company: {}, location: {}, minSalary: {}, maxSalary: {}, isRemote: {}, source: {}", 
                        title, company, location, minSalary, maxSalary, isRemote, source);
             
+            JobSearchCriteria criteria = new JobSearchCriteria(
+                title, company, location, minSalary, maxSalary, isRemote, source, fuzzy,
+                jobSearchService.resolveGeoFilter(state, city, near, radiusKm));
+
+            if (cursor != null) {
+                return ResponseEntity.ok(jobSearchService.scroll(
+                    criteria, sortBy, sortDir.equalsIgnoreCase("desc"), cursor, size));
+            }
+
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
             
             Pageable pageable = PageRequest.of(page, size, sort);
 
-            Page<Job> jobs = jobRepository.findJobsWithFilters(
-                title, company, location, minSalary, maxSalary, isRemote, source, pageable);
+            Page<Job> jobs = jobSearchService.search(criteria, pageable, facets ? Math.max(0, facetLimit) : -1);
 
             logger.info("Found {} jobs matching search criteria", jobs.getTotalElements());
             return ResponseEntity.ok(jobs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
         } catch (Exception e) {
             // Log the error and return empty page instead of 500
             logger.error("Error in search endpoint: {}", e.getMessage(), e);
@@ -117,13 +172,13 @@ public class JobController {
                 futureJobs = mockJobAggregatorService.fetchJobsFromAllSources(
                     request.getJobTitle(), 
                     request.getLocation(), 
-                    request.getMaxResults() / 2 // Split between sources
+                    request.getMaxResults()
                 );
             } else {
                 futureJobs = jobAggregatorService.fetchJobsFromAllSources(
                     request.getJobTitle(), 
                     request.getLocation(), 
-                    request.getMaxResults() / 2 // Split between sources
+                    request.getMaxResults()
                 );
             }
 
@@ -158,55 +213,95 @@ public class JobController {
     }
 
     @GetMapping("/filters/locations")
-    public ResponseEntity<List<String>> getDistinctLocations() {
+    public ResponseEntity<List<String>> getDistinctLocations(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit) {
+        prefix = (prefix != null && prefix.trim().isEmpty()) ? null : prefix;
+        int max = limit == null ? Integer.MAX_VALUE : Math.max(0, limit);
         List<String> locations;
         if (mockEnabled && mockJobAggregatorService != null) {
-            locations = mockJobAggregatorService.getDistinctLocations();
+            locations = mockJobAggregatorService.getDistinctLocations(prefix, max);
         } else {
-            locations = jobAggregatorService.getDistinctLocations();
+            locations = jobAggregatorService.getDistinctLocations(prefix, max);
         }
         return ResponseEntity.ok(locations);
     }
 
     @GetMapping("/filters/companies")
-    public ResponseEntity<List<String>> getDistinctCompanies() {
+    public ResponseEntity<List<String>> getDistinctCompanies(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit) {
+        prefix = (prefix != null && prefix.trim().isEmpty()) ? null : prefix;
+        int max = limit == null ? Integer.MAX_VALUE : Math.max(0, limit);
         List<String> companies;
         if (mockEnabled && mockJobAggregatorService != null) {
-            companies = mockJobAggregatorService.getDistinctCompanies();
+            companies = mockJobAggregatorService.getDistinctCompanies(prefix, max);
         } else {
-            companies = jobAggregatorService.getDistinctCompanies();
+            companies = jobAggregatorService.getDistinctCompanies(prefix, max);
         }
         return ResponseEntity.ok(companies);
     }
 
     @PostMapping("/fetch/jsearch-only")
-    public ResponseEntity<MessageResponse> fetchJobsFromJSearchOnly(@Valid @RequestBody JobSearchRequest request) {
-        try {
-            logger.info("Fetching jobs from JSearch API only for: {} in {}", request.getJobTitle(), request.getLocation());
-            
-            if (mockEnabled && mockJobAggregatorService != null) {
-                // Use mock service if enabled
-                CompletableFuture<List<Job>> future = mockJobAggregatorService.fetchJobsFromAllSources(
+    public Mono<ResponseEntity<MessageResponse>> fetchJobsFromJSearchOnly(@Valid @RequestBody JobSearchRequest request) {
+        logger.info("Fetching jobs from JSearch API only for: {} in {}", request.getJobTitle(), request.getLocation());
+        
+        Mono<ResponseEntity<MessageResponse>> response;
+        if (mockEnabled && mockJobAggregatorService != null) {
+            // Use mock service if enabled
+            response = Mono.fromFuture(mockJobAggregatorService.fetchJobsFromAllSources(
                     request.getJobTitle(), 
                     request.getLocation(), 
                     request.getMaxResults()
-                );
-                List<Job> jobs = future.get();
-                return ResponseEntity.ok(new MessageResponse("✅ Mock JSearch completed! Fetched " + jobs.size() + " jobs"));
-            } else {
-                // Use real JSearch API only - bypass Adzuna completely
-                List<Job> jobs = jSearchJobService.fetchAndSaveJobs(
+                ))
+                .map(jobs -> ResponseEntity.ok(new MessageResponse("✅ Mock JSearch completed! Fetched " + jobs.size() + " jobs")));
+        } else {
+            // Use real JSearch API only - bypass Adzuna completely
+            response = jSearchJobService.fetchJobs(
                     request.getJobTitle(), 
                     request.getLocation(), 
                     Math.min(request.getMaxResults(), 20) // Limit to 20 for free tier
-                );
-                
-                return ResponseEntity.ok(new MessageResponse("✅ JSearch API completed! Fetched " + jobs.size() + " jobs from JSearch"));
-            }
-        } catch (Exception e) {
+                )
+                .map(jobs -> ResponseEntity.ok(new MessageResponse("✅ JSearch API completed! Fetched " + jobs.size() + " jobs from JSearch")));
+        }
+        // The request thread is released while the fetch runs
+        return response.onErrorResume(e -> {
             logger.error("Error fetching jobs from JSearch only: {}", e.getMessage(), e);
-            return ResponseEntity.ok(new MessageResponse("❌ JSearch fetch failed: " + e.getMessage()));
+            return Mono.just(ResponseEntity.ok(new MessageResponse("❌ JSearch fetch failed: " + e.getMessage())));
+        });
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String field,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            JobField jobField = JobField.valueOf(field.trim().toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(suggestionIndex.suggest(jobField, prefix, Math.max(1, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("field must be one of: title, company, location"));
+        }
+    }
+
+    @GetMapping("/skills/match")
+    public ResponseEntity<List<SkillMatchResult>> matchJobsBySkills(
+            @RequestParam List<String> skills,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(jobSearchService.matchSkills(skills, Math.max(1, limit)));
+    }
+
+    @GetMapping("/recommended")
+    public ResponseEntity<?> getRecommendedJobs(@RequestParam(defaultValue = "20") int limit) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new MessageResponse("Sign in to get job recommendations"));
         }
+        List<RecommendationResult> recommendations =
+            recommendationService.recommend(principal.getId(), Math.max(1, limit));
+        return ResponseEntity.ok(recommendations);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,41 @@
+package com.jobsearch.dto;
+
+import java.time.Instant;
+
+public class CircuitStatus {
+    private String provider;
+    private String state;
+    private int consecutiveFailures;
+    private Instant openUntil;
+    private String lastFailure;
+
+    public CircuitStatus(String provider, String state, int consecutiveFailures,
+                         Instant openUntil, String lastFailure) {
+        this.provider = provider;
+        this.state = state;
+        this.consecutiveFailures = consecutiveFailures;
+        this.openUntil = openUntil;
+        this.lastFailure = lastFailure;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /** When an open circuit lets the next probe through; {@code null} unless open. */
+    public Instant getOpenUntil() {
+        return openUntil;
+    }
+
+    public String getLastFailure() {
+        return lastFailure;
+    }
+}
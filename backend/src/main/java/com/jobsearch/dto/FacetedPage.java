@@ -0,0 +1,24 @@
+package com.jobsearch.dto;
+
+import com.jobsearch.search.SearchFacets;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * A search page that also carries facet counts for the full result set.
+ * Serializes like a regular {@code Page} with an extra {@code facets} field.
+ */
+public class FacetedPage<T> extends PageImpl<T> {
+    private final SearchFacets facets;
+
+    public FacetedPage(List<T> content, Pageable pageable, long total, SearchFacets facets) {
+        super(content, pageable, total);
+        this.facets = facets;
+    }
+
+    public SearchFacets getFacets() {
+        return facets;
+    }
+}
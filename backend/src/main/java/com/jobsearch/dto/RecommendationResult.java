@@ -0,0 +1,21 @@
+package com.jobsearch.dto;
+
+import com.jobsearch.entity.Job;
+
+public class RecommendationResult {
+    private Job job;
+    private double score;
+
+    public RecommendationResult(Job job, double score) {
+        this.job = job;
+        this.score = score;
+    }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobsearch.dto;
+
+import com.jobsearch.entity.Job;
+
+public class SkillMatchResult {
+    private Job job;
+    private int matchedSkills;
+    private double score;
+
+    public SkillMatchResult(Job job, int matchedSkills, double score) {
+        this.job = job;
+        this.matchedSkills = matchedSkills;
+        this.score = score;
+    }
+
+    public Job getJob() {
+        return job;
+    }
+
+    public int getMatchedSkills() {
+        return matchedSkills;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
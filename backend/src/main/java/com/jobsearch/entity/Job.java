@@ -12,14 +12,23 @@ import java.util.List;
     @Index(name = "idx_job_company", columnList = "company"),
     @Index(name = "idx_job_location", columnList = "location"),
     @Index(name = "idx_job_source", columnList = "source"),
-    @Index(name = "idx_job_created", columnList = "created_at")
+    @Index(name = "idx_job_created", columnList = "created_at"),
+    @Index(name = "idx_job_city", columnList = "city_id"),
+    @Index(name = "idx_job_state", columnList = "state_id")
 })
 public class Job {
+
+    /** {@link #stateId} of a job whose location is not in the gazetteer. */
+    public static final String UNRESOLVED_STATE_ID = "";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence rather than IDENTITY so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_seq")
+    @SequenceGenerator(name = "job_seq", sequenceName = "jobs_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
+    @Size(max = 255)
     @Column(name = "external_id", unique = true)
     private String externalId;
 
@@ -34,6 +43,14 @@ public class Job {
     @Size(max = 100)
     private String location;
 
+    // Canonical gazetteer ids resolved from location. A location that was
+    // looked up but not recognised has a null cityId and UNRESOLVED_STATE_ID.
+    @Column(name = "city_id", length = 64)
+    private String cityId;
+
+    @Column(name = "state_id", length = 8)
+    private String stateId;
+
     @Column(name = "salary_min")
     private Long salaryMin;
 
@@ -51,6 +68,7 @@ public class Job {
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @Size(max = 255)
     @Column(name = "job_url")
     private String jobUrl;
 
@@ -58,6 +76,10 @@ public class Job {
     @Size(max = 50)
     private String source; // "indeed", "adzuna", "jsearch"
 
+    // SHA-256 of the fetched content, compared on re-ingestion to skip unchanged jobs
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -101,6 +123,12 @@ public class Job {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public String getCityId() { return cityId; }
+    public void setCityId(String cityId) { this.cityId = cityId; }
+
+    public String getStateId() { return stateId; }
+    public void setStateId(String stateId) { this.stateId = stateId; }
+
     public Long getSalaryMin() { return salaryMin; }
     public void setSalaryMin(Long salaryMin) { this.salaryMin = salaryMin; }
 
@@ -122,6 +150,9 @@ public class Job {
     public String getSource() { return source; }
     public void setSource(String source) { this.source = source; }
 
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,70 @@
+package com.jobsearch.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Shared token bucket of one upstream job provider. Every backend node
+ * reserves its requests against the same row, so the quota holds across the
+ * cluster rather than per node.
+ */
+@Entity
+@Table(name = "provider_rate_limits")
+public class ProviderRateLimit implements Persistable<String> {
+
+    @Id
+    @Column(length = 50)
+    private String provider;
+
+    /** Tokens left; negative while requests are reserved ahead of the refill. */
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(name = "refilled_at_ms", nullable = false)
+    private long refilledAtMs;
+
+    /** Earliest start of the next request, keeping the minimum spacing. */
+    @Column(name = "next_request_at_ms", nullable = false)
+    private long nextRequestAtMs;
+
+    // The id is assigned, so a new bucket must be persisted rather than merged:
+    // two nodes creating the same bucket then collide instead of overwriting
+    @Transient
+    private boolean created;
+
+    // Constructors
+    public ProviderRateLimit() {}
+
+    public ProviderRateLimit(String provider, double tokens, long now) {
+        this.provider = provider;
+        this.tokens = tokens;
+        this.refilledAtMs = now;
+        this.nextRequestAtMs = now;
+        this.created = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.created = false;
+    }
+
+    @Override
+    public String getId() { return provider; }
+
+    @Override
+    public boolean isNew() { return created; }
+
+    // Getters and Setters
+    public String getProvider() { return provider; }
+    public void setProvider(String provider) { this.provider = provider; }
+
+    public double getTokens() { return tokens; }
+    public void setTokens(double tokens) { this.tokens = tokens; }
+
+    public long getRefilledAtMs() { return refilledAtMs; }
+    public void setRefilledAtMs(long refilledAtMs) { this.refilledAtMs = refilledAtMs; }
+
+    public long getNextRequestAtMs() { return nextRequestAtMs; }
+    public void setNextRequestAtMs(long nextRequestAtMs) { this.nextRequestAtMs = nextRequestAtMs; }
+}
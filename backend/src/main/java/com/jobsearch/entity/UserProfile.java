@@ -1,5 +1,6 @@
 package com.jobsearch.entity;
 
+import com.jobsearch.event.UserProfileEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -8,6 +9,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "user_profiles")
+@EntityListeners(UserProfileEntityListener.class)
 public class UserProfile {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
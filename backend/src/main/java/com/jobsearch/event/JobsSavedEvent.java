@@ -0,0 +1,39 @@
+package com.jobsearch.event;
+
+import com.jobsearch.entity.Job;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by the ingestion services after a batch of jobs has been written,
+ * so in-memory structures built from the catalog can stay in sync. A batch may
+ * mix newly inserted jobs with stored jobs whose content was updated in place.
+ */
+public class JobsSavedEvent {
+
+    private final List<Job> jobs;
+    private final Set<Long> updatedJobIds;
+
+    public JobsSavedEvent(List<Job> jobs) {
+        this(jobs, List.of());
+    }
+
+    public JobsSavedEvent(List<Job> inserted, List<Job> updated) {
+        List<Job> all = new ArrayList<>(inserted);
+        all.addAll(updated);
+        this.jobs = List.copyOf(all);
+        this.updatedJobIds = new HashSet<>();
+        for (Job job : updated) {
+            updatedJobIds.add(job.getId());
+        }
+    }
+
+    /** Every job of the batch, inserted and updated. */
+    public List<Job> getJobs() { return jobs; }
+
+    /** Whether the job already existed and was updated rather than inserted. */
+    public boolean isUpdate(Job job) { return updatedJobIds.contains(job.getId()); }
+}
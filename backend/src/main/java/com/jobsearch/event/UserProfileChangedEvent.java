@@ -0,0 +1,16 @@
+package com.jobsearch.event;
+
+/**
+ * Published once a user's profile has been created, updated or deleted, so
+ * anything derived from the profile can be recomputed.
+ */
+public class UserProfileChangedEvent {
+
+    private final Long userId;
+
+    public UserProfileChangedEvent(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getUserId() { return userId; }
+}
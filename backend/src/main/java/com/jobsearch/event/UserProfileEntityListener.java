@@ -0,0 +1,31 @@
+package com.jobsearch.event;
+
+import com.jobsearch.entity.UserProfile;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link UserProfileChangedEvent} for every profile write made
+ * through JPA. Hibernate obtains it from the Spring context.
+ */
+@Component
+public class UserProfileEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserProfileEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onProfileWritten(UserProfile profile) {
+        if (profile.getUser() != null) {
+            eventPublisher.publishEvent(new UserProfileChangedEvent(profile.getUser().getId()));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.jobsearch.location;
+
+/**
+ * A gazetteer city with its canonical id, state and coordinates.
+ */
+public final class City {
+
+    private final String id;
+    private final String name;
+    private final String stateId;
+    private final double latitude;
+    private final double longitude;
+
+    City(String id, String name, String stateId, double latitude, double longitude) {
+        this.id = id;
+        this.name = name;
+        this.stateId = stateId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+    public String getStateId() { return stateId; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+}
@@ -0,0 +1,170 @@
+package com.jobsearch.location;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Offline gazetteer of Indian cities and states, loaded from the bundled
+ * {@code gazetteer/*.csv} resources. Resolves free-text job locations such as
+ * "Bangalore, Karnataka", "Bengaluru" or "Gurgaon, Haryana, India" to
+ * canonical city and state ids by exact alias lookup.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(Gazetteer.class);
+
+    private static final Pattern PART_SEPARATORS = Pattern.compile("[,;/|()]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_ALIAS_WORDS = 4;
+
+    private final Map<String, State> states = new LinkedHashMap<>();
+    private final Map<String, City> cities = new LinkedHashMap<>();
+    private final Map<String, State> statesByAlias = new HashMap<>();
+    private final Map<String, City> citiesByAlias = new HashMap<>();
+    private final SpatialGrid grid = new SpatialGrid();
+
+    public Gazetteer() {
+        readCsv("gazetteer/in-states.csv", columns -> {
+            State state = new State(columns[0], columns[1]);
+            states.put(state.getId(), state);
+            statesByAlias.put(key(state.getName()), state);
+            for (String alias : aliases(columns, 2)) {
+                statesByAlias.put(key(alias), state);
+            }
+        });
+        readCsv("gazetteer/in-cities.csv", columns -> {
+            City city = new City(columns[0], columns[1], columns[2],
+                Double.parseDouble(columns[3]), Double.parseDouble(columns[4]));
+            if (!states.containsKey(city.getStateId())) {
+                throw new IllegalStateException("Unknown state " + city.getStateId() + " for city " + city.getId());
+            }
+            cities.put(city.getId(), city);
+            citiesByAlias.put(key(city.getName()), city);
+            citiesByAlias.put(key(city.getId()), city);
+            for (String alias : aliases(columns, 5)) {
+                citiesByAlias.put(key(alias), city);
+            }
+            grid.add(city);
+        });
+        logger.info("Loaded gazetteer with {} cities in {} states", cities.size(), states.size());
+    }
+
+    /**
+     * Resolves a free-text location. A city found in the text also gives its
+     * state; if the text names a different state as well, the city is
+     * considered ambiguous and only the state is kept.
+     *
+     * @return the resolved location, or null if nothing in the text is known
+     */
+    public ResolvedLocation resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        City city = null;
+        State state = null;
+        for (String part : PART_SEPARATORS.split(location)) {
+            String[] words = WHITESPACE.split(key(part));
+            if (words.length == 0 || words[0].isEmpty()) {
+                continue;
+            }
+            // Longest word runs first, so "Navi Mumbai" wins over "Mumbai"
+            for (int length = Math.min(MAX_ALIAS_WORDS, words.length); length >= 1; length--) {
+                for (int start = 0; start + length <= words.length; start++) {
+                    String candidate = String.join(" ", Arrays.copyOfRange(words, start, start + length));
+                    if (city == null && citiesByAlias.containsKey(candidate)) {
+                        city = citiesByAlias.get(candidate);
+                    } else if (state == null && statesByAlias.containsKey(candidate)) {
+                        state = statesByAlias.get(candidate);
+                    }
+                }
+            }
+        }
+
+        if (city != null && (state == null || state.getId().equals(city.getStateId()))) {
+            return new ResolvedLocation(city.getId(), city.getStateId());
+        }
+        return state == null ? null : new ResolvedLocation(null, state.getId());
+    }
+
+    /** Looks up a city by id, name or alias. */
+    public City findCity(String nameOrId) {
+        return nameOrId == null ? null : citiesByAlias.get(key(nameOrId));
+    }
+
+    /** Looks up a state by code, name or alias. */
+    public State findState(String nameOrId) {
+        if (nameOrId == null) {
+            return null;
+        }
+        // Codes are not aliases: "OR" or "AS" in free text are usually just words
+        State state = states.get(nameOrId.trim().toUpperCase(Locale.ROOT));
+        return state != null ? state : statesByAlias.get(key(nameOrId));
+    }
+
+    /** Cities whose coordinates are within {@code radiusKm} of the given city, including itself. */
+    public List<City> citiesNear(City center, double radiusKm) {
+        return grid.within(center.getLatitude(), center.getLongitude(), radiusKm);
+    }
+
+    public Collection<City> getCities() {
+        return cities.values();
+    }
+
+    public Collection<State> getStates() {
+        return states.values();
+    }
+
+    private static String key(String text) {
+        return WHITESPACE.matcher(text.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    private static List<String> aliases(String[] columns, int index) {
+        List<String> aliases = new ArrayList<>();
+        if (columns.length > index && !columns[index].isBlank()) {
+            for (String alias : columns[index].split("\\|")) {
+                if (!alias.isBlank()) {
+                    aliases.add(alias.trim());
+                }
+            }
+        }
+        return aliases;
+    }
+
+    private static void readCsv(String path, Consumer<String[]> rowHandler) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",", -1);
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = columns[i].trim();
+                }
+                rowHandler.accept(columns);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load gazetteer resource " + path, e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobsearch.location;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Assigns canonical city and state ids to jobs from their free-text
+ * location. The ingestion services call {@link #normalize(Job)} before saving;
+ * rows saved before the ids existed are backfilled once at startup, ahead of
+ * the in-memory indexes that read them. Unrecognised locations are stored
+ * with {@link Job#UNRESOLVED_STATE_ID}, so the backfill reads each row once.
+ */
+@Component
+public class LocationNormalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationNormalizer.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final Gazetteer gazetteer;
+    private final JobRepository jobRepository;
+
+    public LocationNormalizer(Gazetteer gazetteer, JobRepository jobRepository) {
+        this.gazetteer = gazetteer;
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * Sets the job's city and state ids from its location, or a null city and
+     * {@link Job#UNRESOLVED_STATE_ID} if the location is not recognised.
+     */
+    public Job normalize(Job job) {
+        ResolvedLocation resolved = gazetteer.resolve(job.getLocation());
+        job.setCityId(resolved == null ? null : resolved.getCityId());
+        job.setStateId(resolved == null ? Job.UNRESOLVED_STATE_ID : resolved.getStateId());
+        return job;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfill() {
+        long updated = 0;
+        long resolved = 0;
+        long lastId = 0;
+        try {
+            List<Job> batch;
+            do {
+                batch = jobRepository.findByIdGreaterThanAndStateIdIsNullAndLocationIsNotNullOrderByIdAsc(
+                    lastId, Limit.of(BACKFILL_BATCH_SIZE));
+                for (Job job : batch) {
+                    lastId = job.getId();
+                    // A targeted update, so the backfill does not touch updatedAt.
+                    // Unrecognised locations are written too, so the next startup skips them.
+                    normalize(job);
+                    jobRepository.updateLocationIds(job.getId(), job.getCityId(), job.getStateId());
+                    if (!Job.UNRESOLVED_STATE_ID.equals(job.getStateId())) {
+                        resolved++;
+                    }
+                    updated++;
+                }
+            } while (batch.size() == BACKFILL_BATCH_SIZE);
+        } catch (Exception e) {
+            logger.error("Failed to backfill job locations: {}", e.getMessage(), e);
+        }
+        if (updated > 0) {
+            logger.info("Backfilled city/state ids for {} jobs, {} of them recognised", updated, resolved);
+        }
+    }
+}
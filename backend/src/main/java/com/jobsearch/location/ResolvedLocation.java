@@ -0,0 +1,19 @@
+package com.jobsearch.location;
+
+/**
+ * Canonical ids for a free-text location: a city (and its state), or only a
+ * state when no city could be identified.
+ */
+public final class ResolvedLocation {
+
+    private final String cityId;
+    private final String stateId;
+
+    ResolvedLocation(String cityId, String stateId) {
+        this.cityId = cityId;
+        this.stateId = stateId;
+    }
+
+    public String getCityId() { return cityId; }
+    public String getStateId() { return stateId; }
+}
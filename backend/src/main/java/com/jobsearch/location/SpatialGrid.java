@@ -0,0 +1,67 @@
+package com.jobsearch.location;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buckets cities into one-degree latitude/longitude cells, so a radius query
+ * only measures the distance to cities in the cells its bounding box covers.
+ */
+final class SpatialGrid {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final Map<Long, List<City>> cells = new HashMap<>();
+
+    void add(City city) {
+        cells.computeIfAbsent(cell(floor(city.getLatitude()), floor(city.getLongitude())), c -> new ArrayList<>())
+            .add(city);
+    }
+
+    List<City> within(double latitude, double longitude, double radiusKm) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        double longitudeSpan = radiusKm / (KM_PER_DEGREE * cos);
+
+        // Cells only exist on the globe; clamping also bounds the loops for huge radii
+        int minLat = Math.max(-90, floor(latitude - latitudeSpan));
+        int maxLat = Math.min(90, floor(latitude + latitudeSpan));
+        int minLon = Math.max(-180, floor(longitude - longitudeSpan));
+        int maxLon = Math.min(180, floor(longitude + longitudeSpan));
+
+        List<City> result = new ArrayList<>();
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int lon = minLon; lon <= maxLon; lon++) {
+                List<City> cities = cells.get(cell(lat, lon));
+                if (cities == null) {
+                    continue;
+                }
+                for (City city : cities) {
+                    if (distanceKm(latitude, longitude, city.getLatitude(), city.getLongitude()) <= radiusKm) {
+                        result.add(city);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int floor(double degrees) {
+        return (int) Math.floor(degrees);
+    }
+
+    private static long cell(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+}
@@ -0,0 +1,18 @@
+package com.jobsearch.location;
+
+/**
+ * A gazetteer state or union territory, identified by its two-letter code.
+ */
+public final class State {
+
+    private final String id;
+    private final String name;
+
+    State(String id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public String getId() { return id; }
+    public String getName() { return name; }
+}
@@ -0,0 +1,99 @@
+package com.jobsearch.recommendation;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.entity.UserProfile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compact, pre-normalized views of jobs and profiles, so scoring a pair is a
+ * handful of set lookups with no string work.
+ */
+final class Features {
+
+    private Features() {}
+
+    static final class JobFeatures {
+        final long id;
+        final Set<String> titleTokens;
+        final Set<String> skills;
+        final String location;
+        final Boolean isRemote;
+        final Long salaryMax;
+
+        JobFeatures(Job job, Collection<String> skills) {
+            this.id = job.getId();
+            this.titleTokens = tokens(job.getTitle());
+            this.skills = normalizeAll(skills);
+            this.location = job.getLocation() == null ? null : job.getLocation().toLowerCase(Locale.ROOT);
+            this.isRemote = job.getIsRemote();
+            this.salaryMax = job.getSalaryMax();
+        }
+    }
+
+    static final class ProfileFeatures {
+        final long userId;
+        final List<Set<String>> desiredTitles = new ArrayList<>();
+        final Set<String> skills;
+        final List<String> locations = new ArrayList<>();
+        final boolean remoteOk;
+        final long minSalary;
+        final int yearsExperience;
+
+        /**
+         * Must be called while the profile's collections can still be loaded.
+         */
+        ProfileFeatures(UserProfile profile) {
+            this.userId = profile.getUser().getId();
+            if (profile.getDesiredTitles() != null) {
+                for (String title : profile.getDesiredTitles()) {
+                    Set<String> tokens = tokens(title);
+                    if (!tokens.isEmpty()) {
+                        desiredTitles.add(tokens);
+                    }
+                }
+            }
+            this.skills = normalizeAll(profile.getSkills());
+            if (profile.getLocations() != null) {
+                for (String location : profile.getLocations()) {
+                    if (location != null && !location.isBlank()) {
+                        locations.add(location.trim().toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            this.remoteOk = Boolean.TRUE.equals(profile.getRemoteOk());
+            this.minSalary = profile.getMinSalary() == null ? 0 : profile.getMinSalary();
+            this.yearsExperience = profile.getYearsExperience() == null ? 0 : profile.getYearsExperience();
+        }
+    }
+
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new HashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> normalizeAll(Collection<String> values) {
+        Set<String> normalized = new HashSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    normalized.add(value.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return normalized;
+    }
+}
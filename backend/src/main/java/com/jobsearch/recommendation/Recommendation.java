@@ -0,0 +1,18 @@
+package com.jobsearch.recommendation;
+
+/**
+ * A job recommended to a user, with its profile match score.
+ */
+public final class Recommendation {
+
+    private final long jobId;
+    private final double score;
+
+    Recommendation(long jobId, double score) {
+        this.jobId = jobId;
+        this.score = score;
+    }
+
+    public long getJobId() { return jobId; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,264 @@
+package com.jobsearch.recommendation;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.entity.UserProfile;
+import com.jobsearch.event.JobsSavedEvent;
+import com.jobsearch.event.UserProfileChangedEvent;
+import com.jobsearch.repository.UserProfileRepository;
+import com.jobsearch.search.JobCatalogLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps a bounded top-K list of recommended jobs per user profile. The lists
+ * are built once at startup, scoring profiles in parallel, and from then on
+ * only the newly saved jobs are scored and merged into each list, so serving
+ * a user's recommendations is a map lookup.
+ *
+ * Scoring a user against the whole catalog, when their profile changes or on
+ * the first request of a user not scored yet, runs on the recommendation
+ * scheduler. Until it finishes the user is served their previous list, or an
+ * empty one. Users without a profile get a cached empty list.
+ */
+@Component
+public class RecommendationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationEngine.class);
+
+    /** Best first; ties favour the newer (higher id) job. */
+    private static final Comparator<Recommendation> BEST_FIRST =
+        Comparator.comparingDouble(Recommendation::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Recommendation::getJobId).reversed());
+
+    private final JobCatalogLoader catalogLoader;
+    private final UserProfileRepository userProfileRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler recommendationScheduler;
+    private final int topK;
+
+    private final Map<Long, Features.JobFeatures> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Features.ProfileFeatures> profiles = new ConcurrentHashMap<>();
+    private final Map<Long, List<Recommendation>> recommendations = new ConcurrentHashMap<>();
+
+    /** Users with a refresh scheduled that has not started yet. */
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    /** Profile changes per user, so a refresh that read an older profile is not installed. */
+    private final Map<Long, Long> profileVersions = new ConcurrentHashMap<>();
+    /** Refreshes in progress; guarded by the engine monitor. */
+    private final List<Refresh> refreshing = new ArrayList<>();
+    private long rebuilds;
+
+    public RecommendationEngine(JobCatalogLoader catalogLoader,
+                                UserProfileRepository userProfileRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Qualifier("recommendationScheduler") Scheduler recommendationScheduler,
+                                @Value("${app.recommendations.top-k:50}") int topK) {
+        this.catalogLoader = catalogLoader;
+        this.userProfileRepository = userProfileRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.recommendationScheduler = recommendationScheduler;
+        this.topK = Math.max(1, topK);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilds++;
+        try {
+            jobs.clear();
+            profiles.clear();
+            recommendations.clear();
+
+            catalogLoader.forEachJob((job, skills) -> jobs.put(job.getId(), new Features.JobFeatures(job, skills)));
+            List<Features.ProfileFeatures> loaded = transactionTemplate.execute(status -> {
+                List<Features.ProfileFeatures> result = new ArrayList<>();
+                for (UserProfile profile : userProfileRepository.findAll()) {
+                    if (profile.getUser() != null) {
+                        result.add(new Features.ProfileFeatures(profile));
+                    }
+                }
+                return result;
+            });
+
+            Collection<Features.JobFeatures> catalog = List.copyOf(jobs.values());
+            loaded.parallelStream().forEach(profile -> {
+                profiles.put(profile.userId, profile);
+                recommendations.put(profile.userId, topMatches(profile, catalog));
+            });
+            logger.info("Built recommendations for {} profiles over {} jobs in {} ms",
+                profiles.size(), jobs.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to build recommendations, they will be computed on demand: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Scores only the saved jobs and merges them into every user's list.
+     * A re-saved job is re-scored, replacing its previous entry.
+     */
+    @EventListener
+    public synchronized void onJobsSaved(JobsSavedEvent event) {
+        Map<Long, Features.JobFeatures> saved = new LinkedHashMap<>();
+        for (Job job : event.getJobs()) {
+            if (job.getId() != null) {
+                saved.put(job.getId(), new Features.JobFeatures(job, job.getSkills()));
+            }
+        }
+        if (saved.isEmpty()) {
+            return;
+        }
+        jobs.putAll(saved);
+
+        // A refresh may already have passed these jobs in the catalog; it
+        // merges them before its list is installed
+        for (Refresh refresh : refreshing) {
+            refresh.saved.putAll(saved);
+        }
+        profiles.values().parallelStream().forEach(profile ->
+            recommendations.computeIfPresent(profile.userId, (userId, current) -> merge(profile, current, saved)));
+    }
+
+    /**
+     * Rescores the user in the background; their current list is served
+     * until the new one is ready.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        profileVersions.merge(event.getUserId(), 1L, Long::sum);
+        scheduleRefresh(event.getUserId());
+    }
+
+    /**
+     * @return the user's recommendations best first, empty if the user has no
+     *         profile or has not been scored yet
+     */
+    public List<Recommendation> recommendationsFor(Long userId) {
+        List<Recommendation> cached = recommendations.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        scheduleRefresh(userId);
+        return List.of();
+    }
+
+    private void scheduleRefresh(Long userId) {
+        // A refresh still queued reads the profile when it starts, so it
+        // already covers this change
+        if (queued.add(userId)) {
+            try {
+                recommendationScheduler.schedule(() -> {
+                    queued.remove(userId);
+                    refresh(userId);
+                });
+            } catch (RejectedExecutionException e) {
+                queued.remove(userId);
+                logger.warn("Recommendation refresh for user {} rejected, it is retried on the next request", userId);
+            }
+        }
+    }
+
+    /**
+     * Scores the user against the catalog without the engine monitor, so
+     * saved jobs keep being merged meanwhile; those jobs are collected for
+     * the refresh and merged into its list before it is installed.
+     */
+    private void refresh(Long userId) {
+        Refresh refresh = new Refresh();
+        long version;
+        synchronized (this) {
+            version = profileVersions.getOrDefault(userId, 0L);
+            refresh.rebuilds = rebuilds;
+            refreshing.add(refresh);
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Features.ProfileFeatures profile = transactionTemplate.execute(status ->
+                userProfileRepository.findByUser_Id(userId).map(Features.ProfileFeatures::new).orElse(null));
+            List<Recommendation> top = profile == null ? List.of() : topMatches(profile, jobs.values());
+
+            synchronized (this) {
+                if (refresh.rebuilds != rebuilds || version != profileVersions.getOrDefault(userId, 0L)) {
+                    // Rebuilt, or the profile changed again, meanwhile; the
+                    // rebuild or the refresh scheduled for the change wins
+                    return;
+                }
+                if (profile == null) {
+                    profiles.remove(userId);
+                } else {
+                    profiles.put(userId, profile);
+                    if (!refresh.saved.isEmpty()) {
+                        top = merge(profile, top, refresh.saved);
+                    }
+                }
+                recommendations.put(userId, top);
+            }
+            logger.debug("Refreshed recommendations for user {} in {} ms", userId, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to refresh recommendations for user {}: {}", userId, e.getMessage(), e);
+        } finally {
+            synchronized (this) {
+                refreshing.remove(refresh);
+            }
+        }
+    }
+
+    private List<Recommendation> topMatches(Features.ProfileFeatures profile, Collection<Features.JobFeatures> catalog) {
+        PriorityQueue<Recommendation> heap = new PriorityQueue<>(topK + 1, BEST_FIRST.reversed());
+        for (Features.JobFeatures job : catalog) {
+            double score = RecommendationScorer.score(profile, job);
+            if (score > 0) {
+                heap.add(new Recommendation(job.id, score));
+                if (heap.size() > topK) {
+                    heap.poll();
+                }
+            }
+        }
+        Recommendation[] top = heap.toArray(new Recommendation[0]);
+        Arrays.sort(top, BEST_FIRST);
+        return List.of(top);
+    }
+
+    private List<Recommendation> merge(Features.ProfileFeatures profile, List<Recommendation> current,
+                                       Map<Long, Features.JobFeatures> saved) {
+        List<Recommendation> merged = new ArrayList<>(current.size() + saved.size());
+        for (Recommendation recommendation : current) {
+            if (!saved.containsKey(recommendation.getJobId())) {
+                merged.add(recommendation);
+            }
+        }
+        for (Features.JobFeatures job : saved.values()) {
+            double score = RecommendationScorer.score(profile, job);
+            if (score > 0) {
+                merged.add(new Recommendation(job.id, score));
+            }
+        }
+        merged.sort(BEST_FIRST);
+        return List.copyOf(merged.subList(0, Math.min(topK, merged.size())));
+    }
+
+    /** Jobs saved while a refresh was scoring the catalog. */
+    private static final class Refresh {
+        final Map<Long, Features.JobFeatures> saved = new LinkedHashMap<>();
+        long rebuilds;
+    }
+}
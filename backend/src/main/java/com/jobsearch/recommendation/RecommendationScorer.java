@@ -0,0 +1,105 @@
+package com.jobsearch.recommendation;
+
+import java.util.Set;
+
+/**
+ * Scores a job against a profile. Title and skills carry the most weight; a
+ * job must match at least one of title, skills or location to be recommended
+ * at all, and salary and seniority only adjust the order among those.
+ */
+final class RecommendationScorer {
+
+    private static final double TITLE_WEIGHT = 4.0;
+    private static final double SKILLS_WEIGHT = 3.0;
+    private static final double LOCATION_WEIGHT = 2.0;
+    private static final double SALARY_WEIGHT = 1.0;
+    private static final double SENIORITY_WEIGHT = 0.5;
+
+    private static final Set<String> SENIOR_TERMS = Set.of("senior", "sr", "lead", "principal", "staff", "architect");
+    private static final Set<String> JUNIOR_TERMS = Set.of("junior", "jr", "intern", "internship", "trainee", "graduate", "entry");
+
+    private RecommendationScorer() {}
+
+    /**
+     * @return the score, or 0 if the job is not relevant to the profile
+     */
+    static double score(Features.ProfileFeatures profile, Features.JobFeatures job) {
+        double relevance = TITLE_WEIGHT * titleOverlap(profile, job)
+            + SKILLS_WEIGHT * skillOverlap(profile, job)
+            + LOCATION_WEIGHT * locationMatch(profile, job);
+        if (relevance == 0) {
+            return 0;
+        }
+
+        double score = relevance;
+        if (profile.minSalary > 0 && job.salaryMax != null) {
+            score += job.salaryMax >= profile.minSalary ? SALARY_WEIGHT : -SALARY_WEIGHT;
+        }
+        score += SENIORITY_WEIGHT * seniorityFit(profile, job);
+        return Math.max(score, Double.MIN_VALUE);
+    }
+
+    /** Best fraction of any desired title's tokens found in the job title. */
+    private static double titleOverlap(Features.ProfileFeatures profile, Features.JobFeatures job) {
+        double best = 0;
+        for (Set<String> desired : profile.desiredTitles) {
+            int matched = 0;
+            for (String token : desired) {
+                if (job.titleTokens.contains(token)) {
+                    matched++;
+                }
+            }
+            best = Math.max(best, (double) matched / desired.size());
+        }
+        return best;
+    }
+
+    private static double skillOverlap(Features.ProfileFeatures profile, Features.JobFeatures job) {
+        if (profile.skills.isEmpty() || job.skills.isEmpty()) {
+            return 0;
+        }
+        int matched = 0;
+        for (String skill : profile.skills) {
+            if (job.skills.contains(skill)) {
+                matched++;
+            }
+        }
+        return (double) matched / profile.skills.size();
+    }
+
+    private static double locationMatch(Features.ProfileFeatures profile, Features.JobFeatures job) {
+        if (profile.remoteOk && Boolean.TRUE.equals(job.isRemote)) {
+            return 1;
+        }
+        if (job.location != null) {
+            for (String location : profile.locations) {
+                if (job.location.contains(location)) {
+                    return 1;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /** +1 when the title's seniority fits the experience, -1 when it clearly does not. */
+    private static int seniorityFit(Features.ProfileFeatures profile, Features.JobFeatures job) {
+        boolean senior = containsAny(job.titleTokens, SENIOR_TERMS);
+        boolean junior = containsAny(job.titleTokens, JUNIOR_TERMS);
+        if (senior == junior) {
+            return 0;
+        }
+        if (senior) {
+            return profile.yearsExperience >= 5 ? 1 : (profile.yearsExperience < 2 ? -1 : 0);
+        }
+        return profile.yearsExperience <= 2 ? 1 : (profile.yearsExperience >= 5 ? -1 : 0);
+    }
+
+    private static boolean containsAny(Set<String> tokens, Set<String> terms) {
+        for (String term : terms) {
+            if (tokens.contains(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,21 +1,28 @@
 package com.jobsearch.repository;
 
 import com.jobsearch.entity.Job;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long> {
+public interface JobRepository extends JpaRepository<Job, Long>, JobRepositoryCustom {
     
     Optional<Job> findByExternalId(String externalId);
     
+    @Query("SELECT j.externalId, j.id, j.contentHash, j.createdAt FROM Job j WHERE j.externalId IN :externalIds")
+    List<Object[]> findStoredVersions(@Param("externalIds") Collection<String> externalIds);
+    
     @Query("SELECT j FROM Job j WHERE " +
            "(:title IS NULL OR :title = '' OR UPPER(j.title) LIKE UPPER(CONCAT('%', :title, '%'))) AND " +
            "(:company IS NULL OR :company = '' OR UPPER(j.company) LIKE UPPER(CONCAT('%', :company, '%'))) AND " +
@@ -35,15 +42,31 @@ public interface JobRepository extends JpaRepository<Job, Long> {
         Pageable pageable
     );
     
-    @Query("SELECT j FROM Job j JOIN j.skills s WHERE " +
-           "s IN :skills")
-    Page<Job> findJobsBySkills(@Param("skills") List<String> skills, Pageable pageable);
+    /** Ids and matched-skill counts of the jobs having any of the skills, most matches first. */
+    @Query("SELECT j.id, COUNT(s) FROM Job j JOIN j.skills s WHERE s IN :skills " +
+           "GROUP BY j.id ORDER BY COUNT(s) DESC, j.id DESC")
+    List<Object[]> rankJobsBySkills(@Param("skills") Collection<String> skills, Pageable pageable);
     
     List<Job> findByCreatedAtAfter(LocalDateTime date);
     
+    List<Job> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    List<Job> findByIdGreaterThanAndStateIdIsNullAndLocationIsNotNullOrderByIdAsc(Long id, Limit limit);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE Job j SET j.cityId = :cityId, j.stateId = :stateId WHERE j.id = :id")
+    int updateLocationIds(@Param("id") Long id, @Param("cityId") String cityId, @Param("stateId") String stateId);
+    
+    @Query("SELECT j.id, s FROM Job j JOIN j.skills s WHERE j.id IN :ids")
+    List<Object[]> findSkillsByJobIds(@Param("ids") Collection<Long> ids);
+    
     @Query("SELECT COUNT(j) FROM Job j WHERE j.source = :source")
     Long countJobsBySource(@Param("source") String source);
     
+    @Query("SELECT j.source, COUNT(j) FROM Job j GROUP BY j.source")
+    List<Object[]> countJobsGroupedBySource();
+    
     @Query("SELECT DISTINCT j.location FROM Job j WHERE j.location IS NOT NULL ORDER BY j.location")
     List<String> findDistinctLocations();
     
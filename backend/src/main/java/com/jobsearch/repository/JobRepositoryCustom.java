@@ -0,0 +1,48 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.search.JobCursor;
+import com.jobsearch.search.JobSearchCriteria;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface JobRepositoryCustom {
+
+    /**
+     * Keyset variant of {@link JobRepository#findJobsWithFilters}: returns up to
+     * {@code limit} jobs ordered by {@code sortBy} (NULLs largest) then id,
+     * strictly after {@code after}, without an OFFSET or a COUNT query.
+     */
+    List<Job> findJobsAfter(JobSearchCriteria criteria, String sortBy, boolean descending,
+                            JobCursor after, int limit);
+
+    /**
+     * Offset-paged search over every predicate of the criteria, including the
+     * canonical city/state filter that {@link JobRepository#findJobsWithFilters}
+     * does not know about.
+     */
+    Page<Job> findJobsMatching(JobSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Inserts the jobs whose external id is not stored yet, each with a single
+     * conflict-tolerant statement ({@code ON CONFLICT DO NOTHING} on
+     * PostgreSQL, {@code MERGE ... WHEN NOT MATCHED} elsewhere), so concurrent
+     * ingestion of overlapping pages never fails on the unique constraint.
+     * Ids are drawn from the entity's sequence before the statements run.
+     *
+     * @return the jobs that were inserted, with ids and timestamps set; the
+     *         others were already stored and are left unchanged
+     */
+    List<Job> insertIfAbsent(List<Job> jobs);
+
+    /**
+     * Overwrites the fetched content and skills of stored jobs, matched by
+     * {@link Job#getId()}, in one batch. A row whose stored content hash
+     * already equals the job's is left untouched.
+     *
+     * @return the jobs whose rows were updated
+     */
+    List<Job> updateContent(List<Job> jobs);
+}
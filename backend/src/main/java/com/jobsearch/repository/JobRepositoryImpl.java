@@ -0,0 +1,412 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.search.GeoFilter;
+import com.jobsearch.search.JobCursor;
+import com.jobsearch.search.JobSearchCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class JobRepositoryImpl implements JobRepositoryCustom {
+
+    private static final String INSERT_COLUMNS =
+        "id, external_id, title, company, location, city_id, state_id, salary_min, salary_max, " +
+        "is_remote, description, job_url, source, content_hash, created_at, updated_at";
+    private static final String INSERT_VALUES = "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?";
+
+    private static final String POSTGRES_INSERT =
+        "INSERT INTO jobs (" + INSERT_COLUMNS + ") VALUES (" + INSERT_VALUES + ") " +
+        "ON CONFLICT (external_id) DO NOTHING";
+    private static final String MERGE_INSERT =
+        "MERGE INTO jobs t USING (SELECT CAST(? AS VARCHAR(255)) AS external_id) s " +
+        "ON t.external_id = s.external_id " +
+        "WHEN NOT MATCHED THEN INSERT (" + INSERT_COLUMNS + ") VALUES (" + INSERT_VALUES + ")";
+    private static final String UPDATE_CONTENT =
+        "UPDATE jobs SET title = ?, company = ?, location = ?, city_id = ?, state_id = ?, salary_min = ?, " +
+        "salary_max = ?, is_remote = ?, description = ?, job_url = ?, content_hash = ?, updated_at = ? " +
+        "WHERE id = ? AND (content_hash IS NULL OR content_hash <> ?)";
+    private static final String INSERT_SKILL = "INSERT INTO job_skills (job_id, skill) VALUES (?, ?)";
+    private static final String DELETE_SKILLS = "DELETE FROM job_skills WHERE job_id = ?";
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Job> findJobsAfter(JobSearchCriteria criteria, String sortBy, boolean descending,
+                                   JobCursor after, int limit) {
+        if (!JobCursor.supports(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort property: " + sortBy);
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT j FROM Job j WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(criteria, jpql, params);
+
+        // sortBy is whitelisted by JobCursor.supports, so it is safe to inline
+        String column = "j." + sortBy;
+        if (after != null) {
+            params.put("afterId", after.getId());
+            if (after.getKey() == null) {
+                // NULLs come last ascending and first descending
+                jpql.append(descending
+                    ? " AND (" + column + " IS NOT NULL OR j.id > :afterId)"
+                    : " AND (" + column + " IS NULL AND j.id > :afterId)");
+            } else {
+                String op = descending ? "<" : ">";
+                jpql.append(" AND (").append(column).append(' ').append(op).append(" :afterKey")
+                    .append(" OR (").append(column).append(" = :afterKey AND j.id > :afterId)")
+                    .append(descending ? ")" : " OR " + column + " IS NULL)");
+                params.put("afterKey", after.getKey());
+            }
+        }
+
+        jpql.append(" ORDER BY ").append(column)
+            .append(descending ? " DESC NULLS FIRST" : " ASC NULLS LAST")
+            .append(", j.id ASC");
+
+        TypedQuery<Job> query = entityManager.createQuery(jpql.toString(), Job.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public Page<Job> findJobsMatching(JobSearchCriteria criteria, Pageable pageable) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        appendFilters(criteria, where, params);
+
+        StringBuilder orderBy = new StringBuilder();
+        for (Sort.Order order : pageable.getSort()) {
+            // Properties are whitelisted, so they are safe to inline
+            if (!JobCursor.supports(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+            orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ")
+                .append("j.").append(order.getProperty()).append(order.isDescending() ? " DESC" : " ASC");
+        }
+        orderBy.append(orderBy.length() == 0 ? " ORDER BY " : ", ").append("j.id ASC");
+
+        TypedQuery<Job> query = entityManager.createQuery("SELECT j FROM Job j" + where + orderBy, Job.class);
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(j) FROM Job j" + where, Long.class);
+        params.forEach((name, value) -> {
+            query.setParameter(name, value);
+            count.setParameter(name, value);
+        });
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+        return new PageImpl<>(query.getResultList(), pageable, count.getSingleResult());
+    }
+
+    /**
+     * The predicates of {@link JobRepository#findJobsWithFilters} plus the
+     * canonical location filter, for whichever criteria are present.
+     */
+    private static void appendFilters(JobSearchCriteria criteria, StringBuilder jpql, Map<String, Object> params) {
+        if (criteria.getTitle() != null) {
+            jpql.append(" AND UPPER(j.title) LIKE UPPER(CONCAT('%', :title, '%'))");
+            params.put("title", criteria.getTitle());
+        }
+        if (criteria.getCompany() != null) {
+            jpql.append(" AND UPPER(j.company) LIKE UPPER(CONCAT('%', :company, '%'))");
+            params.put("company", criteria.getCompany());
+        }
+        if (criteria.getLocation() != null) {
+            jpql.append(" AND UPPER(j.location) LIKE UPPER(CONCAT('%', :location, '%'))");
+            params.put("location", criteria.getLocation());
+        }
+        if (criteria.getMinSalary() != null) {
+            jpql.append(" AND j.salaryMax >= :minSalary");
+            params.put("minSalary", criteria.getMinSalary());
+        }
+        if (criteria.getMaxSalary() != null) {
+            jpql.append(" AND j.salaryMin <= :maxSalary");
+            params.put("maxSalary", criteria.getMaxSalary());
+        }
+        if (criteria.getIsRemote() != null) {
+            jpql.append(" AND j.isRemote = :isRemote");
+            params.put("isRemote", criteria.getIsRemote());
+        }
+        if (criteria.getSource() != null) {
+            jpql.append(" AND j.source = :source");
+            params.put("source", criteria.getSource());
+        }
+        GeoFilter geo = criteria.getGeo();
+        if (geo != null && geo.getStateId() != null) {
+            jpql.append(" AND j.stateId = :stateId");
+            params.put("stateId", geo.getStateId());
+        }
+        if (geo != null && geo.getCityIds() != null) {
+            if (geo.getCityIds().isEmpty()) {
+                jpql.append(" AND 1 = 0");
+            } else {
+                jpql.append(" AND j.cityId IN :cityIds");
+                params.put("cityIds", geo.getCityIds());
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Job> insertIfAbsent(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getEntityPersister(Job.class.getName(), jobs.get(0));
+        IdentifierGenerator generator = (IdentifierGenerator) persister.getGenerator();
+        LocalDateTime now = LocalDateTime.now();
+        for (Job job : jobs) {
+            job.setId((Long) generator.generate(session, job));
+            job.setCreatedAt(now);
+            job.setUpdatedAt(now);
+        }
+
+        List<Job> inserted = new ArrayList<>();
+        session.doWork(connection -> inserted.addAll(insertRows(connection, jobs)));
+        return inserted;
+    }
+
+    private static List<Job> insertRows(Connection connection, List<Job> jobs) throws SQLException {
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        int[] counts = postgres ? insertBatch(connection, jobs) : mergeBatch(connection, jobs);
+
+        List<Job> inserted = new ArrayList<>();
+        Set<Long> storedIds = null;
+        for (int i = 0; i < jobs.size(); i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO && storedIds == null) {
+                // Some drivers rewrite batches and drop per-row counts; the
+                // fresh ids tell which rows made it in
+                storedIds = findStoredIds(connection, jobs);
+            }
+            boolean wasInserted = storedIds != null ? storedIds.contains(jobs.get(i).getId()) : counts[i] > 0;
+            if (wasInserted) {
+                inserted.add(jobs.get(i));
+            }
+        }
+
+        insertSkills(connection, inserted);
+        return inserted;
+    }
+
+    private static int[] insertBatch(Connection connection, List<Job> jobs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(POSTGRES_INSERT)) {
+            for (Job job : jobs) {
+                bindRow(statement, 1, job);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        }
+    }
+
+    /**
+     * MERGE checks for the external id and then inserts, so a concurrent
+     * insert of the same job can still hit the unique key in between. That
+     * row is counted as not inserted; H2 rolls back only the failing
+     * statement and runs the rest of the batch, so the rest of the page
+     * still goes in.
+     */
+    private static int[] mergeBatch(Connection connection, List<Job> jobs) throws SQLException {
+        int[] counts = new int[jobs.size()];
+        int executed;
+        try (PreparedStatement statement = connection.prepareStatement(MERGE_INSERT)) {
+            for (Job job : jobs) {
+                statement.setString(1, job.getExternalId());
+                bindRow(statement, 2, job);
+                statement.addBatch();
+            }
+            try {
+                return statement.executeBatch();
+            } catch (BatchUpdateException e) {
+                if (!onlyUniqueViolations(e)) {
+                    throw e;
+                }
+                int[] partial = e.getUpdateCounts() == null ? new int[0] : e.getUpdateCounts();
+                for (int i = 0; i < partial.length && i < counts.length; i++) {
+                    counts[i] = partial[i] == Statement.EXECUTE_FAILED ? 0 : partial[i];
+                }
+                // A driver that stops at the failing row reports only the rows before it
+                executed = Math.min(counts.length, partial.length + (partial.length < counts.length ? 1 : 0));
+            }
+        }
+        if (executed < jobs.size()) {
+            int[] rest = mergeBatch(connection, jobs.subList(executed, jobs.size()));
+            System.arraycopy(rest, 0, counts, executed, rest.length);
+        }
+        return counts;
+    }
+
+    private static boolean onlyUniqueViolations(BatchUpdateException e) {
+        SQLException cause = e.getNextException();
+        if (cause == null) {
+            return UNIQUE_VIOLATION.equals(e.getSQLState());
+        }
+        for (; cause != null; cause = cause.getNextException()) {
+            if (!UNIQUE_VIOLATION.equals(cause.getSQLState())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public List<Job> updateContent(List<Job> jobs) {
+        if (jobs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Job job : jobs) {
+            job.setUpdatedAt(now);
+        }
+
+        List<Job> updated = new ArrayList<>();
+        session.doWork(connection -> updated.addAll(updateRows(connection, jobs)));
+        return updated;
+    }
+
+    private static List<Job> updateRows(Connection connection, List<Job> jobs) throws SQLException {
+        int[] counts;
+        try (PreparedStatement statement = connection.prepareStatement(UPDATE_CONTENT)) {
+            for (Job job : jobs) {
+                int index = 1;
+                statement.setString(index++, job.getTitle());
+                statement.setString(index++, job.getCompany());
+                statement.setString(index++, job.getLocation());
+                statement.setString(index++, job.getCityId());
+                statement.setString(index++, job.getStateId());
+                setLong(statement, index++, job.getSalaryMin());
+                setLong(statement, index++, job.getSalaryMax());
+                setBoolean(statement, index++, job.getIsRemote());
+                statement.setString(index++, job.getDescription());
+                statement.setString(index++, job.getJobUrl());
+                statement.setString(index++, job.getContentHash());
+                statement.setTimestamp(index++, Timestamp.valueOf(job.getUpdatedAt()));
+                statement.setLong(index++, job.getId());
+                statement.setString(index, job.getContentHash());
+                statement.addBatch();
+            }
+            counts = statement.executeBatch();
+        }
+
+        // Without per-row counts the rows cannot be told apart; the caller
+        // already compared hashes, so treat them all as updated
+        List<Job> updated = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                updated.add(jobs.get(i));
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_SKILLS)) {
+            for (Job job : updated) {
+                statement.setLong(1, job.getId());
+                statement.addBatch();
+            }
+            if (!updated.isEmpty()) {
+                statement.executeBatch();
+            }
+        }
+        insertSkills(connection, updated);
+        return updated;
+    }
+
+    private static void insertSkills(Connection connection, List<Job> jobs) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SKILL)) {
+            boolean any = false;
+            for (Job job : jobs) {
+                for (String skill : job.getSkills()) {
+                    statement.setLong(1, job.getId());
+                    statement.setString(2, skill);
+                    statement.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    private static void bindRow(PreparedStatement statement, int index, Job job) throws SQLException {
+        statement.setLong(index++, job.getId());
+        statement.setString(index++, job.getExternalId());
+        statement.setString(index++, job.getTitle());
+        statement.setString(index++, job.getCompany());
+        statement.setString(index++, job.getLocation());
+        statement.setString(index++, job.getCityId());
+        statement.setString(index++, job.getStateId());
+        setLong(statement, index++, job.getSalaryMin());
+        setLong(statement, index++, job.getSalaryMax());
+        setBoolean(statement, index++, job.getIsRemote());
+        statement.setString(index++, job.getDescription());
+        statement.setString(index++, job.getJobUrl());
+        statement.setString(index++, job.getSource());
+        statement.setString(index++, job.getContentHash());
+        statement.setTimestamp(index++, Timestamp.valueOf(job.getCreatedAt()));
+        statement.setTimestamp(index, Timestamp.valueOf(job.getUpdatedAt()));
+    }
+
+    private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static void setBoolean(PreparedStatement statement, int index, Boolean value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BOOLEAN);
+        } else {
+            statement.setBoolean(index, value);
+        }
+    }
+
+    private static Set<Long> findStoredIds(Connection connection, List<Job> jobs) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id FROM jobs WHERE id IN (");
+        for (int i = 0; i < jobs.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        Set<Long> ids = new HashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < jobs.size(); i++) {
+                statement.setLong(i + 1, jobs.get(i).getId());
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    ids.add(rows.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,19 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.ProviderRateLimit;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface ProviderRateLimitRepository extends JpaRepository<ProviderRateLimit, String> {
+
+    /** Row-locks the bucket until the surrounding transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ProviderRateLimit r WHERE r.provider = :provider")
+    Optional<ProviderRateLimit> findForUpdate(@Param("provider") String provider);
+}
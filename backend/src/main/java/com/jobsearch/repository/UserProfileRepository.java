@@ -0,0 +1,11 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.UserProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface UserProfileRepository extends JpaRepository<UserProfile, Long> {
+    Optional<UserProfile> findByUser_Id(Long userId);
+}
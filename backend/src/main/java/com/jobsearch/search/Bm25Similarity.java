@@ -0,0 +1,101 @@
+package com.jobsearch.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * BM25 scoring over the per-field posting lists. Each field keeps the token
+ * length of every doc and the total over live docs, so the length
+ * normalization needs no extra pass, and scores are accumulated into a
+ * caller-supplied array indexed by doc id, with no per-document allocation.
+ * A doc's score is the sum of its boosted per-field scores.
+ */
+final class Bm25Similarity {
+
+    static final JobField[] SCORED_FIELDS = {JobField.TITLE, JobField.COMPANY, JobField.DESCRIPTION};
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final float[] boosts = new float[JobField.values().length];
+    private int[][] lengths = new int[JobField.values().length][1024];
+    private final long[] totalLengths = new long[JobField.values().length];
+    private int docCount;
+
+    Bm25Similarity() {
+        boosts[JobField.TITLE.ordinal()] = 3.0f;
+        boosts[JobField.COMPANY.ordinal()] = 2.0f;
+        boosts[JobField.DESCRIPTION.ordinal()] = 1.0f;
+    }
+
+    void addDoc(int doc) {
+        if (doc >= lengths[0].length) {
+            int capacity = Math.max(doc + 1, lengths[0].length * 2);
+            for (int f = 0; f < lengths.length; f++) {
+                lengths[f] = Arrays.copyOf(lengths[f], capacity);
+            }
+        }
+        docCount++;
+    }
+
+    void setLength(JobField field, int doc, int length) {
+        lengths[field.ordinal()][doc] = length;
+        totalLengths[field.ordinal()] += length;
+    }
+
+    void removeDoc(int doc) {
+        for (int f = 0; f < lengths.length; f++) {
+            totalLengths[f] -= lengths[f][doc];
+        }
+        docCount--;
+    }
+
+    /**
+     * Adds the boosted score of one term in one field to {@code scores} for
+     * every doc of {@code postings} that is in {@code matches}. The document
+     * frequency only counts live docs, like {@code docCount}, so the idf
+     * cannot go negative however many tombstones the list still holds.
+     */
+    void accumulate(JobField field, PostingList postings, BitSet liveDocs, BitSet matches, float[] scores) {
+        int f = field.ordinal();
+        if (boosts[f] == 0 || docCount == 0) {
+            return;
+        }
+        int df = postings.count(liveDocs);
+        if (df == 0) {
+            return;
+        }
+        float idf = (float) Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        float weight = boosts[f] * idf * (K1 + 1);
+        float averageLength = Math.max(1f, (float) totalLengths[f] / docCount);
+        int[] fieldLengths = lengths[f];
+
+        for (int i = 0; i < postings.size(); i++) {
+            int doc = postings.doc(i);
+            if (matches.get(doc)) {
+                int tf = postings.freq(i);
+                float norm = K1 * (1 - B + B * fieldLengths[doc] / averageLength);
+                scores[doc] += weight * tf / (tf + norm);
+            }
+        }
+    }
+
+    /** Moves the doc lengths to the ids of {@code remap}; see {@link PostingList#compact}. */
+    void compact(int[] remap, int liveCount) {
+        for (int f = 0; f < lengths.length; f++) {
+            int[] compacted = new int[Math.max(1024, liveCount)];
+            for (int doc = 0; doc < remap.length; doc++) {
+                if (remap[doc] >= 0) {
+                    compacted[remap[doc]] = lengths[f][doc];
+                }
+            }
+            lengths[f] = compacted;
+        }
+    }
+
+    void clear() {
+        lengths = new int[JobField.values().length][1024];
+        Arrays.fill(totalLengths, 0);
+        docCount = 0;
+    }
+}
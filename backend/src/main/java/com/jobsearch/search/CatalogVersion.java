@@ -0,0 +1,32 @@
+package com.jobsearch.search;
+
+import com.jobsearch.event.JobsSavedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the job catalog, bumped whenever jobs are saved.
+ * Anything derived from the catalog can tag itself with
+ * the version it was computed at and treat a different version as stale.
+ */
+@Component
+public class CatalogVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onJobsSaved(JobsSavedEvent event) {
+        if (!event.getJobs().isEmpty()) {
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jobsearch.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Translates a Spring Data {@link Sort} into a comparator over indexed
+ * documents. NULLs sort as larger than any value, like PostgreSQL does.
+ */
+final class DocumentSort {
+
+    private static final Map<String, Function<JobDocument, Comparable<?>>> PROPERTIES = new HashMap<>();
+
+    static {
+        PROPERTIES.put("id", JobDocument::getId);
+        PROPERTIES.put("title", JobDocument::getTitle);
+        PROPERTIES.put("company", JobDocument::getCompany);
+        PROPERTIES.put("location", JobDocument::getLocation);
+        PROPERTIES.put("salaryMin", JobDocument::getSalaryMin);
+        PROPERTIES.put("salaryMax", JobDocument::getSalaryMax);
+        PROPERTIES.put("isRemote", JobDocument::getIsRemote);
+        PROPERTIES.put("source", JobDocument::getSource);
+        PROPERTIES.put("createdAt", JobDocument::getCreatedAt);
+        PROPERTIES.put("updatedAt", JobDocument::getUpdatedAt);
+    }
+
+    private DocumentSort() {}
+
+    static boolean supports(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!PROPERTIES.containsKey(order.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the comparator for a supported sort, breaking ties on id so
+     * paging is stable.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Comparator<JobDocument> comparator(Sort sort) {
+        Comparator<JobDocument> result = null;
+        for (Sort.Order order : sort) {
+            Function<JobDocument, Comparable> key = (Function) PROPERTIES.get(order.getProperty());
+            Comparator<JobDocument> next = Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            result = result == null ? next : result.thenComparing(next);
+        }
+        Comparator<JobDocument> byId = Comparator.comparingLong(JobDocument::getId);
+        return result == null ? byId : result.thenComparing(byId);
+    }
+
+    /**
+     * Whether a document sorts strictly after the cursor position, using the
+     * same ordering as {@link #comparator(Sort)}.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static boolean isAfter(JobDocument doc, JobCursor cursor) {
+        Comparable key = PROPERTIES.get(cursor.getSortBy()).apply(doc);
+        Comparable cursorKey = (Comparable) cursor.getKey();
+        int cmp;
+        if (key == null || cursorKey == null) {
+            cmp = key == cursorKey ? 0 : (key == null ? 1 : -1);
+        } else {
+            cmp = key.compareTo(cursorKey);
+        }
+        if (cursor.isDescending()) {
+            cmp = -cmp;
+        }
+        return cmp > 0 || (cmp == 0 && doc.getId() > cursor.getId());
+    }
+}
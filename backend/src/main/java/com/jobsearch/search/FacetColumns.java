@@ -0,0 +1,129 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Column-oriented, dictionary-encoded facet values per doc id. Counting a
+ * facet over a result set is then a single pass of array increments, with no
+ * per-document allocation and no extra SQL.
+ */
+final class FacetColumns {
+
+    private static final byte REMOTE_FALSE = 0;
+    private static final byte REMOTE_TRUE = 1;
+    private static final byte REMOTE_UNKNOWN = 2;
+
+    private final OrdinalDictionary sources = new OrdinalDictionary();
+    private final OrdinalDictionary locations = new OrdinalDictionary();
+    private final OrdinalDictionary companies = new OrdinalDictionary();
+
+    private int[] sourceOrds = new int[1024];
+    private int[] locationOrds = new int[1024];
+    private int[] companyOrds = new int[1024];
+    private byte[] remoteFlags = new byte[1024];
+    private byte[] salaryBuckets = new byte[1024];
+
+    void set(int doc, JobDocument document) {
+        if (doc >= sourceOrds.length) {
+            int capacity = Math.max(doc + 1, sourceOrds.length * 2);
+            sourceOrds = Arrays.copyOf(sourceOrds, capacity);
+            locationOrds = Arrays.copyOf(locationOrds, capacity);
+            companyOrds = Arrays.copyOf(companyOrds, capacity);
+            remoteFlags = Arrays.copyOf(remoteFlags, capacity);
+            salaryBuckets = Arrays.copyOf(salaryBuckets, capacity);
+        }
+        sourceOrds[doc] = sources.ordinal(document.getSource());
+        locationOrds[doc] = locations.ordinal(document.getLocation());
+        companyOrds[doc] = companies.ordinal(document.getCompany());
+        Boolean remote = document.getIsRemote();
+        remoteFlags[doc] = remote == null ? REMOTE_UNKNOWN : (remote ? REMOTE_TRUE : REMOTE_FALSE);
+        salaryBuckets[doc] = (byte) SalaryBucket.of(document.getSalaryMax()).ordinal();
+    }
+
+    /**
+     * Must be created and used under the index read lock, so the dictionaries
+     * cannot grow while counting.
+     */
+    Counter newCounter() {
+        return new Counter();
+    }
+
+    void clear() {
+        sources.clear();
+        locations.clear();
+        companies.clear();
+    }
+
+    final class Counter {
+        private final int[] sourceCounts = new int[sources.size()];
+        private final int[] locationCounts = new int[locations.size()];
+        private final int[] companyCounts = new int[companies.size()];
+        private final int[] remoteCounts = new int[3];
+        private final int[] salaryCounts = new int[SalaryBucket.values().length];
+
+        void collect(int doc) {
+            increment(sourceCounts, sourceOrds[doc]);
+            increment(locationCounts, locationOrds[doc]);
+            increment(companyCounts, companyOrds[doc]);
+            remoteCounts[remoteFlags[doc]]++;
+            salaryCounts[salaryBuckets[doc]]++;
+        }
+
+        SearchFacets toFacets(int topN) {
+            Map<String, Long> sourceFacet = new LinkedHashMap<>();
+            for (SearchFacets.FacetValue value : top(sources, sourceCounts, sourceCounts.length)) {
+                sourceFacet.put(value.getValue(), value.getCount());
+            }
+
+            Map<String, Long> remoteFacet = new LinkedHashMap<>();
+            remoteFacet.put("true", (long) remoteCounts[REMOTE_TRUE]);
+            remoteFacet.put("false", (long) remoteCounts[REMOTE_FALSE]);
+
+            Map<String, Long> salaryFacet = new LinkedHashMap<>();
+            for (SalaryBucket bucket : SalaryBucket.values()) {
+                salaryFacet.put(bucket.getLabel(), (long) salaryCounts[bucket.ordinal()]);
+            }
+
+            return new SearchFacets(sourceFacet, remoteFacet,
+                top(locations, locationCounts, topN), top(companies, companyCounts, topN), salaryFacet);
+        }
+
+        private void increment(int[] counts, int ordinal) {
+            if (ordinal != OrdinalDictionary.MISSING) {
+                counts[ordinal]++;
+            }
+        }
+
+        private List<SearchFacets.FacetValue> top(OrdinalDictionary dictionary, int[] counts, int n) {
+            // Min-heap of ordinals: smallest count (then largest value) on top
+            Comparator<Integer> weakestFirst = Comparator.<Integer>comparingInt(ord -> counts[ord])
+                .thenComparing(dictionary::value, Comparator.reverseOrder());
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, n), weakestFirst);
+            for (int ord = 0; ord < counts.length; ord++) {
+                if (counts[ord] == 0) {
+                    continue;
+                }
+                if (heap.size() < n) {
+                    heap.add(ord);
+                } else if (n > 0 && weakestFirst.compare(ord, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(ord);
+                }
+            }
+
+            List<Integer> ordered = new ArrayList<>(heap);
+            ordered.sort(weakestFirst.reversed());
+            List<SearchFacets.FacetValue> result = new ArrayList<>(ordered.size());
+            for (int ord : ordered) {
+                result.add(new SearchFacets.FacetValue(dictionary.value(ord), counts[ord]));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import com.jobsearch.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The distinct location and company values behind the filter dropdowns,
+ * loaded once and then maintained from the save events instead
+ * of running {@code SELECT DISTINCT} over the table on every page load.
+ * Until the dictionaries are loaded the database queries are used.
+ */
+@Component
+public class FilterDictionaries {
+
+    private static final Logger logger = LoggerFactory.getLogger(FilterDictionaries.class);
+
+    private final JobCatalogLoader catalogLoader;
+    private final JobRepository jobRepository;
+
+    private final ValueDictionary locations = new ValueDictionary();
+    private final ValueDictionary companies = new ValueDictionary();
+    // Values each job currently contributes, so updates can release them
+    private final Map<Long, String[]> valuesByJobId = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public FilterDictionaries(JobCatalogLoader catalogLoader, JobRepository jobRepository) {
+        this.catalogLoader = catalogLoader;
+        this.jobRepository = jobRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            ready = false;
+            locations.clear();
+            companies.clear();
+            valuesByJobId.clear();
+            catalogLoader.forEachJob((job, skills) -> put(job));
+            ready = true;
+            logger.info("Loaded filter dictionaries for {} jobs", valuesByJobId.size());
+        } catch (Exception e) {
+            logger.error("Failed to load filter dictionaries, filters will use the database: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public synchronized void onJobsSaved(JobsSavedEvent event) {
+        for (Job job : event.getJobs()) {
+            if (job.getId() != null) {
+                put(job);
+            }
+        }
+    }
+
+    public List<String> locations(String prefix, int limit) {
+        if (!ready) {
+            return filter(jobRepository.findDistinctLocations(), prefix, limit);
+        }
+        synchronized (this) {
+            return locations.values(prefix, limit);
+        }
+    }
+
+    public List<String> companies(String prefix, int limit) {
+        if (!ready) {
+            return filter(jobRepository.findDistinctCompanies(), prefix, limit);
+        }
+        synchronized (this) {
+            return companies.values(prefix, limit);
+        }
+    }
+
+    private void put(Job job) {
+        release(valuesByJobId.put(job.getId(), new String[] {job.getLocation(), job.getCompany()}));
+        locations.add(job.getLocation());
+        companies.add(job.getCompany());
+    }
+
+    private void release(String[] values) {
+        if (values != null) {
+            locations.remove(values[0]);
+            companies.remove(values[1]);
+        }
+    }
+
+    private static List<String> filter(List<String> values, String prefix, int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, values.size()));
+        for (String value : values) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (prefix == null || value.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.jobsearch.search;
+
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Canonical location constraints resolved against the gazetteer: an exact
+ * state, and/or a set of acceptable city ids (one city, or every city within
+ * a radius). A job matches only if its resolved ids satisfy both.
+ */
+public final class GeoFilter {
+
+    private final String stateId;
+    private final Set<String> cityIds;
+
+    public GeoFilter(String stateId, Set<String> cityIds) {
+        this.stateId = stateId;
+        this.cityIds = cityIds == null ? null : Set.copyOf(cityIds);
+    }
+
+    public String getStateId() { return stateId; }
+    public Set<String> getCityIds() { return cityIds; }
+
+    boolean matches(String jobCityId, String jobStateId) {
+        if (stateId != null && !stateId.equals(jobStateId)) {
+            return false;
+        }
+        return cityIds == null || (jobCityId != null && cityIds.contains(jobCityId));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GeoFilter)) return false;
+        GeoFilter that = (GeoFilter) o;
+        return Objects.equals(stateId, that.stateId) && Objects.equals(cityIds, that.cityIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stateId, cityIds);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jobsearch.search;
+
+import java.util.List;
+
+/**
+ * One page of job ids answered by the in-memory index, in result order.
+ */
+public final class IndexSearchResult {
+
+    private final List<Long> jobIds;
+    private final long totalHits;
+    private final SearchFacets facets;
+
+    IndexSearchResult(List<Long> jobIds, long totalHits, SearchFacets facets) {
+        this.jobIds = jobIds;
+        this.totalHits = totalHits;
+        this.facets = facets;
+    }
+
+    public List<Long> getJobIds() { return jobIds; }
+
+    public long getTotalHits() { return totalHits; }
+
+    public SearchFacets getFacets() { return facets; }
+}
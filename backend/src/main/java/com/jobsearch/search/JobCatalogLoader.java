@@ -0,0 +1,64 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.repository.JobRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Streams the whole job catalog in id order, in keyset batches, for building
+ * in-memory structures at startup. Skills are fetched per batch with a single
+ * projection query rather than one lazy load per job.
+ */
+@Component
+public class JobCatalogLoader {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JobRepository jobRepository;
+
+    public JobCatalogLoader(JobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * Calls {@code consumer} with every job and its skills; returns the number
+     * of jobs visited.
+     */
+    public long forEachJob(BiConsumer<Job, List<String>> consumer) {
+        long count = 0;
+        long lastId = 0;
+        List<Job> batch;
+        do {
+            batch = jobRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BATCH_SIZE));
+            Map<Long, List<String>> skills = loadSkills(batch);
+            for (Job job : batch) {
+                consumer.accept(job, skills.getOrDefault(job.getId(), List.of()));
+                lastId = job.getId();
+                count++;
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return count;
+    }
+
+    private Map<Long, List<String>> loadSkills(List<Job> batch) {
+        Map<Long, List<String>> skills = new HashMap<>();
+        if (batch.isEmpty()) {
+            return skills;
+        }
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Job job : batch) {
+            ids.add(job.getId());
+        }
+        for (Object[] row : jobRepository.findSkillsByJobIds(ids)) {
+            skills.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        return skills;
+    }
+}
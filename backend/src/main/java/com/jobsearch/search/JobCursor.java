@@ -0,0 +1,107 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor for seek pagination: the sort key and id of the last
+ * row returned, plus the sort it belongs to. Rows are ordered by the sort key
+ * with NULLs as the largest value, then by id ascending.
+ */
+public final class JobCursor {
+
+    private static final Map<String, Class<?>> KEY_TYPES = new HashMap<>();
+    private static final Map<String, Function<Job, Object>> KEY_EXTRACTORS = new HashMap<>();
+
+    static {
+        register("id", Long.class, Job::getId);
+        register("title", String.class, Job::getTitle);
+        register("company", String.class, Job::getCompany);
+        register("location", String.class, Job::getLocation);
+        register("salaryMin", Long.class, Job::getSalaryMin);
+        register("salaryMax", Long.class, Job::getSalaryMax);
+        register("isRemote", Boolean.class, Job::getIsRemote);
+        register("source", String.class, Job::getSource);
+        register("createdAt", LocalDateTime.class, Job::getCreatedAt);
+        register("updatedAt", LocalDateTime.class, Job::getUpdatedAt);
+    }
+
+    private static void register(String property, Class<?> type, Function<Job, Object> extractor) {
+        KEY_TYPES.put(property, type);
+        KEY_EXTRACTORS.put(property, extractor);
+    }
+
+    private final String sortBy;
+    private final boolean descending;
+    private final Object key;
+    private final long id;
+
+    private JobCursor(String sortBy, boolean descending, Object key, long id) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static boolean supports(String sortBy) {
+        return KEY_TYPES.containsKey(sortBy);
+    }
+
+    public static JobCursor after(Job job, String sortBy, boolean descending) {
+        return new JobCursor(sortBy, descending, KEY_EXTRACTORS.get(sortBy).apply(job), job.getId());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed or was issued
+     *         for a different sort than the one requested
+     */
+    public static JobCursor decode(String token, String sortBy, boolean descending) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+
+        // sortBy:dir:id:value, with the value last since strings may contain ':'
+        String[] parts = decoded.split(":", 4);
+        if (parts.length != 4 || !supports(parts[0]) || parts[3].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        if (!parts[0].equals(sortBy) || "d".equals(parts[1]) != descending) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort order");
+        }
+
+        try {
+            long id = Long.parseLong(parts[2]);
+            Object key = parts[3].charAt(0) == 'n' ? null : parseKey(KEY_TYPES.get(sortBy), parts[3].substring(1));
+            return new JobCursor(sortBy, descending, key, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    private static Object parseKey(Class<?> type, String value) {
+        if (type == Long.class) return Long.valueOf(value);
+        if (type == Boolean.class) return Boolean.valueOf(value);
+        if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+        return value;
+    }
+
+    public String encode() {
+        String value = key == null ? "n" : "v" + key;
+        String raw = sortBy + ":" + (descending ? "d" : "a") + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortBy() { return sortBy; }
+    public boolean isDescending() { return descending; }
+    public Object getKey() { return key; }
+    public long getId() { return id; }
+}
@@ -0,0 +1,72 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable snapshot of the job columns the in-memory index filters and sorts
+ * on. Free-text fields are kept in their normalized form for LIKE verification.
+ */
+public final class JobDocument {
+
+    private final long id;
+    private final String title;
+    private final String company;
+    private final String location;
+    private final String normalizedTitle;
+    private final String normalizedCompany;
+    private final String normalizedLocation;
+    private final Long salaryMin;
+    private final Long salaryMax;
+    private final Boolean isRemote;
+    private final String source;
+    private final String cityId;
+    private final String stateId;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    private JobDocument(Job job) {
+        this.id = job.getId();
+        this.title = job.getTitle();
+        this.company = job.getCompany();
+        this.location = job.getLocation();
+        this.normalizedTitle = TextAnalyzer.normalize(title);
+        this.normalizedCompany = TextAnalyzer.normalize(company);
+        this.normalizedLocation = TextAnalyzer.normalize(location);
+        this.salaryMin = job.getSalaryMin();
+        this.salaryMax = job.getSalaryMax();
+        this.isRemote = job.getIsRemote();
+        this.source = job.getSource();
+        this.cityId = job.getCityId();
+        this.stateId = Job.UNRESOLVED_STATE_ID.equals(job.getStateId()) ? null : job.getStateId();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+    }
+
+    static JobDocument from(Job job) {
+        return new JobDocument(job);
+    }
+
+    public long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getCompany() { return company; }
+    public String getLocation() { return location; }
+    public Long getSalaryMin() { return salaryMin; }
+    public Long getSalaryMax() { return salaryMax; }
+    public Boolean getIsRemote() { return isRemote; }
+    public String getSource() { return source; }
+    public String getCityId() { return cityId; }
+    public String getStateId() { return stateId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    String normalized(JobField field) {
+        switch (field) {
+            case TITLE: return normalizedTitle;
+            case COMPANY: return normalizedCompany;
+            case LOCATION: return normalizedLocation;
+            default: throw new IllegalArgumentException("Field is not stored: " + field);
+        }
+    }
+}
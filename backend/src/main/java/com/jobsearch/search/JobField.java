@@ -0,0 +1,11 @@
+package com.jobsearch.search;
+
+/**
+ * Free-text job fields that are tokenized into posting lists.
+ */
+public enum JobField {
+    TITLE,
+    COMPANY,
+    LOCATION,
+    DESCRIPTION
+}
@@ -0,0 +1,138 @@
+package com.jobsearch.search;
+
+import java.util.Objects;
+
+/**
+ * The filter tuple accepted by {@code /jobs/search}. Blank strings are treated
+ * as absent, exactly like the {@code :param = ''} guards in the JPQL query.
+ *
+ * With {@code fuzzy} set, a text filter also matches when every one of its
+ * words is within a small edit distance of a word in the field. Only the
+ * search index can answer that; the database fallback ignores the flag.
+ *
+ * An optional {@link GeoFilter} restricts matches by the canonical city and
+ * state ids resolved at ingestion, independently of the location text.
+ */
+public final class JobSearchCriteria {
+
+    static final JobField[] FILTER_FIELDS = {JobField.TITLE, JobField.COMPANY, JobField.LOCATION};
+
+    private final String title;
+    private final String company;
+    private final String location;
+    private final Long minSalary;
+    private final Long maxSalary;
+    private final Boolean isRemote;
+    private final String source;
+    private final boolean fuzzy;
+    private final GeoFilter geo;
+
+    public JobSearchCriteria(String title, String company, String location,
+                             Long minSalary, Long maxSalary, Boolean isRemote, String source) {
+        this(title, company, location, minSalary, maxSalary, isRemote, source, false, null);
+    }
+
+    public JobSearchCriteria(String title, String company, String location,
+                             Long minSalary, Long maxSalary, Boolean isRemote, String source,
+                             boolean fuzzy, GeoFilter geo) {
+        this.title = blankToNull(title);
+        this.company = blankToNull(company);
+        this.location = blankToNull(location);
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+        this.isRemote = isRemote;
+        this.source = blankToNull(source);
+        this.fuzzy = fuzzy;
+        this.geo = geo;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    public String getTitle() { return title; }
+    public String getCompany() { return company; }
+    public String getLocation() { return location; }
+    public Long getMinSalary() { return minSalary; }
+    public Long getMaxSalary() { return maxSalary; }
+    public Boolean getIsRemote() { return isRemote; }
+    public String getSource() { return source; }
+    public boolean isFuzzy() { return fuzzy; }
+    public GeoFilter getGeo() { return geo; }
+
+    public boolean isEmpty() {
+        return title == null && company == null && location == null && minSalary == null
+            && maxSalary == null && isRemote == null && source == null && geo == null;
+    }
+
+    String text(JobField field) {
+        switch (field) {
+            case TITLE: return title;
+            case COMPANY: return company;
+            case LOCATION: return location;
+            default: return null;
+        }
+    }
+
+    /**
+     * Mirrors the WHERE clause of {@code JobRepository.findJobsWithFilters},
+     * including SQL's treatment of NULL columns as non-matching. Fuzzy text
+     * filters are not checked here; the index resolves them exactly.
+     */
+    boolean matches(JobDocument doc) {
+        if (!fuzzy) {
+            for (JobField field : FILTER_FIELDS) {
+                if (!matchesText(doc, field)) {
+                    return false;
+                }
+            }
+        }
+        if (minSalary != null && (doc.getSalaryMax() == null || doc.getSalaryMax() < minSalary)) {
+            return false;
+        }
+        if (maxSalary != null && (doc.getSalaryMin() == null || doc.getSalaryMin() > maxSalary)) {
+            return false;
+        }
+        if (isRemote != null && !isRemote.equals(doc.getIsRemote())) {
+            return false;
+        }
+        if (geo != null && !geo.matches(doc.getCityId(), doc.getStateId())) {
+            return false;
+        }
+        return source == null || source.equals(doc.getSource());
+    }
+
+    /**
+     * The exact LIKE predicate of one text filter.
+     */
+    boolean matchesText(JobDocument doc, JobField field) {
+        String value = text(field);
+        return value == null || (!fieldIsNull(doc, field)
+            && TextAnalyzer.containsLike(doc.normalized(field), TextAnalyzer.normalize(value)));
+    }
+
+    private static boolean fieldIsNull(JobDocument doc, JobField field) {
+        switch (field) {
+            case TITLE: return doc.getTitle() == null;
+            case COMPANY: return doc.getCompany() == null;
+            default: return doc.getLocation() == null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof JobSearchCriteria)) return false;
+        JobSearchCriteria that = (JobSearchCriteria) o;
+        return Objects.equals(title, that.title) && Objects.equals(company, that.company)
+            && Objects.equals(location, that.location) && Objects.equals(minSalary, that.minSalary)
+            && Objects.equals(maxSalary, that.maxSalary) && Objects.equals(isRemote, that.isRemote)
+            && Objects.equals(source, that.source) && fuzzy == that.fuzzy
+            && Objects.equals(geo, that.geo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(title, company, location, minSalary, maxSalary, isRemote, source, fuzzy, geo);
+    }
+}
@@ -0,0 +1,541 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import org.roaringbitmap.IntConsumer;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the job catalog. Each job is assigned an
+ * internal doc id and its title, company, location and description are
+ * tokenized into per-field posting lists. Searches start from the compressed
+ * bitmaps of the structured filters (source, remote, salary), use the posting
+ * lists to narrow the candidate set further and then verify every candidate against the exact
+ * JPQL predicates, so results match {@code JobRepository.findJobsWithFilters}.
+ * How the substring predicates are narrowed is pluggable through
+ * {@code app.search.substring-matcher}: {@code token} (default) scans the term
+ * dictionaries, {@code trigram} intersects trigram posting lists.
+ *
+ * Updating a job tombstones its old doc id and indexes it again under a new
+ * one; posting lists are not rewritten in place. Once tombstones make up
+ * {@code app.search.index.compact-tombstone-ratio} of all doc ids, the index
+ * is compacted: live docs are renumbered densely and the tombstones dropped.
+ */
+@Component
+public class JobSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    /** Sort property that ranks matches by BM25 score instead of a column. */
+    public static final String RELEVANCE = "relevance";
+
+    // Below this many tombstones compacting costs more than the tombstones do
+    private static final int MIN_TOMBSTONES_TO_COMPACT = 1024;
+
+    private final JobCatalogLoader catalogLoader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<JobField, TreeMap<String, PostingList>> postings = new EnumMap<>(JobField.class);
+    private final SubstringMatcher substringMatcher;
+    private final FacetColumns facetColumns = new FacetColumns();
+    private final StructuredFilterIndex structuredFilters = new StructuredFilterIndex();
+    private final SalaryIntervalIndex salaryIntervals = new SalaryIntervalIndex();
+    private final SkillIndex skillIndex = new SkillIndex();
+    private final Bm25Similarity similarity = new Bm25Similarity();
+    private final Map<Long, Integer> docIdsByJobId = new HashMap<>();
+    private final BitSet liveDocs = new BitSet();
+    private JobDocument[] documents = new JobDocument[1024];
+    private int maxDoc;
+    private int tombstones;
+
+    private volatile boolean ready;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.compact-tombstone-ratio:0.25}")
+    private double compactTombstoneRatio;
+
+    public JobSearchIndex(JobCatalogLoader catalogLoader,
+                          @Value("${app.search.substring-matcher:token}") String substringMatcher) {
+        this.catalogLoader = catalogLoader;
+        for (JobField field : JobField.values()) {
+            postings.put(field, new TreeMap<>());
+        }
+        this.substringMatcher = "trigram".equalsIgnoreCase(substringMatcher)
+            ? new TrigramIndex()
+            : new TermSubstringMatcher(postings);
+        logger.info("Job search index using {} substring matching", this.substringMatcher.getClass().getSimpleName());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            logger.info("In-memory job search index disabled, searches will use the database");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            clear();
+
+            catalogLoader.forEachJob(this::indexJob);
+            salaryIntervals.refresh();
+            ready = true;
+            logger.info("Built job search index with {} jobs in {} ms", docIdsByJobId.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Failed to build job search index, searches will use the database: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs before CatalogVersion is bumped, so a search tagged with the new version sees these jobs
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onJobsSaved(JobsSavedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Job job : event.getJobs()) {
+                if (job.getId() != null) {
+                    indexJob(job, job.getSkills());
+                }
+            }
+            compactIfNeeded();
+            salaryIntervals.refresh();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.debug("Indexed {} saved jobs", event.getJobs().size());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public boolean supportsSort(Sort sort) {
+        return isRelevance(sort) || DocumentSort.supports(sort);
+    }
+
+    public static boolean isRelevance(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        return orders.size() == 1 && RELEVANCE.equals(orders.get(0).getProperty());
+    }
+
+    /**
+     * Answers one page of a search. The caller must check {@link #isReady()}
+     * and {@link #supportsSort(Sort)} first.
+     */
+    public IndexSearchResult search(JobSearchCriteria criteria, Pageable pageable) {
+        return search(criteria, pageable, -1);
+    }
+
+    /**
+     * Answers one page of a search and, when {@code facetLimit >= 0}, facet
+     * counts over all matches, gathered in the same pass that verifies them.
+     */
+    public IndexSearchResult search(JobSearchCriteria criteria, Pageable pageable, int facetLimit) {
+        if (isRelevance(pageable.getSort())) {
+            return searchByRelevance(criteria, pageable, facetLimit);
+        }
+        Comparator<JobDocument> order = DocumentSort.comparator(pageable.getSort());
+        List<JobDocument> matches = new ArrayList<>();
+        SearchFacets facets = null;
+
+        lock.readLock().lock();
+        try {
+            FacetColumns.Counter counter = facetLimit >= 0 ? facetColumns.newCounter() : null;
+            BitSet candidates = candidateDocs(criteria);
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                JobDocument document = documents[doc];
+                if (criteria.matches(document)) {
+                    matches.add(document);
+                    if (counter != null) {
+                        counter.collect(doc);
+                    }
+                }
+            }
+            if (counter != null) {
+                facets = counter.toFacets(facetLimit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(order);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        List<Long> ids = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ids.add(matches.get(i).getId());
+        }
+        return new IndexSearchResult(ids, matches.size(), facets);
+    }
+
+    /**
+     * Ranks the matches by the BM25 score of the title and company filter
+     * words across the title, company and description fields, keeping only
+     * the best {@code offset + pageSize} in a bounded heap. Matches that share
+     * a score, including every match of a query with no scoring words, come
+     * most recently indexed first.
+     */
+    private IndexSearchResult searchByRelevance(JobSearchCriteria criteria, Pageable pageable, int facetLimit) {
+        lock.readLock().lock();
+        try {
+            FacetColumns.Counter counter = facetLimit >= 0 ? facetColumns.newCounter() : null;
+            BitSet candidates = candidateDocs(criteria);
+            BitSet matches = new BitSet(maxDoc);
+            int totalHits = 0;
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                if (criteria.matches(documents[doc])) {
+                    matches.set(doc);
+                    totalHits++;
+                    if (counter != null) {
+                        counter.collect(doc);
+                    }
+                }
+            }
+
+            float[] scores = new float[maxDoc];
+            for (String token : queryTerms(criteria)) {
+                for (JobField field : Bm25Similarity.SCORED_FIELDS) {
+                    TreeMap<String, PostingList> dictionary = postings.get(field);
+                    if (criteria.isFuzzy()) {
+                        LevenshteinAutomaton automaton =
+                            new LevenshteinAutomaton(token, LevenshteinAutomaton.maxEditsFor(token));
+                        for (String term : automaton.intersect(dictionary)) {
+                            similarity.accumulate(field, dictionary.get(term), liveDocs, matches, scores);
+                        }
+                    } else {
+                        PostingList list = dictionary.get(token);
+                        if (list != null) {
+                            similarity.accumulate(field, list, liveDocs, matches, scores);
+                        }
+                    }
+                }
+            }
+
+            long offset = Math.min(pageable.getOffset(), totalHits);
+            int wanted = (int) Math.min(offset + pageable.getPageSize(), totalHits);
+            TopDocsCollector top = new TopDocsCollector(wanted);
+            for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+                top.collect(doc, scores[doc]);
+            }
+            top.sortDescending();
+
+            List<Long> ids = new ArrayList<>(Math.max(0, wanted - (int) offset));
+            for (int i = (int) offset; i < Math.min(wanted, top.size()); i++) {
+                ids.add(documents[top.doc(i)].getId());
+            }
+            return new IndexSearchResult(ids, totalHits, counter == null ? null : counter.toFacets(facetLimit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> queryTerms(JobSearchCriteria criteria) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (JobField field : new JobField[] {JobField.TITLE, JobField.COMPANY}) {
+            String value = criteria.text(field);
+            if (value != null) {
+                terms.addAll(TextAnalyzer.tokenize(TextAnalyzer.normalize(value)));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Keyset variant of {@link #search}: returns up to {@code limit} job ids
+     * that sort strictly after {@code after} (or from the start when null).
+     * Only a bounded heap of {@code limit} entries is kept, so the cost does
+     * not depend on how deep the cursor is.
+     */
+    public List<Long> searchAfter(JobSearchCriteria criteria, String sortBy, boolean descending,
+                                  JobCursor after, int limit) {
+        Comparator<JobDocument> order = DocumentSort.comparator(
+            Sort.by(descending ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy));
+        PriorityQueue<JobDocument> heap = new PriorityQueue<>(limit + 1, order.reversed());
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidateDocs(criteria);
+            for (int doc = candidates.nextSetBit(0); doc >= 0; doc = candidates.nextSetBit(doc + 1)) {
+                JobDocument document = documents[doc];
+                if ((after == null || DocumentSort.isAfter(document, after)) && criteria.matches(document)) {
+                    heap.add(document);
+                    if (heap.size() > limit) {
+                        heap.poll();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<JobDocument> page = new ArrayList<>(heap);
+        page.sort(order);
+        List<Long> ids = new ArrayList<>(page.size());
+        for (JobDocument document : page) {
+            ids.add(document.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Ranks live jobs by the weighted number of the given skills they list,
+     * returning at most {@code limit} matches best first.
+     */
+    public List<SkillMatch> matchSkills(Collection<String> skills, int limit) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String skill : skills) {
+            if (skill != null && !skill.isBlank()) {
+                normalized.add(SkillIndex.normalize(skill));
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            TopDocsCollector top = skillIndex.rank(normalized, liveDocs, limit);
+            List<SkillMatch> matches = new ArrayList<>(top.size());
+            for (int i = 0; i < top.size(); i++) {
+                int doc = top.doc(i);
+                matches.add(new SkillMatch(documents[doc].getId(),
+                    skillIndex.matchedCount(doc, normalized), top.score(i)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet candidateDocs(JobSearchCriteria criteria) {
+        BitSet candidates;
+        RoaringBitmap structured = structuredFilters.filter(criteria);
+        if (structured == null) {
+            candidates = (BitSet) liveDocs.clone();
+        } else {
+            candidates = new BitSet(maxDoc);
+            structured.forEach((IntConsumer) candidates::set);
+            candidates.and(liveDocs);
+        }
+        if (criteria.getMinSalary() != null || criteria.getMaxSalary() != null) {
+            // The salary buckets above are only a coarse prefilter; the interval index is exact
+            candidates.and(salaryIntervals.query(criteria.getMinSalary(), criteria.getMaxSalary()));
+        }
+        for (JobField field : JobSearchCriteria.FILTER_FIELDS) {
+            String value = criteria.text(field);
+            if (value != null && criteria.isFuzzy()) {
+                candidates.and(fuzzyFieldDocs(criteria, field, candidates));
+            } else if (value != null) {
+                BitSet fieldDocs = substringMatcher.candidates(field, TextAnalyzer.normalize(value));
+                if (fieldDocs != null) {
+                    candidates.and(fieldDocs);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Docs among {@code candidates} whose field matches the filter exactly or
+     * contains, for every word of the filter, a term within the automaton's
+     * edit distance of it.
+     */
+    private BitSet fuzzyFieldDocs(JobSearchCriteria criteria, JobField field, BitSet candidates) {
+        String normalized = TextAnalyzer.normalize(criteria.text(field));
+        TreeMap<String, PostingList> dictionary = postings.get(field);
+
+        BitSet matches = null;
+        for (String token : new LinkedHashSet<>(TextAnalyzer.tokenize(normalized))) {
+            BitSet tokenDocs = new BitSet();
+            LevenshteinAutomaton automaton = new LevenshteinAutomaton(token, LevenshteinAutomaton.maxEditsFor(token));
+            for (String term : automaton.intersect(dictionary)) {
+                dictionary.get(term).addTo(tokenDocs);
+            }
+            if (matches == null) {
+                matches = tokenDocs;
+            } else {
+                matches.and(tokenDocs);
+            }
+        }
+        if (matches == null) {
+            matches = new BitSet();
+        }
+        matches.and(candidates);
+
+        // Exact substring matches that are not whole-word fuzzy matches, e.g. "Manag"
+        BitSet exact = (BitSet) candidates.clone();
+        BitSet narrowed = substringMatcher.candidates(field, normalized);
+        if (narrowed != null) {
+            exact.and(narrowed);
+        }
+        exact.andNot(matches);
+        for (int doc = exact.nextSetBit(0); doc >= 0; doc = exact.nextSetBit(doc + 1)) {
+            if (criteria.matchesText(documents[doc], field)) {
+                matches.set(doc);
+            }
+        }
+        return matches;
+    }
+
+    private void indexJob(Job job, Collection<String> skills) {
+        Integer previous = docIdsByJobId.get(job.getId());
+        if (previous != null) {
+            tombstone(previous);
+        }
+
+        int doc = maxDoc++;
+        if (doc == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        similarity.addDoc(doc);
+        documents[doc] = JobDocument.from(job);
+        facetColumns.set(doc, documents[doc]);
+        structuredFilters.add(doc, documents[doc]);
+        salaryIntervals.add(doc, job.getSalaryMin(), job.getSalaryMax());
+        skillIndex.add(doc, skills);
+        liveDocs.set(doc);
+        docIdsByJobId.put(job.getId(), doc);
+
+        addPostings(JobField.TITLE, doc, job.getTitle());
+        addPostings(JobField.COMPANY, doc, job.getCompany());
+        addPostings(JobField.LOCATION, doc, job.getLocation());
+        addPostings(JobField.DESCRIPTION, doc, job.getDescription());
+        for (JobField field : JobSearchCriteria.FILTER_FIELDS) {
+            substringMatcher.add(field, doc, documents[doc].normalized(field));
+        }
+    }
+
+    private void tombstone(int doc) {
+        liveDocs.clear(doc);
+        structuredFilters.remove(doc, documents[doc]);
+        salaryIntervals.remove(doc);
+        similarity.removeDoc(doc);
+        documents[doc] = null;
+        tombstones++;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones >= MIN_TOMBSTONES_TO_COMPACT && tombstones >= compactTombstoneRatio * maxDoc) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live docs 0..n-1 in their current order, so recency
+     * tie-breaks are kept. Posting lists, doc lengths and skills are remapped,
+     * as the text they came from is not kept; everything else is rebuilt from
+     * the live documents.
+     */
+    private void compact() {
+        long start = System.currentTimeMillis();
+        int dropped = tombstones;
+        int[] remap = new int[maxDoc];
+        int live = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            remap[doc] = liveDocs.get(doc) ? live++ : -1;
+        }
+
+        JobDocument[] compacted = new JobDocument[Math.max(1024, live * 2)];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (remap[doc] >= 0) {
+                compacted[remap[doc]] = documents[doc];
+            }
+        }
+        for (TreeMap<String, PostingList> dictionary : postings.values()) {
+            dictionary.values().removeIf(list -> {
+                list.compact(remap);
+                return list.size() == 0;
+            });
+        }
+        similarity.compact(remap, live);
+        skillIndex.compact(remap);
+
+        substringMatcher.clear();
+        facetColumns.clear();
+        structuredFilters.clear();
+        salaryIntervals.clear();
+        docIdsByJobId.clear();
+        liveDocs.clear();
+        documents = compacted;
+        maxDoc = live;
+        tombstones = 0;
+        for (int doc = 0; doc < live; doc++) {
+            JobDocument document = documents[doc];
+            facetColumns.set(doc, document);
+            structuredFilters.add(doc, document);
+            salaryIntervals.add(doc, document.getSalaryMin(), document.getSalaryMax());
+            liveDocs.set(doc);
+            docIdsByJobId.put(document.getId(), doc);
+            for (JobField field : JobSearchCriteria.FILTER_FIELDS) {
+                substringMatcher.add(field, doc, document.normalized(field));
+            }
+        }
+        logger.info("Compacted job search index: dropped {} tombstones, {} live docs, in {} ms",
+            dropped, live, System.currentTimeMillis() - start);
+    }
+
+    private void addPostings(JobField field, int doc, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        List<String> tokens = TextAnalyzer.tokenize(TextAnalyzer.normalize(text));
+        for (String term : tokens) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        similarity.setLength(field, doc, tokens.size());
+        TreeMap<String, PostingList> dictionary = postings.get(field);
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            dictionary.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(doc, entry.getValue());
+        }
+    }
+
+    private void clear() {
+        for (TreeMap<String, PostingList> dictionary : postings.values()) {
+            dictionary.clear();
+        }
+        substringMatcher.clear();
+        facetColumns.clear();
+        structuredFilters.clear();
+        salaryIntervals.clear();
+        skillIndex.clear();
+        similarity.clear();
+        docIdsByJobId.clear();
+        liveDocs.clear();
+        documents = new JobDocument[1024];
+        maxDoc = 0;
+        tombstones = 0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+
+/**
+ * Accepts the terms within a bounded edit distance of a query term, counting
+ * insertions, deletions, substitutions and adjacent transpositions. A state is
+ * the row of edit distances between the consumed prefix and every prefix of
+ * the query, with values capped at {@code maxEdits + 1}; a state whose row has
+ * no value within the bound is dead and no extension of it can be accepted.
+ *
+ * {@link #intersect} walks a sorted term dictionary in order, reusing the
+ * states of the prefix shared with the previous term, and when a prefix
+ * reaches a dead state it seeks past every term with that prefix instead of
+ * visiting them.
+ */
+final class LevenshteinAutomaton {
+
+    private final String term;
+    private final int maxEdits;
+
+    LevenshteinAutomaton(String term, int maxEdits) {
+        this.term = term;
+        this.maxEdits = maxEdits;
+    }
+
+    /**
+     * Edits allowed for a query term of this length: none for very short
+     * terms, where one edit reaches too many unrelated words, then one, then
+     * two from six characters on.
+     */
+    static int maxEditsFor(String term) {
+        int length = term.length();
+        return length <= 2 ? 0 : (length <= 5 ? 1 : 2);
+    }
+
+    List<String> intersect(NavigableMap<String, ?> dictionary) {
+        List<String> accepted = new ArrayList<>();
+        if (maxEdits == 0) {
+            if (dictionary.containsKey(term)) {
+                accepted.add(term);
+            }
+            return accepted;
+        }
+
+        int cap = maxEdits + 1;
+        List<int[]> rows = new ArrayList<>();
+        rows.add(initialRow(cap));
+        String previous = "";
+
+        String candidate = dictionary.isEmpty() ? null : dictionary.firstKey();
+        while (candidate != null) {
+            // rows.get(d) is the state after the first d characters of 'previous'
+            int depth = Math.min(commonPrefix(previous, candidate), rows.size() - 1);
+            while (rows.size() > depth + 1) {
+                rows.remove(rows.size() - 1);
+            }
+
+            int dead = -1;
+            for (int d = depth + 1; d <= candidate.length(); d++) {
+                int[] row = step(rows, candidate, d, cap);
+                rows.add(row);
+                if (min(row) >= cap) {
+                    dead = d;
+                    break;
+                }
+            }
+            previous = candidate;
+
+            if (dead >= 0) {
+                // Nothing starting with candidate[0, dead) can be accepted
+                String next = successorOfPrefix(candidate.substring(0, dead));
+                candidate = next == null ? null : dictionary.ceilingKey(next);
+                continue;
+            }
+            if (rows.get(candidate.length())[term.length()] <= maxEdits) {
+                accepted.add(candidate);
+            }
+            candidate = dictionary.higherKey(candidate);
+        }
+        return accepted;
+    }
+
+    private int[] initialRow(int cap) {
+        int[] row = new int[term.length() + 1];
+        for (int j = 0; j < row.length; j++) {
+            row[j] = Math.min(j, cap);
+        }
+        return row;
+    }
+
+    /** The state after consuming {@code candidate.charAt(d - 1)}. */
+    private int[] step(List<int[]> rows, String candidate, int d, int cap) {
+        int[] previous = rows.get(d - 1);
+        int[] beforePrevious = d >= 2 ? rows.get(d - 2) : null;
+        char c = candidate.charAt(d - 1);
+
+        int[] row = new int[term.length() + 1];
+        row[0] = Math.min(d, cap);
+        for (int j = 1; j <= term.length(); j++) {
+            int cost = term.charAt(j - 1) == c ? 0 : 1;
+            int value = Math.min(Math.min(previous[j] + 1, row[j - 1] + 1), previous[j - 1] + cost);
+            if (beforePrevious != null && j >= 2
+                    && c == term.charAt(j - 2) && candidate.charAt(d - 2) == term.charAt(j - 1)) {
+                value = Math.min(value, beforePrevious[j - 2] + 1);
+            }
+            row[j] = Math.min(value, cap);
+        }
+        return row;
+    }
+
+    private static int min(int[] row) {
+        int min = Integer.MAX_VALUE;
+        for (int value : row) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /** The smallest string greater than every string starting with {@code prefix}, or null. */
+    private static String successorOfPrefix(String prefix) {
+        for (int i = prefix.length() - 1; i >= 0; i--) {
+            char c = prefix.charAt(i);
+            if (c != Character.MAX_VALUE) {
+                return prefix.substring(0, i) + (char) (c + 1);
+            }
+        }
+        return null;
+    }
+}
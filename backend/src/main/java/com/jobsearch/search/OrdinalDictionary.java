@@ -0,0 +1,49 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense int ordinals to the distinct values of a facet field so
+ * per-doc facet columns can be stored as int arrays.
+ */
+final class OrdinalDictionary {
+
+    static final int MISSING = -1;
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int ordinal(String value) {
+        if (value == null) {
+            return MISSING;
+        }
+        Integer ordinal = ordinals.get(value);
+        if (ordinal == null) {
+            ordinal = values.size();
+            ordinals.put(value, ordinal);
+            values.add(value);
+        }
+        return ordinal;
+    }
+
+    int lookup(String value) {
+        Integer ordinal = value == null ? null : ordinals.get(value);
+        return ordinal == null ? MISSING : ordinal;
+    }
+
+    String value(int ordinal) {
+        return values.get(ordinal);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    void clear() {
+        ordinals.clear();
+        values.clear();
+    }
+}
@@ -0,0 +1,86 @@
+package com.jobsearch.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Append-only list of (docId, termFrequency) pairs. Doc ids are handed out in
+ * increasing order, so appending keeps the list sorted.
+ */
+final class PostingList {
+
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    int size() { return size; }
+
+    int doc(int index) { return docs[index]; }
+
+    int freq(int index) { return freqs[index]; }
+
+    /**
+     * Returns the first position at or after {@code from} whose doc is
+     * {@code >= target}, or {@link #size()} if there is none. Gallops forward
+     * so intersecting a short list with a long one stays sub-linear.
+     */
+    int advance(int from, int target) {
+        int bound = 1;
+        int low = from;
+        while (from + bound < size && docs[from + bound] < target) {
+            low = from + bound;
+            bound <<= 1;
+        }
+        int high = Math.min(from + bound, size);
+        int pos = Arrays.binarySearch(docs, low, high, target);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    void addTo(BitSet bits) {
+        for (int i = 0; i < size; i++) {
+            bits.set(docs[i]);
+        }
+    }
+
+    /** Number of docs in the list that are set in {@code live}. */
+    int count(BitSet live) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (live.get(docs[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops the docs mapped to a negative id by {@code remap} and renumbers
+     * the rest. The mapping must be increasing, so the list stays sorted.
+     */
+    void compact(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+        if (kept < docs.length / 4) {
+            docs = Arrays.copyOf(docs, Math.max(4, kept));
+            freqs = Arrays.copyOf(freqs, Math.max(4, kept));
+        }
+    }
+}
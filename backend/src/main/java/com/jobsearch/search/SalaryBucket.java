@@ -0,0 +1,46 @@
+package com.jobsearch.search;
+
+/**
+ * Salary ranges (INR per year) used for facets. Jobs are bucketed by
+ * {@code salaryMax}, the column the {@code minSalary} filter tests.
+ */
+public enum SalaryBucket {
+    UNDER_5L("<5L", Long.MIN_VALUE, 500_000L),
+    FROM_5L_TO_10L("5-10L", 500_000L, 1_000_000L),
+    FROM_10L_TO_20L("10-20L", 1_000_000L, 2_000_000L),
+    FROM_20L_TO_30L("20-30L", 2_000_000L, 3_000_000L),
+    FROM_30L_TO_50L("30-50L", 3_000_000L, 5_000_000L),
+    OVER_50L("50L+", 5_000_000L, Long.MAX_VALUE),
+    UNSPECIFIED("unspecified", 0, 0);
+
+    private final String label;
+    private final long lowerInclusive;
+    private final long upperExclusive;
+
+    SalaryBucket(String label, long lowerInclusive, long upperExclusive) {
+        this.label = label;
+        this.lowerInclusive = lowerInclusive;
+        this.upperExclusive = upperExclusive;
+    }
+
+    public String getLabel() { return label; }
+
+    /**
+     * Whether a job in this bucket can have {@code salaryMax >= minSalary}.
+     */
+    boolean mayContainAtLeast(long minSalary) {
+        return this != UNSPECIFIED && upperExclusive > minSalary;
+    }
+
+    public static SalaryBucket of(Long salaryMax) {
+        if (salaryMax == null) {
+            return UNSPECIFIED;
+        }
+        for (SalaryBucket bucket : values()) {
+            if (bucket != UNSPECIFIED && salaryMax >= bucket.lowerInclusive && salaryMax < bucket.upperExclusive) {
+                return bucket;
+            }
+        }
+        return OVER_50L;
+    }
+}
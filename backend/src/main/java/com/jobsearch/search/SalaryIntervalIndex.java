@@ -0,0 +1,280 @@
+package com.jobsearch.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Answers the salary overlap filter ({@code salaryMax >= minSalary AND
+ * salaryMin <= maxSalary}) in O(log n + k) instead of testing every job.
+ *
+ * Missing bounds follow the SQL semantics of the JPQL query: a job without a
+ * {@code salaryMax} never satisfies {@code minSalary}, and a job without a
+ * {@code salaryMin} never satisfies {@code maxSalary}. So:
+ * <ul>
+ *   <li>minSalary only: binary search over jobs sorted by salaryMax</li>
+ *   <li>maxSalary only: binary search over jobs sorted by salaryMin</li>
+ *   <li>both: an augmented interval tree over jobs with both bounds</li>
+ * </ul>
+ *
+ * The sorted structures are immutable snapshots. {@link #refresh()}, called
+ * at the end of every index write, merges the docs added since the previous
+ * snapshot into it and drops the removed ones, so a write batch costs a sort
+ * of the batch plus one linear merge, and queries never sort.
+ */
+final class SalaryIntervalIndex {
+
+    private long[] mins = new long[1024];
+    private long[] maxs = new long[1024];
+    private final BitSet hasMin = new BitSet();
+    private final BitSet hasMax = new BitSet();
+    private final BitSet present = new BitSet();
+
+    // Docs added since the last refresh, in doc order
+    private int[] pending = new int[64];
+    private int pendingCount;
+    private boolean removed;
+
+    private volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Called under the index write lock.
+     */
+    void add(int doc, Long salaryMin, Long salaryMax) {
+        if (doc >= mins.length) {
+            int capacity = Math.max(doc + 1, mins.length * 2);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+        }
+        present.set(doc);
+        hasMin.set(doc, salaryMin != null);
+        hasMax.set(doc, salaryMax != null);
+        mins[doc] = salaryMin == null ? 0 : salaryMin;
+        maxs[doc] = salaryMax == null ? 0 : salaryMax;
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, pendingCount * 2);
+        }
+        pending[pendingCount++] = doc;
+    }
+
+    /**
+     * Called under the index write lock.
+     */
+    void remove(int doc) {
+        present.clear(doc);
+        removed = true;
+    }
+
+    void clear() {
+        present.clear();
+        hasMin.clear();
+        hasMax.clear();
+        pendingCount = 0;
+        removed = false;
+        snapshot = new Snapshot();
+    }
+
+    /**
+     * Brings the snapshot up to date with the adds and removes since the last
+     * call. Called under the index write lock once a write is complete.
+     */
+    void refresh() {
+        if (pendingCount == 0 && !removed) {
+            return;
+        }
+        snapshot = new Snapshot(snapshot, Arrays.copyOf(pending, pendingCount));
+        if (pending.length > 1024) {
+            pending = new int[64];
+        }
+        pendingCount = 0;
+        removed = false;
+    }
+
+    /**
+     * Called under the index read lock; at least one bound must be non-null.
+     */
+    BitSet query(Long minSalary, Long maxSalary) {
+        Snapshot current = snapshot;
+
+        BitSet result = new BitSet();
+        if (minSalary != null && maxSalary != null) {
+            current.overlapping(0, current.starts.length, minSalary, maxSalary, result);
+        } else if (minSalary != null) {
+            // Jobs sorted by salaryMax: the matches are the suffix >= minSalary
+            for (int i = lowerBound(current.maxKeys, minSalary); i < current.maxKeys.length; i++) {
+                result.set(current.maxDocs[i]);
+            }
+        } else {
+            // Jobs sorted by salaryMin: the matches are the prefix <= maxSalary
+            int end = upperBound(current.minKeys, maxSalary);
+            for (int i = 0; i < end; i++) {
+                result.set(current.minDocs[i]);
+            }
+        }
+        return result;
+    }
+
+    /** First index whose key is {@code >= target}. */
+    private static int lowerBound(long[] keys, long target) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First index whose key is {@code > target}. */
+    private static int upperBound(long[] keys, long target) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private final class Snapshot {
+        // Single-bound lookups
+        final long[] minKeys;
+        final int[] minDocs;
+        final long[] maxKeys;
+        final int[] maxDocs;
+
+        // Interval tree over jobs with both bounds, stored as a sorted array
+        // (by start) whose implicit BST roots are the range midpoints
+        final long[] starts;
+        final long[] ends;
+        final int[] docs;
+        final long[] subtreeMaxEnd;
+
+        Snapshot() {
+            minKeys = maxKeys = starts = ends = subtreeMaxEnd = new long[0];
+            minDocs = maxDocs = docs = new int[0];
+        }
+
+        /** The previous snapshot without the removed docs, plus {@code added}. */
+        Snapshot(Snapshot previous, int[] added) {
+            BitSet withMin = (BitSet) present.clone();
+            withMin.and(hasMin);
+            BitSet withMax = (BitSet) present.clone();
+            withMax.and(hasMax);
+            BitSet withBoth = (BitSet) withMin.clone();
+            withBoth.and(hasMax);
+
+            minDocs = merge(previous.minDocs, added, withMin, mins);
+            minKeys = keys(minDocs, mins);
+            maxDocs = merge(previous.maxDocs, added, withMax, maxs);
+            maxKeys = keys(maxDocs, maxs);
+
+            docs = merge(previous.docs, added, withBoth, mins);
+            starts = keys(docs, mins);
+            ends = keys(docs, maxs);
+            subtreeMaxEnd = new long[docs.length];
+            buildMaxEnd(0, docs.length);
+        }
+
+        private long buildMaxEnd(int from, int to) {
+            if (from >= to) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (from + to) >>> 1;
+            long max = Math.max(ends[mid], Math.max(buildMaxEnd(from, mid), buildMaxEnd(mid + 1, to)));
+            subtreeMaxEnd[mid] = max;
+            return max;
+        }
+
+        void overlapping(int from, int to, long minSalary, long maxSalary, BitSet result) {
+            if (from >= to) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            if (subtreeMaxEnd[mid] < minSalary) {
+                return; // nothing in this subtree reaches minSalary
+            }
+            overlapping(from, mid, minSalary, maxSalary, result);
+            if (starts[mid] > maxSalary) {
+                return; // this node and everything to its right start too late
+            }
+            if (ends[mid] >= minSalary) {
+                result.set(docs[mid]);
+            }
+            overlapping(mid + 1, to, minSalary, maxSalary, result);
+        }
+    }
+
+    /**
+     * Merges the {@code added} docs that are in {@code keep}, sorted by value,
+     * into {@code sorted}, dropping the docs of {@code sorted} no longer in
+     * {@code keep}. Ties keep doc order, as added docs have the higher ids.
+     */
+    private static int[] merge(int[] sorted, int[] added, BitSet keep, long[] values) {
+        int[] batch = new int[added.length];
+        int batchSize = 0;
+        for (int doc : added) {
+            if (keep.get(doc)) {
+                batch[batchSize++] = doc;
+            }
+        }
+        sortByValue(batch, batchSize, values);
+
+        int[] merged = new int[sorted.length + batchSize];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length || j < batchSize) {
+            if (i < sorted.length && !keep.get(sorted[i])) {
+                i++;
+            } else if (j == batchSize || (i < sorted.length && values[sorted[i]] <= values[batch[j]])) {
+                merged[n++] = sorted[i++];
+            } else {
+                merged[n++] = batch[j++];
+            }
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    /** Stable bottom-up merge sort of the first {@code size} docs by value, without boxing. */
+    private static void sortByValue(int[] docs, int size, long[] values) {
+        int[] from = docs;
+        int[] to = new int[size];
+        for (int width = 1; width < size; width *= 2) {
+            for (int low = 0; low < size; low += 2 * width) {
+                int mid = Math.min(low + width, size);
+                int high = Math.min(low + 2 * width, size);
+                int i = low;
+                int j = mid;
+                for (int k = low; k < high; k++) {
+                    if (i < mid && (j == high || values[from[i]] <= values[from[j]])) {
+                        to[k] = from[i++];
+                    } else {
+                        to[k] = from[j++];
+                    }
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != docs) {
+            System.arraycopy(from, 0, docs, 0, size);
+        }
+    }
+
+    private static long[] keys(int[] docs, long[] values) {
+        long[] keys = new long[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            keys[i] = values[docs[i]];
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,44 @@
+package com.jobsearch.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts over the full set of jobs matching a search.
+ */
+public final class SearchFacets {
+
+    private final Map<String, Long> sources;
+    private final Map<String, Long> remote;
+    private final List<FacetValue> locations;
+    private final List<FacetValue> companies;
+    private final Map<String, Long> salaryBuckets;
+
+    SearchFacets(Map<String, Long> sources, Map<String, Long> remote, List<FacetValue> locations,
+                 List<FacetValue> companies, Map<String, Long> salaryBuckets) {
+        this.sources = sources;
+        this.remote = remote;
+        this.locations = locations;
+        this.companies = companies;
+        this.salaryBuckets = salaryBuckets;
+    }
+
+    public Map<String, Long> getSources() { return sources; }
+    public Map<String, Long> getRemote() { return remote; }
+    public List<FacetValue> getLocations() { return locations; }
+    public List<FacetValue> getCompanies() { return companies; }
+    public Map<String, Long> getSalaryBuckets() { return salaryBuckets; }
+
+    public static final class FacetValue {
+        private final String value;
+        private final long count;
+
+        FacetValue(String value, long count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public long getCount() { return count; }
+    }
+}
@@ -0,0 +1,129 @@
+package com.jobsearch.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of search result pages, keyed by the normalized filters, the
+ * page request and the {@link CatalogVersion} the page was computed at. Once
+ * the catalog changes no lookup can reach an older entry, so a result computed
+ * concurrently with an ingestion batch is never served after it; the old
+ * entries are also dropped eagerly to free their weight.
+ *
+ * Entries are weighed by the number of jobs they hold. Hit, miss and eviction
+ * counts are published as the {@code cache.*} metrics with
+ * {@code cache=jobSearchResults}.
+ */
+@Component
+public class SearchResultCache {
+
+    private final CatalogVersion catalogVersion;
+    private final Cache<Key, Page<Job>> cache;
+
+    @Value("${app.search.cache.enabled:true}")
+    private boolean enabled;
+
+    public SearchResultCache(CatalogVersion catalogVersion, MeterRegistry meterRegistry,
+                             @Value("${app.search.cache.max-weight:10000}") long maxWeight) {
+        this.catalogVersion = catalogVersion;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxWeight)
+            .weigher((Key key, Page<Job> page) -> 1 + page.getNumberOfElements())
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jobSearchResults");
+    }
+
+    /**
+     * Returns the cached page for the search, or computes and caches it.
+     */
+    public Page<Job> get(JobSearchCriteria criteria, Pageable pageable, int facetLimit, Supplier<Page<Job>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        Key key = new Key(catalogVersion.current(), criteria, pageable, facetLimit);
+        return cache.get(key, k -> search.get());
+    }
+
+    @EventListener
+    public void onJobsSaved(JobsSavedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private static final class Key {
+        private final long version;
+        private final String title;
+        private final String company;
+        private final String location;
+        private final Long minSalary;
+        private final Long maxSalary;
+        private final Boolean isRemote;
+        private final String source;
+        private final boolean fuzzy;
+        private final GeoFilter geo;
+        private final Pageable pageable;
+        private final int facetLimit;
+
+        Key(long version, JobSearchCriteria criteria, Pageable pageable, int facetLimit) {
+            this.version = version;
+            // Text filters are matched case-insensitively, so they are keyed that way
+            this.title = upper(criteria.getTitle());
+            this.company = upper(criteria.getCompany());
+            this.location = upper(criteria.getLocation());
+            this.minSalary = criteria.getMinSalary();
+            this.maxSalary = criteria.getMaxSalary();
+            this.isRemote = criteria.getIsRemote();
+            this.source = criteria.getSource();
+            this.fuzzy = criteria.isFuzzy();
+            this.geo = criteria.getGeo();
+            this.pageable = pageable;
+            this.facetLimit = facetLimit;
+        }
+
+        private static String upper(String value) {
+            return value == null ? null : value.toUpperCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return version == other.version
+                && fuzzy == other.fuzzy
+                && facetLimit == other.facetLimit
+                && Objects.equals(title, other.title)
+                && Objects.equals(company, other.company)
+                && Objects.equals(location, other.location)
+                && Objects.equals(minSalary, other.minSalary)
+                && Objects.equals(maxSalary, other.maxSalary)
+                && Objects.equals(isRemote, other.isRemote)
+                && Objects.equals(source, other.source)
+                && Objects.equals(geo, other.geo)
+                && Objects.equals(pageable, other.pageable);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, title, company, location, minSalary, maxSalary, isRemote, source, fuzzy, geo,
+                pageable, facetLimit);
+        }
+    }
+}
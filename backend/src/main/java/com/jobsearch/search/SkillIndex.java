@@ -0,0 +1,140 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Skill strings interned to ints, each with a sorted posting list of doc ids.
+ * Ranking a skill query is a k-way merge of the query skills' lists into a
+ * bounded top-K heap; the job/skill join is never materialized.
+ *
+ * A matched skill is weighted by its inverse document frequency, so rare
+ * skills count for more than ubiquitous ones like "communication".
+ */
+final class SkillIndex {
+
+    private final Map<String, Integer> skillIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+
+    static String normalize(String skill) {
+        return skill.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void add(int doc, Collection<String> skills) {
+        if (skills == null) {
+            return;
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String skill : skills) {
+            if (skill != null && !skill.isBlank()) {
+                unique.add(normalize(skill));
+            }
+        }
+        for (String skill : unique) {
+            Integer id = skillIds.get(skill);
+            if (id == null) {
+                id = postings.size();
+                skillIds.put(skill, id);
+                postings.add(new PostingList());
+            }
+            postings.get(id).add(doc, 1);
+        }
+    }
+
+    /**
+     * Collects the top {@code limit} live docs by summed skill weight. The
+     * skills must already be normalized and distinct.
+     */
+    TopDocsCollector rank(Collection<String> skills, BitSet liveDocs, int limit) {
+        int liveCount = Math.max(1, liveDocs.cardinality());
+        List<PostingList> lists = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        for (String skill : skills) {
+            Integer id = skillIds.get(skill);
+            if (id != null) {
+                PostingList list = postings.get(id);
+                int df = list.count(liveDocs);
+                if (df == 0) {
+                    continue;
+                }
+                lists.add(list);
+                weights.add((float) Math.log(1.0 + (double) liveCount / df));
+            }
+        }
+
+        TopDocsCollector top = new TopDocsCollector(limit);
+        int[] positions = new int[lists.size()];
+        while (true) {
+            // The query has a handful of skills, so a linear min-scan beats a heap here
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.size(); i++) {
+                if (positions[i] < lists.get(i).size()) {
+                    doc = Math.min(doc, lists.get(i).doc(positions[i]));
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+
+            float score = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                if (positions[i] < lists.get(i).size() && lists.get(i).doc(positions[i]) == doc) {
+                    score += weights.get(i);
+                    positions[i]++;
+                }
+            }
+            if (liveDocs.get(doc)) {
+                top.collect(doc, score);
+            }
+        }
+        top.sortDescending();
+        return top;
+    }
+
+    /**
+     * Number of the given skills the doc has; used to report matches for the
+     * few docs that make the top K.
+     */
+    int matchedCount(int doc, Collection<String> skills) {
+        int matched = 0;
+        for (String skill : skills) {
+            Integer id = skillIds.get(skill);
+            if (id != null) {
+                PostingList list = postings.get(id);
+                int pos = list.advance(0, doc);
+                if (pos < list.size() && list.doc(pos) == doc) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /** Renumbers the docs as {@link PostingList#compact} does and forgets skills no doc has left. */
+    void compact(int[] remap) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(skillIds.entrySet());
+        List<PostingList> lists = new ArrayList<>(postings);
+        skillIds.clear();
+        postings.clear();
+        for (Map.Entry<String, Integer> entry : entries) {
+            PostingList list = lists.get(entry.getValue());
+            list.compact(remap);
+            if (list.size() > 0) {
+                skillIds.put(entry.getKey(), postings.size());
+                postings.add(list);
+            }
+        }
+    }
+
+    void clear() {
+        skillIds.clear();
+        postings.clear();
+    }
+}
@@ -0,0 +1,21 @@
+package com.jobsearch.search;
+
+/**
+ * A job ranked by a skill query.
+ */
+public final class SkillMatch {
+
+    private final long jobId;
+    private final int matchedSkills;
+    private final double score;
+
+    SkillMatch(long jobId, int matchedSkills, double score) {
+        this.jobId = jobId;
+        this.matchedSkills = matchedSkills;
+        this.score = score;
+    }
+
+    public long getJobId() { return jobId; }
+    public int getMatchedSkills() { return matchedSkills; }
+    public double getScore() { return score; }
+}
@@ -0,0 +1,130 @@
+package com.jobsearch.search;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compressed bitmaps over the structured job predicates: one per source value,
+ * one per remote flag, one per salary bucket and one per canonical city and
+ * state id. Structured filters become
+ * bitwise AND/OR over these bitmaps, independent of catalog size, and the
+ * result feeds the text matching as its starting candidate set.
+ *
+ * Salary buckets are keyed on {@code salaryMax}, so they can only narrow the
+ * {@code minSalary} predicate; {@code maxSalary} is narrowed to jobs that have
+ * a {@code salaryMin} at all. Candidates are always verified afterwards.
+ */
+final class StructuredFilterIndex {
+
+    private final Map<String, RoaringBitmap> bySource = new HashMap<>();
+    private final RoaringBitmap remote = new RoaringBitmap();
+    private final RoaringBitmap onSite = new RoaringBitmap();
+    private final RoaringBitmap withSalaryMin = new RoaringBitmap();
+    private final Map<String, RoaringBitmap> byCity = new HashMap<>();
+    private final Map<String, RoaringBitmap> byState = new HashMap<>();
+    private final RoaringBitmap[] bySalaryBucket = new RoaringBitmap[SalaryBucket.values().length];
+
+    StructuredFilterIndex() {
+        for (int i = 0; i < bySalaryBucket.length; i++) {
+            bySalaryBucket[i] = new RoaringBitmap();
+        }
+    }
+
+    void add(int doc, JobDocument document) {
+        if (document.getSource() != null) {
+            bySource.computeIfAbsent(document.getSource(), s -> new RoaringBitmap()).add(doc);
+        }
+        if (document.getIsRemote() != null) {
+            (document.getIsRemote() ? remote : onSite).add(doc);
+        }
+        if (document.getSalaryMin() != null) {
+            withSalaryMin.add(doc);
+        }
+        bySalaryBucket[SalaryBucket.of(document.getSalaryMax()).ordinal()].add(doc);
+        if (document.getCityId() != null) {
+            byCity.computeIfAbsent(document.getCityId(), c -> new RoaringBitmap()).add(doc);
+        }
+        if (document.getStateId() != null) {
+            byState.computeIfAbsent(document.getStateId(), s -> new RoaringBitmap()).add(doc);
+        }
+    }
+
+    void remove(int doc, JobDocument document) {
+        removeFrom(bySource, document.getSource(), doc);
+        remote.remove(doc);
+        onSite.remove(doc);
+        withSalaryMin.remove(doc);
+        bySalaryBucket[SalaryBucket.of(document.getSalaryMax()).ordinal()].remove(doc);
+        removeFrom(byCity, document.getCityId(), doc);
+        removeFrom(byState, document.getStateId(), doc);
+    }
+
+    /**
+     * @return the docs that may satisfy the structured predicates of the
+     *         criteria, or null if it has none
+     */
+    RoaringBitmap filter(JobSearchCriteria criteria) {
+        RoaringBitmap result = null;
+
+        if (criteria.getSource() != null) {
+            RoaringBitmap source = bySource.get(criteria.getSource());
+            result = source == null ? new RoaringBitmap() : source.clone();
+        }
+        if (criteria.getIsRemote() != null) {
+            result = and(result, criteria.getIsRemote() ? remote : onSite);
+        }
+        if (criteria.getMinSalary() != null) {
+            RoaringBitmap buckets = new RoaringBitmap();
+            for (SalaryBucket bucket : SalaryBucket.values()) {
+                if (bucket.mayContainAtLeast(criteria.getMinSalary())) {
+                    buckets.or(bySalaryBucket[bucket.ordinal()]);
+                }
+            }
+            result = and(result, buckets);
+        }
+        if (criteria.getMaxSalary() != null) {
+            result = and(result, withSalaryMin);
+        }
+        GeoFilter geo = criteria.getGeo();
+        if (geo != null && geo.getStateId() != null) {
+            RoaringBitmap state = byState.get(geo.getStateId());
+            result = and(result, state == null ? new RoaringBitmap() : state);
+        }
+        if (geo != null && geo.getCityIds() != null) {
+            RoaringBitmap cities = new RoaringBitmap();
+            for (String cityId : geo.getCityIds()) {
+                RoaringBitmap city = byCity.get(cityId);
+                if (city != null) {
+                    cities.or(city);
+                }
+            }
+            result = and(result, cities);
+        }
+        return result;
+    }
+
+    void clear() {
+        bySource.clear();
+        remote.clear();
+        onSite.clear();
+        withSalaryMin.clear();
+        byCity.clear();
+        byState.clear();
+        for (RoaringBitmap bucket : bySalaryBucket) {
+            bucket.clear();
+        }
+    }
+
+    private static void removeFrom(Map<String, RoaringBitmap> bitmaps, String key, int doc) {
+        RoaringBitmap bitmap = key == null ? null : bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(doc);
+        }
+    }
+
+    private static RoaringBitmap and(RoaringBitmap result, RoaringBitmap other) {
+        return result == null ? other.clone() : RoaringBitmap.and(result, other);
+    }
+}
@@ -0,0 +1,21 @@
+package com.jobsearch.search;
+
+import java.util.BitSet;
+
+/**
+ * Narrows the candidate docs for a {@code LIKE '%query%'} predicate on one of
+ * the filterable text fields. Implementations may return false positives, which
+ * the index removes by verifying each candidate, but never false negatives.
+ */
+interface SubstringMatcher {
+
+    void add(JobField field, int doc, String normalizedText);
+
+    /**
+     * @return a superset of the docs whose field contains the normalized query,
+     *         or null when this matcher cannot narrow the search
+     */
+    BitSet candidates(JobField field, String normalizedQuery);
+
+    void clear();
+}
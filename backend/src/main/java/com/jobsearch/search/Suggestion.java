@@ -0,0 +1,18 @@
+package com.jobsearch.search;
+
+/**
+ * A completion for a typed prefix and the number of live jobs that have it.
+ */
+public final class Suggestion {
+
+    private final String value;
+    private final int count;
+
+    Suggestion(String value, int count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() { return value; }
+    public int getCount() { return count; }
+}
@@ -0,0 +1,108 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over job titles, companies and locations: one
+ * {@link SuggestionTrie} per field, ranked by how many live jobs carry each
+ * value. Built from the catalog at startup and updated from the save events.
+ */
+@Component
+public class SuggestionIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndex.class);
+
+    private final JobCatalogLoader catalogLoader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<JobField, SuggestionTrie> tries = new EnumMap<>(JobField.class);
+    // Values each job currently contributes, so updates can release them
+    private final Map<Long, String[]> valuesByJobId = new HashMap<>();
+    private final int topK;
+
+    public SuggestionIndex(JobCatalogLoader catalogLoader,
+                           @Value("${app.suggest.top-k:10}") int topK) {
+        this.catalogLoader = catalogLoader;
+        this.topK = Math.max(1, topK);
+        for (JobField field : JobSearchCriteria.FILTER_FIELDS) {
+            tries.put(field, new SuggestionTrie(this.topK));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            for (SuggestionTrie trie : tries.values()) {
+                trie.clear();
+            }
+            valuesByJobId.clear();
+            catalogLoader.forEachJob((job, skills) -> put(job));
+        } catch (Exception e) {
+            logger.error("Failed to build suggestion index: {}", e.getMessage(), e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Built suggestion index for {} jobs in {} ms", valuesByJobId.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onJobsSaved(JobsSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (Job job : event.getJobs()) {
+                if (job.getId() != null) {
+                    put(job);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param field TITLE, COMPANY or LOCATION
+     * @return up to {@code limit} values starting with {@code prefix}, most
+     *         frequent first
+     */
+    public List<Suggestion> suggest(JobField field, String prefix, int limit) {
+        SuggestionTrie trie = tries.get(field);
+        if (trie == null) {
+            throw new IllegalArgumentException("Suggestions are not available for field: " + field);
+        }
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix, Math.min(limit, topK));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Job job) {
+        release(valuesByJobId.put(job.getId(), new String[] {job.getTitle(), job.getCompany(), job.getLocation()}));
+        tries.get(JobField.TITLE).add(job.getTitle());
+        tries.get(JobField.COMPANY).add(job.getCompany());
+        tries.get(JobField.LOCATION).add(job.getLocation());
+    }
+
+    private void release(String[] values) {
+        if (values != null) {
+            tries.get(JobField.TITLE).remove(values[0]);
+            tries.get(JobField.COMPANY).remove(values[1]);
+            tries.get(JobField.LOCATION).remove(values[2]);
+        }
+    }
+}
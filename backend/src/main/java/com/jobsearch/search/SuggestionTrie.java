@@ -0,0 +1,209 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Radix trie over the distinct values of one field, keyed case-insensitively,
+ * where every node caches the top-K values of its subtree by frequency. A
+ * lookup walks at most the length of the prefix and returns the cached list,
+ * so its cost does not depend on how many values share the prefix.
+ *
+ * Changing a value's frequency recomputes the cached lists bottom-up along
+ * that value's path only, merging each node's own value with its children's
+ * lists. Not thread-safe; callers lock around it.
+ */
+final class SuggestionTrie {
+
+    private static final Comparator<Entry> MOST_FREQUENT_FIRST =
+        Comparator.comparingInt((Entry entry) -> entry.count).reversed()
+            .thenComparing(entry -> entry.display);
+
+    private static final Entry[] NONE = new Entry[0];
+
+    private final int topK;
+    private Node root = new Node("");
+
+    SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+
+    void add(String value) {
+        update(value, 1);
+    }
+
+    void remove(String value) {
+        update(value, -1);
+    }
+
+    /**
+     * @return up to {@code limit} (at most the trie's K) most frequent values
+     *         starting with {@code prefix}, ignoring case
+     */
+    List<Suggestion> suggest(String prefix, int limit) {
+        // Only leading whitespace is dropped: a trailing space was typed, so
+        // "java " must match "Java Developer" but not "JavaScript"
+        String key = prefix == null ? "" : key(prefix.stripLeading());
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            Node child = node.child(key.charAt(matched));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.edge, key, matched);
+            if (common < child.edge.length() && matched + common < key.length()) {
+                return List.of(); // diverges inside the edge
+            }
+            matched += common;
+            node = child;
+        }
+
+        int n = Math.min(limit, node.top.length);
+        List<Suggestion> suggestions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            suggestions.add(new Suggestion(node.top[i].display, node.top[i].count));
+        }
+        return suggestions;
+    }
+
+    void clear() {
+        root = new Node("");
+    }
+
+    private void update(String value, int delta) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        String display = value.trim();
+        String key = key(display);
+
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            char next = key.charAt(matched);
+            Node child = node.child(next);
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node(key.substring(matched));
+                node.addChild(child);
+            } else {
+                int common = commonPrefix(child.edge, key, matched);
+                if (common < child.edge.length()) {
+                    if (delta < 0) {
+                        return;
+                    }
+                    child = split(node, child, common);
+                }
+            }
+            matched += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+
+        if (delta < 0 && node.count == 0) {
+            return;
+        }
+        node.count += delta;
+        if (node.count == 0) {
+            node.display = null;
+        } else if (node.display == null) {
+            node.display = display;
+        }
+        node.self = node.count == 0 ? null : new Entry(node.display, node.count);
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop(topK);
+        }
+    }
+
+    /** Splits {@code child}'s edge after {@code at} characters, returning the new middle node. */
+    private static Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.edge.substring(0, at));
+        child.edge = child.edge.substring(at);
+        parent.replaceChild(middle);
+        middle.addChild(child);
+        middle.top = child.top;
+        return middle;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        final String display;
+        final int count;
+
+        Entry(String display, int count) {
+            this.display = display;
+            this.count = count;
+        }
+    }
+
+    private static final class Node {
+        String edge;
+        // Children sorted by the first character of their edge
+        char[] firsts = new char[0];
+        Node[] children = new Node[0];
+        int count;
+        String display;
+        Entry self;
+        Entry[] top = NONE;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        Node child(char first) {
+            int i = Arrays.binarySearch(firsts, first);
+            return i >= 0 ? children[i] : null;
+        }
+
+        void addChild(Node child) {
+            int i = -Arrays.binarySearch(firsts, child.edge.charAt(0)) - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            newFirsts[i] = child.edge.charAt(0);
+            newChildren[i] = child;
+            System.arraycopy(firsts, i, newFirsts, i + 1, firsts.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(firsts, child.edge.charAt(0))] = child;
+        }
+
+        void recomputeTop(int k) {
+            List<Entry> candidates = new ArrayList<>();
+            if (self != null) {
+                candidates.add(self);
+            }
+            for (Node child : children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(MOST_FREQUENT_FIRST);
+            top = candidates.subList(0, Math.min(k, candidates.size())).toArray(NONE);
+        }
+    }
+}
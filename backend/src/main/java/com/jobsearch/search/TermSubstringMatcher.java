@@ -0,0 +1,61 @@
+package com.jobsearch.search;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Substring matching over the index's term dictionaries: a doc is a candidate
+ * if, for every query token, one of its terms contains that token. Reads the
+ * posting lists the index already maintains, so it keeps no state of its own.
+ */
+final class TermSubstringMatcher implements SubstringMatcher {
+
+    private final Map<JobField, TreeMap<String, PostingList>> postings;
+
+    TermSubstringMatcher(Map<JobField, TreeMap<String, PostingList>> postings) {
+        this.postings = postings;
+    }
+
+    @Override
+    public void add(JobField field, int doc, String normalizedText) {
+        // Terms are added to the shared dictionaries by the index itself
+    }
+
+    @Override
+    public BitSet candidates(JobField field, String normalizedQuery) {
+        // Wildcards may span token boundaries, so they cannot be mapped to terms
+        if (TextAnalyzer.hasLikeWildcards(normalizedQuery)) {
+            return null;
+        }
+        List<String> tokens = TextAnalyzer.tokenize(normalizedQuery);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        BitSet result = null;
+        for (String token : tokens) {
+            BitSet tokenDocs = new BitSet();
+            for (Map.Entry<String, PostingList> entry : postings.get(field).entrySet()) {
+                if (entry.getKey().contains(token)) {
+                    entry.getValue().addTo(tokenDocs);
+                }
+            }
+            if (result == null) {
+                result = tokenDocs;
+            } else {
+                result.and(tokenDocs);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        // Nothing to clear, see add()
+    }
+}
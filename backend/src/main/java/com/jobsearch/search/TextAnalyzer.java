@@ -0,0 +1,119 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalization and tokenization shared by indexing and querying. Text is
+ * upper-cased the same way the JPQL search does ({@code UPPER(col)}) so that
+ * index candidates are always a superset of the database matches.
+ */
+final class TextAnalyzer {
+
+    private TextAnalyzer() {}
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Splits already-normalized text into runs of letters and digits.
+     */
+    static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            if (Character.isLetterOrDigit(cp)) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(cp);
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    static boolean hasLikeWildcards(String normalized) {
+        return normalized.indexOf('%') >= 0 || normalized.indexOf('_') >= 0;
+    }
+
+    /**
+     * Splits a normalized LIKE pattern into the literal runs between its
+     * wildcards.
+     */
+    static List<String> likeLiterals(String pattern) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '%' || c == '_') {
+                if (current.length() > 0) {
+                    literals.add(current.toString());
+                    current.setLength(0);
+                }
+            } else {
+                current.append(c);
+            }
+        }
+        if (current.length() > 0) {
+            literals.add(current.toString());
+        }
+        return literals;
+    }
+
+    /**
+     * Evaluates {@code text LIKE '%' || pattern || '%'} on already-normalized
+     * input. The JPQL search has no ESCAPE clause and Hibernate renders it
+     * with {@code escape ''}, so a backslash is an ordinary character here too.
+     */
+    static boolean containsLike(String text, String pattern) {
+        if (!hasLikeWildcards(pattern)) {
+            return text.contains(pattern);
+        }
+
+        // Compile the pattern: 0 = literal, 1 = '_' (any one char), 2 = '%' (any run)
+        char[] chars = new char[pattern.length() + 2];
+        byte[] kinds = new byte[pattern.length() + 2];
+        int n = 0;
+        kinds[n++] = 2;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '%') {
+                kinds[n++] = 2;
+            } else if (c == '_') {
+                kinds[n++] = 1;
+            } else {
+                chars[n] = c;
+                kinds[n++] = 0;
+            }
+        }
+        kinds[n++] = 2;
+
+        // Greedy wildcard match with single-point backtracking to the last '%'
+        int t = 0, p = 0, starP = -1, starT = -1;
+        while (t < text.length()) {
+            if (p < n && (kinds[p] == 1 || (kinds[p] == 0 && chars[p] == text.charAt(t)))) {
+                t++;
+                p++;
+            } else if (p < n && kinds[p] == 2) {
+                starP = p++;
+                starT = t;
+            } else if (starP >= 0) {
+                p = starP + 1;
+                t = ++starT;
+            } else {
+                return false;
+            }
+        }
+        while (p < n && kinds[p] == 2) {
+            p++;
+        }
+        return p == n;
+    }
+}
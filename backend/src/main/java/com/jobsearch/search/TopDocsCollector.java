@@ -0,0 +1,92 @@
+package com.jobsearch.search;
+
+/**
+ * Bounded min-heap of (doc, score) pairs kept in primitive arrays, so
+ * collecting the top K of a large result set allocates nothing per document.
+ * Ties on score are broken in favour of the higher (more recently indexed) doc.
+ */
+final class TopDocsCollector {
+
+    private final int[] docs;
+    private final float[] scores;
+    private int size;
+
+    TopDocsCollector(int capacity) {
+        this.docs = new int[Math.max(1, capacity)];
+        this.scores = new float[Math.max(1, capacity)];
+    }
+
+    void collect(int doc, float score) {
+        if (size < docs.length) {
+            docs[size] = doc;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (weaker(docs[0], scores[0], doc, score)) {
+            docs[0] = doc;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    int size() { return size; }
+
+    /**
+     * Drains the heap; afterwards {@link #doc(int)} and {@link #score(int)}
+     * return the collected entries best first.
+     */
+    void sortDescending() {
+        int n = size;
+        while (size > 1) {
+            swap(0, --size);
+            siftDown(0);
+        }
+        size = n;
+    }
+
+    int doc(int index) { return docs[index]; }
+
+    float score(int index) { return scores[index]; }
+
+    private static boolean weaker(int docA, float scoreA, int docB, float scoreB) {
+        return scoreA < scoreB || (scoreA == scoreB && docA < docB);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!weaker(docs[i], scores[i], docs[parent], scores[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int weakest = left;
+            int right = left + 1;
+            if (right < size && weaker(docs[right], scores[right], docs[left], scores[left])) {
+                weakest = right;
+            }
+            if (!weaker(docs[weakest], scores[weakest], docs[i], scores[i])) {
+                break;
+            }
+            swap(i, weakest);
+            i = weakest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int doc = docs[a];
+        docs[a] = docs[b];
+        docs[b] = doc;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Trigram posting lists over the full normalized text of each filter field.
+ * Any substring of length three or more implies all of its trigrams, so the
+ * candidates for a query are the intersection of its trigrams' posting lists.
+ *
+ * Text is padded with one start and one end marker before being split, so
+ * every character of a value, even a one-character value, appears in at least
+ * one trigram. Queries of one or two characters are answered by scanning the
+ * trigram dictionary for keys that contain them.
+ */
+final class TrigramIndex implements SubstringMatcher {
+
+    private static final char START = '\u0002';
+    private static final char END = '\u0003';
+
+    private final Map<JobField, Map<Long, PostingList>> trigrams = new EnumMap<>(JobField.class);
+
+    TrigramIndex() {
+        for (JobField field : JobSearchCriteria.FILTER_FIELDS) {
+            trigrams.put(field, new HashMap<>());
+        }
+    }
+
+    @Override
+    public void add(JobField field, int doc, String normalizedText) {
+        if (normalizedText == null || normalizedText.isEmpty()) {
+            return;
+        }
+        String padded = START + normalizedText + END;
+        Set<Long> seen = new HashSet<>();
+        Map<Long, PostingList> dictionary = trigrams.get(field);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            long key = key(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2));
+            if (seen.add(key)) {
+                dictionary.computeIfAbsent(key, k -> new PostingList()).add(doc, 1);
+            }
+        }
+    }
+
+    @Override
+    public BitSet candidates(JobField field, String normalizedQuery) {
+        Map<Long, PostingList> dictionary = trigrams.get(field);
+        List<String> literals = TextAnalyzer.likeLiterals(normalizedQuery);
+        if (literals.isEmpty()) {
+            return null;
+        }
+
+        // Every trigram of every literal run must be present in a matching value
+        Set<Long> keys = new HashSet<>();
+        String longest = "";
+        for (String literal : literals) {
+            for (int i = 0; i + 3 <= literal.length(); i++) {
+                keys.add(key(literal.charAt(i), literal.charAt(i + 1), literal.charAt(i + 2)));
+            }
+            if (literal.length() > longest.length()) {
+                longest = literal;
+            }
+        }
+        if (keys.isEmpty()) {
+            return shortLiteralCandidates(dictionary, longest);
+        }
+
+        List<PostingList> lists = new ArrayList<>(keys.size());
+        for (Long key : keys) {
+            PostingList list = dictionary.get(key);
+            if (list == null) {
+                return new BitSet();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        return intersect(lists);
+    }
+
+    @Override
+    public void clear() {
+        for (Map<Long, PostingList> dictionary : trigrams.values()) {
+            dictionary.clear();
+        }
+    }
+
+    private static BitSet intersect(List<PostingList> lists) {
+        PostingList smallest = lists.get(0);
+        int[] docs = new int[smallest.size()];
+        int count = smallest.size();
+        for (int i = 0; i < count; i++) {
+            docs[i] = smallest.doc(i);
+        }
+
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            PostingList list = lists.get(l);
+            int kept = 0;
+            int pos = 0;
+            for (int i = 0; i < count && pos < list.size(); i++) {
+                pos = list.advance(pos, docs[i]);
+                if (pos < list.size() && list.doc(pos) == docs[i]) {
+                    docs[kept++] = docs[i];
+                }
+            }
+            count = kept;
+        }
+
+        BitSet result = new BitSet();
+        for (int i = 0; i < count; i++) {
+            result.set(docs[i]);
+        }
+        return result;
+    }
+
+    private static BitSet shortLiteralCandidates(Map<Long, PostingList> dictionary, String literal) {
+        BitSet result = new BitSet();
+        for (Map.Entry<Long, PostingList> entry : dictionary.entrySet()) {
+            if (decode(entry.getKey()).contains(literal)) {
+                entry.getValue().addTo(result);
+            }
+        }
+        return result;
+    }
+
+    private static long key(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static String decode(long key) {
+        return new String(new char[] {(char) (key >>> 32), (char) (key >>> 16), (char) key});
+    }
+}
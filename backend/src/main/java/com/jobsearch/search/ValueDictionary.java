@@ -0,0 +1,72 @@
+package com.jobsearch.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sorted, deduplicated set of field values with a reference count per value,
+ * so a value disappears once no job uses it any more. Values are ordered
+ * case-insensitively, which keeps every value with a given case-insensitive
+ * prefix in one contiguous range.
+ */
+final class ValueDictionary {
+
+    private static final Comparator<String> ORDER =
+        String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private final TreeMap<String, Integer> counts = new TreeMap<>(ORDER);
+
+    void add(String value) {
+        if (value != null) {
+            counts.merge(value, 1, Integer::sum);
+        }
+    }
+
+    void remove(String value) {
+        if (value != null) {
+            counts.computeIfPresent(value, (v, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * @return up to {@code limit} values starting with {@code prefix}
+     *         (ignoring case), in order; a null prefix matches every value
+     */
+    List<String> values(String prefix, int limit) {
+        Map<String, Integer> range = prefix == null ? counts : counts.tailMap(lowestCaseVariant(prefix), true);
+        // The limit is unbounded when the caller gave none; size() of a tail view would walk it
+        List<String> values = new ArrayList<>(Math.min(limit, 64));
+        for (String value : range.keySet()) {
+            if (values.size() == limit
+                || (prefix != null && !value.regionMatches(true, 0, prefix, 0, prefix.length()))) {
+                break;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    void clear() {
+        counts.clear();
+    }
+
+    /**
+     * The case variant of {@code prefix} that sorts first: values equal to it
+     * ignoring case are ordered by their exact characters, so "Pune" comes
+     * before "pune" and the range has to start below both.
+     */
+    private static String lowestCaseVariant(String prefix) {
+        char[] chars = prefix.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            char c = chars[i];
+            char upper = Character.toUpperCase(c);
+            char lower = Character.toLowerCase(c);
+            chars[i] = (char) Math.min(c, Math.min(Math.min(upper, lower),
+                Math.min(Character.toLowerCase(upper), Character.toUpperCase(lower))));
+        }
+        return new String(chars);
+    }
+}
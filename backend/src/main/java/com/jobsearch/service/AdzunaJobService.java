@@ -1,91 +1,166 @@
 package com.jobsearch.service;
 
+import com.jobsearch.cache.UpstreamPageCache;
 import com.jobsearch.entity.Job;
-import com.jobsearch.repository.JobRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobsearch.service.parse.AdzunaJobMapper;
+import com.jobsearch.service.parse.JobElementMapper;
+import com.jobsearch.service.parse.StreamingJobParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @ConditionalOnProperty(name = "app.adzuna.enabled", havingValue = "true")
-public class AdzunaJobService {
+public class AdzunaJobService implements JobSource {
     
     private static final Logger logger = LoggerFactory.getLogger(AdzunaJobService.class);
+    private static final String PROVIDER = "adzuna";
+    private static final JobElementMapper JOB_MAPPER = new AdzunaJobMapper();
     private final WebClient webClient;
-    private final ObjectMapper objectMapper;
-    private final JobRepository jobRepository;
+    private final StreamingJobParser jobParser;
+    private final JobWriter jobWriter;
+    private final ProviderRateLimiter rateLimiter;
+    private final ProviderCircuitBreaker circuitBreaker;
+    private final UpstreamPageCache pageCache;
 
-    @Value("${app.external-apis.adzuna.app-id}")
+    @Value("${app.external-apis.adzuna.app-id:}")
     private String appId;
 
-    @Value("${app.external-apis.adzuna.app-key}")
+    @Value("${app.external-apis.adzuna.app-key:}")
     private String appKey;
 
+    @Value("${app.external-apis.adzuna.page-concurrency:2}")
+    private int pageConcurrency;
+
+    @Value("${app.external-apis.adzuna.retry.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.external-apis.adzuna.retry.min-backoff-ms:2000}")
+    private long minBackoffMs;
+
+    @Value("${app.external-apis.adzuna.retry.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
     @Autowired
     public AdzunaJobService(WebClient.Builder webClientBuilder, 
-                           ObjectMapper objectMapper,
-                           JobRepository jobRepository) {
+                           StreamingJobParser jobParser,
+                           JobWriter jobWriter,
+                           ProviderRateLimiter rateLimiter,
+                           ProviderCircuitBreaker circuitBreaker,
+                           UpstreamPageCache pageCache) {
         this.webClient = webClientBuilder.baseUrl("https://api.adzuna.com").build();
-        this.objectMapper = objectMapper;
-        this.jobRepository = jobRepository;
+        this.jobParser = jobParser;
+        this.jobWriter = jobWriter;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.pageCache = pageCache;
     }
 
-    public List<Job> fetchAndSaveJobs(String what, String where, int maxResults) {
+    /**
+     * Non-blocking fetch of up to {@code maxResults} new jobs, paced, cached
+     * and persisted like {@link JSearchJobService#fetchJobs}. Stops after the
+     * first short page.
+     */
+    public Mono<List<Job>> fetchJobs(String what, String where, int maxResults) {
+        return streamJobs(what, where, maxResults)
+                .collectList()
+                .doOnNext(jobs -> logger.info("Fetched {} new jobs from Adzuna for query: {} in {}", jobs.size(), what, where));
+    }
+
+    @Override
+    public String getName() {
+        return PROVIDER;
+    }
+
+    @Override
+    public boolean isMock() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !appId.isEmpty() && !appKey.isEmpty();
+    }
+
+    /** Like {@link #fetchJobs}, emitting each job as soon as its page is saved. */
+    @Override
+    public Flux<Job> streamJobs(String what, String where, int maxResults) {
         if (appId.isEmpty() || appKey.isEmpty()) {
             logger.warn("Adzuna API credentials not configured");
-            return new ArrayList<>();
+            return Flux.empty();
         }
 
-        List<Job> jobs = new ArrayList<>();
         int resultsPerPage = 50;
         int pages = Math.max(1, (maxResults + resultsPerPage - 1) / resultsPerPage);
+        pages = Math.min(pages, rateLimiter.maxRequestsPerFetch(PROVIDER));
+        AtomicInteger remaining = new AtomicInteger(maxResults);
 
-        for (int page = 1; page <= pages && jobs.size() < maxResults; page++) {
-            try {
-                String url = buildUrl(what, where, page, resultsPerPage);
-                
-                Mono<String> response = webClient.get()
-                        .uri(url)
-                        .retrieve()
-                        .bodyToMono(String.class);
-
-                String responseBody = response.block();
-                List<Job> pageJobs = parseAdzunaResponse(responseBody);
-                
-                for (Job job : pageJobs) {
-                    if (jobs.size() >= maxResults) break;
-                    
-                    // Check if job already exists
-                    if (!jobRepository.findByExternalId(job.getExternalId()).isPresent()) {
-                        Job savedJob = jobRepository.save(job);
-                        jobs.add(savedJob);
-                        logger.debug("Saved new job from Adzuna: {}", job.getTitle());
+        return Flux.range(1, pages)
+                .flatMapSequential(page -> fetchPage(what, where, page, resultsPerPage), pageConcurrency)
+                .takeUntil(pageJobs -> pageJobs.size() < resultsPerPage) // No more results
+                .concatMap(pageJobs -> jobWriter.saveNewAsync(pageJobs, remaining.get()))
+                .doOnNext(saved -> remaining.addAndGet(-saved.size()))
+                .takeUntil(saved -> remaining.get() <= 0)
+                .onErrorResume(e -> {
+                    if (e instanceof CircuitOpenException) {
+                        logger.warn("Adzuna API is failing, not fetching: {}", e.getMessage());
+                        return Flux.empty();
                     }
-                }
-
-                if (pageJobs.size() < resultsPerPage) break; // No more results
-                
-            } catch (Exception e) {
-                logger.error("Error fetching jobs from Adzuna API page {}: {}", page, e.getMessage());
-                break;
-            }
-        }
+                    logger.error("Error fetching jobs from Adzuna API: {}", e.getMessage());
+                    return Flux.empty();
+                })
+                .flatMapIterable(saved -> saved);
+    }
+
+    private Mono<List<Job>> fetchPage(String what, String where, int page, int resultsPerPage) {
+        String url = buildUrl(what, where, page, resultsPerPage);
+        Flux<DataBuffer> response = webClient.get()
+                .uri(url)
+                .retrieve()
+                .onStatus(
+                    status -> status.value() == 429,
+                    clientResponse -> Mono.error(new UpstreamRateLimitedException(PROVIDER,
+                        UpstreamRateLimitedException.retryAfter(clientResponse.headers().asHttpHeaders())))
+                )
+                .bodyToFlux(DataBuffer.class);
+
+        Mono<List<Job>> request = Mono.defer(() -> {
+            UpstreamPageCache.Recorder recorder = pageCache.recorder(PROVIDER, url);
+            return jobParser.parse(response.doOnNext(recorder::append), "results", JOB_MAPPER)
+                    .doOnError(e -> recorder.discard())
+                    .onErrorResume(UncheckedIOException.class, e -> {
+                        logger.error("Error parsing Adzuna response: {}", e.getMessage());
+                        return Flux.empty();
+                    })
+                    .collectList()
+                    .doOnNext(pageJobs -> recorder.commit());
+        });
 
-        logger.info("Fetched {} new jobs from Adzuna for query: {} in {}", jobs.size(), what, where);
-        return jobs;
+        Mono<List<Job>> fetched = circuitBreaker.protect(PROVIDER, rateLimiter.acquire(PROVIDER).then(request))
+                .retryWhen(UpstreamRetry.onTransientFailure(PROVIDER, maxRetries,
+                    Duration.ofMillis(minBackoffMs), Duration.ofMillis(maxBackoffMs)));
+
+        return pageCache.get(PROVIDER, url)
+                .flatMap(body -> jobParser.parse(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)), "results", JOB_MAPPER)
+                    .collectList()
+                    .onErrorResume(UncheckedIOException.class, e -> Mono.empty()))
+                .switchIfEmpty(fetched)
+                .doOnNext(pageJobs -> logger.debug("Parsed {} jobs from Adzuna page {}", pageJobs.size(), page));
     }
 
     private String buildUrl(String what, String where, int page, int resultsPerPage) {
@@ -99,64 +174,4 @@ public class AdzunaJobService {
                 page, encodedAppId, encodedAppKey, resultsPerPage, encodedWhat, encodedWhere);
     }
 
-    private List<Job> parseAdzunaResponse(String responseBody) {
-        List<Job> jobs = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode results = root.get("results");
-            
-            if (results != null && results.isArray()) {
-                for (JsonNode jobNode : results) {
-                    Job job = new Job();
-                    
-                    // Set external ID
-                    String id = jobNode.has("id") ? jobNode.get("id").asText() : UUID.randomUUID().toString();
-                    job.setExternalId("adzuna_" + id);
-                    
-                    // Set basic fields
-                    job.setTitle(jobNode.has("title") ? jobNode.get("title").asText() : "");
-                    job.setSource("adzuna");
-                    
-                    // Set company
-                    if (jobNode.has("company") && jobNode.get("company").has("display_name")) {
-                        job.setCompany(jobNode.get("company").get("display_name").asText());
-                    } else {
-                        job.setCompany("");
-                    }
-                    
-                    // Set location
-                    if (jobNode.has("location") && jobNode.get("location").has("display_name")) {
-                        job.setLocation(jobNode.get("location").get("display_name").asText());
-                    }
-                    
-                    // Set salary
-                    if (jobNode.has("salary_min") && !jobNode.get("salary_min").isNull()) {
-                        job.setSalaryMin(jobNode.get("salary_min").asLong());
-                    }
-                    if (jobNode.has("salary_max") && !jobNode.get("salary_max").isNull()) {
-                        job.setSalaryMax(jobNode.get("salary_max").asLong());
-                    }
-                    
-                    // Set description
-                    job.setDescription(jobNode.has("description") ? jobNode.get("description").asText() : "");
-                    
-                    // Set URL
-                    job.setJobUrl(jobNode.has("redirect_url") ? jobNode.get("redirect_url").asText() : "");
-                    
-                    // Set remote (default false for Adzuna)
-                    job.setIsRemote(false);
-                    
-                    // Set empty skills list
-                    job.setSkills(new ArrayList<>());
-                    
-                    jobs.add(job);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error parsing Adzuna response: {}", e.getMessage());
-        }
-        
-        return jobs;
-    }
 }
\ No newline at end of file
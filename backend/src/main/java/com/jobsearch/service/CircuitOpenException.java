@@ -0,0 +1,18 @@
+package com.jobsearch.service;
+
+/**
+ * A provider request was not sent because the provider's circuit is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    private final String provider;
+
+    public CircuitOpenException(String provider, long retryInMs) {
+        super("Circuit of " + provider + " is open - next attempt in " + retryInMs + " ms");
+        this.provider = provider;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+}
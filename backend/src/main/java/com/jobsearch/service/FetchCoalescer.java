@@ -0,0 +1,91 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for upstream fetches. Requests with the same normalized
+ * (title, location, maxResults) share the fetch already in flight instead of
+ * starting their own, and so do requests arriving within
+ * {@code app.fetch.coalesce-cooldown-ms} after it completed. A fetch that
+ * fails is forgotten at once, so the next request tries again.
+ * <p>
+ * Every caller gets its own copy of the shared future: cancelling it does not
+ * cancel the fetch for the others.
+ */
+@Component
+public class FetchCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FetchCoalescer.class);
+
+    private final Map<String, CompletableFuture<List<Job>>> flights = new ConcurrentHashMap<>();
+    private final Executor expiry;
+    private final Counter startedCounter;
+    private final Counter coalescedCounter;
+
+    public FetchCoalescer(@Value("${app.fetch.coalesce-cooldown-ms:30000}") long cooldownMs,
+                          MeterRegistry meterRegistry) {
+        this.expiry = CompletableFuture.delayedExecutor(Math.max(0, cooldownMs), TimeUnit.MILLISECONDS);
+        this.startedCounter = Counter.builder("jobs.fetch.requests")
+            .tag("outcome", "started")
+            .description("Fetch requests that started an upstream fetch")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("jobs.fetch.requests")
+            .tag("outcome", "coalesced")
+            .description("Fetch requests served by a fetch already in flight or just completed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * @param scope keeps fetches of different aggregators apart
+     * @param fetch starts the upstream fetch; only called by the request that leads
+     */
+    public CompletableFuture<List<Job>> fetch(String scope, String title, String location, int maxResults,
+                                              Supplier<CompletableFuture<List<Job>>> fetch) {
+        String key = scope + '\u0000' + normalize(title) + '\u0000' + normalize(location) + '\u0000' + maxResults;
+        CompletableFuture<List<Job>> leader = new CompletableFuture<>();
+        CompletableFuture<List<Job>> shared = flights.putIfAbsent(key, leader);
+        if (shared != null) {
+            coalescedCounter.increment();
+            logger.info("Joining the fetch in flight for: {} in {} (up to {} results)", title, location, maxResults);
+            return shared.copy();
+        }
+
+        startedCounter.increment();
+        CompletableFuture<List<Job>> upstream;
+        try {
+            upstream = fetch.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((jobs, error) -> {
+            if (error != null) {
+                flights.remove(key, leader);
+                leader.completeExceptionally(error);
+            } else {
+                // Stays shared for the cooldown, then the next request fetches again
+                expiry.execute(() -> flights.remove(key, leader));
+                leader.complete(jobs);
+            }
+        });
+        return leader.copy();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
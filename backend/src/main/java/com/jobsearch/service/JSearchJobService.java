@@ -1,31 +1,40 @@
 package com.jobsearch.service;
 
+import com.jobsearch.cache.UpstreamPageCache;
 import com.jobsearch.entity.Job;
-import com.jobsearch.repository.JobRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobsearch.service.parse.JSearchJobMapper;
+import com.jobsearch.service.parse.JobElementMapper;
+import com.jobsearch.service.parse.StreamingJobParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-public class JSearchJobService {
+public class JSearchJobService implements JobSource {
     
     private static final Logger logger = LoggerFactory.getLogger(JSearchJobService.class);
+    private static final String PROVIDER = "jsearch";
+    private static final JobElementMapper JOB_MAPPER = new JSearchJobMapper();
     private final WebClient webClient;
-    private final ObjectMapper objectMapper;
-    private final JobRepository jobRepository;
+    private final StreamingJobParser jobParser;
+    private final JobWriter jobWriter;
+    private final ProviderRateLimiter rateLimiter;
+    private final ProviderCircuitBreaker circuitBreaker;
+    private final UpstreamPageCache pageCache;
 
     @Value("${app.external-apis.rapidapi.key}")
     private String rapidApiKey;
@@ -33,163 +42,155 @@ public class JSearchJobService {
     @Value("${app.external-apis.rapidapi.host}")
     private String rapidApiHost;
 
+    @Value("${app.external-apis.jsearch.page-concurrency:2}")
+    private int pageConcurrency;
+
+    @Value("${app.external-apis.jsearch.retry.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.external-apis.jsearch.retry.min-backoff-ms:2000}")
+    private long minBackoffMs;
+
+    @Value("${app.external-apis.jsearch.retry.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
     @Autowired
     public JSearchJobService(WebClient.Builder webClientBuilder, 
-                            ObjectMapper objectMapper,
-                            JobRepository jobRepository) {
+                            StreamingJobParser jobParser,
+                            JobWriter jobWriter,
+                            ProviderRateLimiter rateLimiter,
+                            ProviderCircuitBreaker circuitBreaker,
+                            UpstreamPageCache pageCache) {
         this.webClient = webClientBuilder.baseUrl("https://jsearch.p.rapidapi.com").build();
-        this.objectMapper = objectMapper;
-        this.jobRepository = jobRepository;
+        this.jobParser = jobParser;
+        this.jobWriter = jobWriter;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.pageCache = pageCache;
+    }
+
+    /**
+     * Fetches up to {@code maxResults} new jobs without blocking a thread.
+     * Every page request, retries included, goes through the
+     * {@link ProviderCircuitBreaker} and takes a permit from the shared
+     * {@link ProviderRateLimiter}; at most {@code max-requests-per-fetch}
+     * pages are requested and at most {@code page-concurrency} are in flight.
+     * Pages still fresh in the {@link UpstreamPageCache} are not requested
+     * at all. Each page is persisted on the ingestion scheduler as soon as it
+     * is parsed. Fetching stops at the first empty page, once enough jobs are
+     * saved, or on an error; the jobs saved until then are the result.
+     */
+    public Mono<List<Job>> fetchJobs(String role, String location, int maxResults) {
+        return streamJobs(role, location, maxResults)
+                .collectList()
+                .doOnNext(jobs -> logger.info("Fetched {} new jobs from JSearch for query: {} in {}", jobs.size(), role, location));
+    }
+
+    @Override
+    public String getName() {
+        return PROVIDER;
+    }
+
+    @Override
+    public boolean isMock() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !rapidApiKey.isEmpty();
     }
 
-    public List<Job> fetchAndSaveJobs(String role, String location, int maxResults) {
-        logger.info("JSearch API Key configured: {}", !rapidApiKey.isEmpty());
+    /** Like {@link #fetchJobs}, emitting each job as soon as its page is saved. */
+    @Override
+    public Flux<Job> streamJobs(String role, String location, int maxResults) {
         logger.info("Starting JSearch fetch for role: '{}', location: '{}', maxResults: {}", role, location, maxResults);
         
         if (rapidApiKey.isEmpty()) {
             logger.warn("RapidAPI key not configured for JSearch");
-            return new ArrayList<>();
+            return Flux.empty();
         }
 
-        List<Job> jobs = new ArrayList<>();
         int maxPages = Math.max(1, (maxResults + 9) / 10); // JSearch typically returns 10 results per page
+        maxPages = Math.min(maxPages, rateLimiter.maxRequestsPerFetch(PROVIDER));
+        AtomicInteger remaining = new AtomicInteger(maxResults);
 
-        for (int page = 1; page <= maxPages && jobs.size() < maxResults; page++) {
-            try {
-                String query = role + " jobs in " + location;
-                String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-                String url = String.format("/search?query=%s&page=%d&num_pages=1&date_posted=all", encodedQuery, page);
-                
-                final int currentPage = page; // Make variable effectively final for lambda
-                logger.info("Making JSearch API request: {}", url);
-                
-                // Add delay between requests to avoid rate limiting
-                if (page > 1) {
-                    Thread.sleep(2000); // 2 second delay between requests
-                    logger.debug("Added 2 second delay before page {} request", page);
-                }
-                
-                Mono<String> response = webClient.get()
-                        .uri(url)
-                        .header("x-rapidapi-key", rapidApiKey)
-                        .header("x-rapidapi-host", rapidApiHost)
-                        .retrieve()
-                        .onStatus(
-                            status -> status.value() == 429,
-                            clientResponse -> {
-                                logger.warn("Rate limit hit (429) for JSearch API on page {}", currentPage);
-                                return Mono.error(new RuntimeException("Rate limit exceeded - try again later"));
-                            }
-                        )
-                        .onStatus(
-                            status -> status.is4xxClientError(),
-                            clientResponse -> {
-                                logger.error("Client error {} for JSearch API on page {}", clientResponse.statusCode(), currentPage);
-                                return Mono.error(new RuntimeException("Client error: " + clientResponse.statusCode()));
-                            }
-                        )
-                        .bodyToMono(String.class);
-
-                String responseBody = response.block();
-                logger.info("JSearch API response length: {} characters", responseBody != null ? responseBody.length() : 0);
-                
-                List<Job> pageJobs = parseJSearchResponse(responseBody);
-                logger.info("Parsed {} jobs from JSearch page {}", pageJobs.size(), page);
-                
-                for (Job job : pageJobs) {
-                    if (jobs.size() >= maxResults) break;
-                    
-                    // Check if job already exists
-                    if (!jobRepository.findByExternalId(job.getExternalId()).isPresent()) {
-                        Job savedJob = jobRepository.save(job);
-                        jobs.add(savedJob);
-                        logger.debug("Saved new job from JSearch: {}", job.getTitle());
-                    } else {
-                        logger.debug("Job already exists, skipping: {}", job.getExternalId());
+        return Flux.range(1, maxPages)
+                .flatMapSequential(page -> fetchPage(role, location, page), pageConcurrency)
+                .takeUntil(pageJobs -> {
+                    if (pageJobs.isEmpty()) {
+                        logger.info("No more results from JSearch, stopping pagination");
                     }
-                }
-
-                if (pageJobs.isEmpty()) {
-                    logger.info("No more results from JSearch, stopping pagination");
-                    break; // No more results
-                }
-                
-            } catch (Exception e) {
-                if (e.getMessage().contains("Rate limit exceeded")) {
-                    logger.warn("Rate limit hit for JSearch API page {}, stopping further requests", page);
-                    break; // Stop making more requests if rate limited
-                } else if (e.getMessage().contains("429")) {
-                    logger.warn("429 Too Many Requests for JSearch API page {}, waiting 60 seconds before continuing", page);
-                    try {
-                        Thread.sleep(60000); // Wait 1 minute before retrying
-                        continue; // Retry the same page
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
+                    return pageJobs.isEmpty();
+                })
+                .concatMap(pageJobs -> jobWriter.saveNewAsync(pageJobs, remaining.get()))
+                .doOnNext(saved -> remaining.addAndGet(-saved.size()))
+                .takeUntil(saved -> remaining.get() <= 0)
+                .onErrorResume(e -> {
+                    if (e instanceof UpstreamRateLimitedException || e instanceof ProviderQuotaExceededException) {
+                        logger.warn("Rate limit hit for JSearch API, stopping further requests");
+                    } else if (e instanceof CircuitOpenException) {
+                        logger.warn("JSearch API is failing, not fetching: {}", e.getMessage());
+                    } else {
+                        logger.error("Error fetching jobs from JSearch API: {}", e.getMessage());
                     }
-                } else {
-                    logger.error("Error fetching jobs from JSearch API page {}: {}", page, e.getMessage());
-                    break; // Stop on other errors
-                }
-            }
-        }
-
-        logger.info("Fetched {} new jobs from JSearch for query: {} in {}", jobs.size(), role, location);
-        return jobs;
+                    return Flux.empty();
+                })
+                .flatMapIterable(saved -> saved);
     }
 
-    private List<Job> parseJSearchResponse(String responseBody) {
-        List<Job> jobs = new ArrayList<>();
-        
-        try {
-            JsonNode root = objectMapper.readTree(responseBody);
-            JsonNode data = root.get("data");
-            
-            if (data != null && data.isArray()) {
-                for (JsonNode jobNode : data) {
-                    Job job = new Job();
-                    
-                    // Set external ID
-                    String id = jobNode.has("job_id") ? jobNode.get("job_id").asText() : UUID.randomUUID().toString();
-                    job.setExternalId("jsearch_" + id);
-                    
-                    // Set basic fields
-                    job.setTitle(jobNode.has("job_title") ? jobNode.get("job_title").asText() : "");
-                    job.setCompany(jobNode.has("employer_name") ? jobNode.get("employer_name").asText() : "");
-                    job.setLocation(jobNode.has("job_city") ? jobNode.get("job_city").asText() : "");
-                    job.setSource("jsearch");
-                    
-                    // Set salary
-                    if (jobNode.has("job_min_salary") && !jobNode.get("job_min_salary").isNull()) {
-                        job.setSalaryMin(jobNode.get("job_min_salary").asLong());
+    private Mono<List<Job>> fetchPage(String role, String location, int page) {
+        String query = role + " jobs in " + location;
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        String url = String.format("/search?query=%s&page=%d&num_pages=1&date_posted=all", encodedQuery, page);
+
+        Flux<DataBuffer> response = webClient.get()
+                .uri(url)
+                .header("x-rapidapi-key", rapidApiKey)
+                .header("x-rapidapi-host", rapidApiHost)
+                .retrieve()
+                .onStatus(
+                    status -> status.value() == 429,
+                    clientResponse -> {
+                        logger.warn("Rate limit hit (429) for JSearch API on page {}", page);
+                        return Mono.error(new UpstreamRateLimitedException(PROVIDER,
+                            UpstreamRateLimitedException.retryAfter(clientResponse.headers().asHttpHeaders())));
                     }
-                    if (jobNode.has("job_max_salary") && !jobNode.get("job_max_salary").isNull()) {
-                        job.setSalaryMax(jobNode.get("job_max_salary").asLong());
+                )
+                .onStatus(
+                    status -> status.is4xxClientError(),
+                    clientResponse -> {
+                        logger.error("Client error {} for JSearch API on page {}", clientResponse.statusCode(), page);
+                        return Mono.error(new RuntimeException("Client error: " + clientResponse.statusCode()));
                     }
-                    
-                    // Set description
-                    job.setDescription(jobNode.has("job_description") ? jobNode.get("job_description").asText() : "");
-                    
-                    // Set URL
-                    job.setJobUrl(jobNode.has("job_apply_link") ? jobNode.get("job_apply_link").asText() : "");
-                    
-                    // Set remote
-                    job.setIsRemote(jobNode.has("job_is_remote") && jobNode.get("job_is_remote").asBoolean());
-                    
-                    // Set empty skills list (JSearch doesn't provide structured skills)
-                    job.setSkills(new ArrayList<>());
-                    
-                    // Set timestamps
-                    job.setCreatedAt(LocalDateTime.now());
-                    job.setUpdatedAt(LocalDateTime.now());
-                    
-                    jobs.add(job);
-                }
-            }
-        } catch (Exception e) {
-            logger.error("Error parsing JSearch response: {}", e.getMessage());
-        }
-        
-        return jobs;
+                )
+                .bodyToFlux(DataBuffer.class);
+
+        Mono<List<Job>> request = Mono.defer(() -> {
+            // The body is cached only if it was read and parsed completely
+            UpstreamPageCache.Recorder recorder = pageCache.recorder(PROVIDER, url);
+            return jobParser.parse(response.doOnNext(recorder::append), "data", JOB_MAPPER)
+                    .doOnSubscribe(subscription -> logger.info("Making JSearch API request: {}", url))
+                    .doOnError(e -> recorder.discard())
+                    .onErrorResume(UncheckedIOException.class, e -> {
+                        logger.error("Error parsing JSearch response: {}", e.getMessage());
+                        return Flux.empty();
+                    })
+                    .collectList()
+                    .doOnNext(pageJobs -> recorder.commit());
+        });
+
+        Mono<List<Job>> fetched = circuitBreaker.protect(PROVIDER, rateLimiter.acquire(PROVIDER).then(request))
+                // Each retry passes the circuit and takes a permit again; the pause holds no thread
+                .retryWhen(UpstreamRetry.onTransientFailure(PROVIDER, maxRetries,
+                    Duration.ofMillis(minBackoffMs), Duration.ofMillis(maxBackoffMs)));
+
+        return pageCache.get(PROVIDER, url)
+                .flatMap(body -> jobParser.parse(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)), "data", JOB_MAPPER)
+                    .collectList()
+                    .doOnNext(pageJobs -> logger.info("Using cached JSearch page {}", page))
+                    .onErrorResume(UncheckedIOException.class, e -> Mono.empty()))
+                .switchIfEmpty(fetched)
+                .doOnNext(pageJobs -> logger.info("Parsed {} jobs from JSearch page {}", pageJobs.size(), page));
     }
 }
\ No newline at end of file
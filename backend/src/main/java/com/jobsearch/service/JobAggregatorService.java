@@ -2,13 +2,12 @@ package com.jobsearch.service;
 
 import com.jobsearch.entity.Job;
 import com.jobsearch.repository.JobRepository;
+import com.jobsearch.search.FilterDictionaries;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -16,64 +15,60 @@ import java.util.concurrent.CompletableFuture;
 public class JobAggregatorService {
     
     private static final Logger logger = LoggerFactory.getLogger(JobAggregatorService.class);
+    private static final int MAX_RESULTS_PER_SOURCE = 25; // Up to 25 results from each source
     
     @Autowired
-    private JSearchJobService jSearchJobService;
+    private JobSourceFanOut jobSourceFanOut;
     
     @Autowired
     private JobRepository jobRepository;
 
-    @Async
-    public CompletableFuture<List<Job>> fetchJobsFromAllSources(String jobTitle, String location, int maxResultsPerSource) {
-        List<Job> allJobs = new ArrayList<>();
-        
-        try {
-            // Use JSearch API as the single primary source (aggregates Indeed, LinkedIn, Glassdoor, etc.)
-            int maxResults = Math.min(maxResultsPerSource, 25); // Allow up to 25 results from JSearch
-            
-            logger.info("Starting JSearch job fetch for: {} in {} (up to {} results)", jobTitle, location, maxResults);
-            
-            try {
-                List<Job> jSearchJobs = jSearchJobService.fetchAndSaveJobs(jobTitle, location, maxResults);
-                allJobs.addAll(jSearchJobs);
-                logger.info("JSearch fetch completed successfully: {} jobs found", jSearchJobs.size());
-                
-                if (jSearchJobs.isEmpty()) {
-                    logger.warn("No jobs found from JSearch API - might be rate limited or no matches found");
-                }
-                
-            } catch (Exception e) {
-                logger.error("JSearch fetch failed: {}", e.getMessage());
-                
-                if (e.getMessage().contains("Rate limit") || e.getMessage().contains("429")) {
-                    logger.warn("JSearch API rate limit exceeded. Consider upgrading plan for more requests.");
-                } else {
-                    logger.error("JSearch API error: {}", e.getMessage());
-                }
-            }
-            
-            logger.info("Job aggregation completed. Total new jobs from JSearch: {}", allJobs.size());
-            
-        } catch (Exception e) {
-            logger.error("Error during job aggregation: {}", e.getMessage(), e);
-        }
+    @Autowired
+    private FilterDictionaries filterDictionaries;
+
+    @Autowired
+    private JobStatsService jobStatsService;
+
+    @Autowired
+    private FetchCoalescer fetchCoalescer;
+
+    /**
+     * Starts the fetch and returns at once. The future completes with the new
+     * jobs when every enabled {@link JobSource} has finished or hit its
+     * deadline; no thread waits on it. Identical requests share one fetch
+     * through the {@link FetchCoalescer}.
+     */
+    public CompletableFuture<List<Job>> fetchJobsFromAllSources(String jobTitle, String location, int maxResults) {
+        return fetchCoalescer.fetch("real", jobTitle, location, maxResults,
+                () -> fetchFromSources(jobTitle, location, maxResults));
+    }
+
+    private CompletableFuture<List<Job>> fetchFromSources(String jobTitle, String location, int maxResults) {
+        logger.info("Starting job fetch for: {} in {} (up to {} results)", jobTitle, location, maxResults);
         
-        return CompletableFuture.completedFuture(allJobs);
+        return jobSourceFanOut.fetchAll(false, jobTitle, location, maxResults, MAX_RESULTS_PER_SOURCE)
+                .doOnNext(allJobs -> {
+                    logger.info("Job aggregation completed. Total new jobs: {}", allJobs.size());
+                    if (allJobs.isEmpty()) {
+                        logger.warn("No new jobs from any source - might be rate limited or no matches found");
+                    }
+                })
+                .toFuture();
     }
 
     public long getTotalJobCount() {
-        return jobRepository.count();
+        return jobStatsService.getTotalJobCount();
     }
 
     public long getJobCountBySource(String source) {
-        return jobRepository.countJobsBySource(source);
+        return jobStatsService.getJobCountBySource(source);
     }
 
-    public List<String> getDistinctLocations() {
-        return jobRepository.findDistinctLocations();
+    public List<String> getDistinctLocations(String prefix, int limit) {
+        return filterDictionaries.locations(prefix, limit);
     }
 
-    public List<String> getDistinctCompanies() {
-        return jobRepository.findDistinctCompanies();
+    public List<String> getDistinctCompanies(String prefix, int limit) {
+        return filterDictionaries.companies(prefix, limit);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 over the fetched content of a job, used on re-ingestion to tell
+ * which stored jobs actually changed upstream. Ids, timestamps and the
+ * derived city/state ids are not part of the hash.
+ */
+public final class JobContentHash {
+
+    private JobContentHash() {
+    }
+
+    public static String of(Job job) {
+        MessageDigest digest = sha256();
+        update(digest, job.getTitle());
+        update(digest, job.getCompany());
+        update(digest, job.getLocation());
+        update(digest, job.getSalaryMin());
+        update(digest, job.getSalaryMax());
+        update(digest, job.getIsRemote());
+        update(digest, job.getDescription());
+        update(digest, job.getJobUrl());
+        update(digest, job.getSource());
+        if (job.getSkills() != null) {
+            for (String skill : job.getSkills()) {
+                update(digest, skill);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        // A separator after every field, and a distinct marker for null, keep
+        // ("ab", "c") and ("a", "bc") or null and "" from colliding
+        if (value == null) {
+            digest.update((byte) 0);
+        } else {
+            digest.update((byte) 1);
+            digest.update(value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0x1f);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
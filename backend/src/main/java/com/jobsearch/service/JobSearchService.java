@@ -0,0 +1,250 @@
+package com.jobsearch.service;
+
+import com.jobsearch.dto.CursorPage;
+import com.jobsearch.dto.FacetedPage;
+import com.jobsearch.dto.SkillMatchResult;
+import com.jobsearch.entity.Job;
+import com.jobsearch.repository.JobRepository;
+import com.jobsearch.location.City;
+import com.jobsearch.location.Gazetteer;
+import com.jobsearch.location.State;
+import com.jobsearch.search.GeoFilter;
+import com.jobsearch.search.IndexSearchResult;
+import com.jobsearch.search.JobCursor;
+import com.jobsearch.search.JobSearchCriteria;
+import com.jobsearch.search.JobSearchIndex;
+import com.jobsearch.search.SearchResultCache;
+import com.jobsearch.search.SkillMatch;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class JobSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchService.class);
+
+    private static final double DEFAULT_RADIUS_KM = 25;
+    private static final double MAX_RADIUS_KM = 500;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private Gazetteer gazetteer;
+
+    /**
+     * Answers a search from the in-memory index when it is built and can
+     * handle the requested sort, otherwise falls back to the JPQL query.
+     */
+    public Page<Job> search(JobSearchCriteria criteria, Pageable pageable) {
+        return search(criteria, pageable, -1);
+    }
+
+    /**
+     * Like {@link #search(JobSearchCriteria, Pageable)}, but when
+     * {@code facetLimit >= 0} returns a {@link FacetedPage} with facet counts
+     * over the whole matching set. Facets are only available from the index;
+     * on the database fallback they are null.
+     */
+    public Page<Job> search(JobSearchCriteria criteria, Pageable pageable, int facetLimit) {
+        return searchResultCache.get(criteria, pageable, facetLimit,
+            () -> initializeSkills(searchUncached(criteria, pageable, facetLimit)));
+    }
+
+    private Page<Job> searchUncached(JobSearchCriteria criteria, Pageable pageable, int facetLimit) {
+        if (jobSearchIndex.isReady() && jobSearchIndex.supportsSort(pageable.getSort())) {
+            IndexSearchResult result = jobSearchIndex.search(criteria, pageable, facetLimit);
+            List<Job> jobs = loadInOrder(result.getJobIds());
+            if (facetLimit >= 0) {
+                return new FacetedPage<>(jobs, pageable, result.getTotalHits(), result.getFacets());
+            }
+            return new PageImpl<>(jobs, pageable, result.getTotalHits());
+        }
+
+        logger.debug("Search index unavailable for sort {}, using database query", pageable.getSort());
+        if (JobSearchIndex.isRelevance(pageable.getSort())) {
+            // Relevance needs the index; the newest matches are the closest database ordering
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("createdAt").descending());
+        }
+        if (criteria.getGeo() != null) {
+            return jobRepository.findJobsMatching(criteria, pageable);
+        }
+        return jobRepository.findJobsWithFilters(
+            criteria.getTitle(), criteria.getCompany(), criteria.getLocation(),
+            criteria.getMinSalary(), criteria.getMaxSalary(), criteria.getIsRemote(),
+            criteria.getSource(), pageable);
+    }
+
+    /**
+     * Resolves the canonical location parameters of a search against the
+     * gazetteer: an exact state, an exact city, or every city within
+     * {@code radiusKm} of {@code near}.
+     *
+     * @return the filter, or null if no location parameter is given
+     * @throws IllegalArgumentException if a name is not in the gazetteer or
+     *         the parameters conflict
+     */
+    public GeoFilter resolveGeoFilter(String state, String city, String near, Double radiusKm) {
+        if (state == null && city == null && near == null) {
+            return null;
+        }
+        if (city != null && near != null) {
+            throw new IllegalArgumentException("Use either city or near, not both");
+        }
+
+        String stateId = null;
+        if (state != null) {
+            State resolved = gazetteer.findState(state);
+            if (resolved == null) {
+                throw new IllegalArgumentException("Unknown state: " + state);
+            }
+            stateId = resolved.getId();
+        }
+
+        Set<String> cityIds = null;
+        String cityName = city != null ? city : near;
+        if (cityName != null) {
+            City center = gazetteer.findCity(cityName);
+            if (center == null) {
+                throw new IllegalArgumentException("Unknown city: " + cityName);
+            }
+            cityIds = new HashSet<>();
+            if (near == null) {
+                cityIds.add(center.getId());
+            } else {
+                double radius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+                if (!Double.isFinite(radius) || radius < 0 || radius > MAX_RADIUS_KM) {
+                    throw new IllegalArgumentException("radiusKm must be between 0 and " + (int) MAX_RADIUS_KM);
+                }
+                for (City nearby : gazetteer.citiesNear(center, radius)) {
+                    cityIds.add(nearby.getId());
+                }
+            }
+        }
+        return new GeoFilter(stateId, cityIds);
+    }
+
+    /**
+     * Keyset pagination: returns the page after {@code cursor} (an empty or
+     * null cursor starts from the beginning) with no total count. Filtered
+     * scrolls are answered by the index when it is built; unfiltered ones seek
+     * directly on the database, where the sort column's B-tree index applies.
+     *
+     * @throws IllegalArgumentException if the page size is below 1, the sort
+     *         is not supported or the cursor is malformed
+     */
+    public CursorPage<Job> scroll(JobSearchCriteria criteria, String sortBy, boolean descending,
+                                  String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1, was " + size);
+        }
+        if (!JobCursor.supports(sortBy)) {
+            throw new IllegalArgumentException("Cursor pagination does not support sortBy=" + sortBy);
+        }
+        JobCursor after = cursor == null || cursor.isEmpty() ? null : JobCursor.decode(cursor, sortBy, descending);
+
+        // Fetch one extra row to learn whether another page exists
+        List<Job> jobs;
+        if (!criteria.isEmpty() && jobSearchIndex.isReady()) {
+            jobs = loadInOrder(jobSearchIndex.searchAfter(criteria, sortBy, descending, after, size + 1));
+        } else {
+            jobs = jobRepository.findJobsAfter(criteria, sortBy, descending, after, size + 1);
+        }
+
+        String nextCursor = null;
+        if (jobs.size() > size) {
+            jobs = new ArrayList<>(jobs.subList(0, size));
+            nextCursor = JobCursor.after(jobs.get(size - 1), sortBy, descending).encode();
+        }
+        return new CursorPage<>(jobs, nextCursor);
+    }
+
+    /**
+     * Jobs ranked by how many (and how rare) of the given skills they list.
+     * Falls back to the skills join in the database, ranked by match count,
+     * while the index is not available.
+     */
+    public List<SkillMatchResult> matchSkills(List<String> skills, int limit) {
+        List<SkillMatchResult> results = new ArrayList<>();
+        if (jobSearchIndex.isReady()) {
+            List<SkillMatch> matches = jobSearchIndex.matchSkills(skills, limit);
+            List<Long> ids = new ArrayList<>(matches.size());
+            for (SkillMatch match : matches) {
+                ids.add(match.getJobId());
+            }
+            Map<Long, Job> jobs = new HashMap<>();
+            for (Job job : jobRepository.findAllById(ids)) {
+                jobs.put(job.getId(), job);
+            }
+            for (SkillMatch match : matches) {
+                Job job = jobs.get(match.getJobId());
+                if (job != null) {
+                    results.add(new SkillMatchResult(job, match.getMatchedSkills(), match.getScore()));
+                }
+            }
+            return results;
+        }
+
+        // Ranked and limited in the database, so the limit applies to jobs
+        // rather than to the joined rows, one per matched skill
+        List<Object[]> ranked = jobRepository.rankJobsBySkills(skills, PageRequest.of(0, limit));
+        List<Long> ids = new ArrayList<>(ranked.size());
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Object[] row : ranked) {
+            ids.add((Long) row[0]);
+            counts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        for (Job job : loadInOrder(ids)) {
+            int matched = counts.get(job.getId());
+            results.add(new SkillMatchResult(job, matched, matched));
+        }
+        return results;
+    }
+
+    /**
+     * Cached pages outlive the persistence context, so their lazy skills must
+     * be loaded before they are cached rather than during serialization.
+     */
+    private Page<Job> initializeSkills(Page<Job> page) {
+        for (Job job : page.getContent()) {
+            Hibernate.initialize(job.getSkills());
+        }
+        return page;
+    }
+
+    private List<Job> loadInOrder(List<Long> ids) {
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : jobRepository.findAllById(ids)) {
+            byId.put(job.getId(), job);
+        }
+        List<Job> jobs = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Job job = byId.get(id);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,29 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import reactor.core.publisher.Flux;
+
+/**
+ * A provider that jobs are fetched from. Every implementation, real or
+ * mock, is picked up by {@link JobSourceFanOut}.
+ */
+public interface JobSource {
+
+    /** Short name, as in the jobs' {@code source} column and the {@code app.external-apis.<name>} properties. */
+    String getName();
+
+    /** Whether this source only simulates its provider. */
+    boolean isMock();
+
+    /** Whether the source can be fetched from, e.g. its credentials are configured. */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Fetches and stores up to {@code maxResults} new jobs, emitting each one
+     * as soon as it is stored. Cancelling stops further requests; jobs already
+     * stored stay stored.
+     */
+    Flux<Job> streamJobs(String title, String location, int maxResults);
+}
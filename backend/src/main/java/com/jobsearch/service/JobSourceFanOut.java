@@ -0,0 +1,93 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches from every enabled {@link JobSource} at once and merges their jobs
+ * in the order they are stored, so the total fetch takes as long as the
+ * slowest source rather than the sum of all of them. Each source gets
+ * {@code app.external-apis.<name>.deadline-ms}, by default
+ * {@code app.fetch.source-deadline-ms}; a source still running at its
+ * deadline is cancelled and contributes the jobs it stored until then. A
+ * failing source contributes what it stored before failing and does not
+ * affect the others.
+ */
+@Component
+public class JobSourceFanOut {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobSourceFanOut.class);
+
+    private final List<JobSource> sources;
+    private final Environment environment;
+    private final long defaultDeadlineMs;
+
+    public JobSourceFanOut(List<JobSource> sources,
+                           Environment environment,
+                           @Value("${app.fetch.source-deadline-ms:30000}") long defaultDeadlineMs) {
+        this.sources = sources;
+        this.environment = environment;
+        this.defaultDeadlineMs = defaultDeadlineMs;
+    }
+
+    /**
+     * Splits {@code maxResults} evenly between the enabled sources; none is
+     * asked for more than {@code maxResultsPerSource}.
+     *
+     * @param mock whether to fetch from the mock sources instead of the real ones
+     * @return all new jobs stored by the sources, in the order they were stored
+     */
+    public Mono<List<Job>> fetchAll(boolean mock, String title, String location, int maxResults, int maxResultsPerSource) {
+        List<JobSource> selected = new ArrayList<>();
+        for (JobSource source : sources) {
+            if (source.isMock() == mock && source.isEnabled()) {
+                selected.add(source);
+            }
+        }
+        if (selected.isEmpty()) {
+            logger.warn("No {} job source is enabled", mock ? "mock" : "real");
+            return Mono.just(new ArrayList<>());
+        }
+
+        int share = maxResults / selected.size();
+        int remainder = maxResults % selected.size();
+        List<Flux<Job>> fetches = new ArrayList<>(selected.size());
+        for (int i = 0; i < selected.size(); i++) {
+            int limit = Math.min(maxResultsPerSource, share + (i < remainder ? 1 : 0));
+            if (limit > 0) {
+                fetches.add(fetchFrom(selected.get(i), title, location, limit));
+            }
+        }
+        return Flux.merge(fetches).collectList();
+    }
+
+    private Flux<Job> fetchFrom(JobSource source, String title, String location, int maxResults) {
+        String name = source.getName();
+        long deadlineMs = environment.getProperty("app.external-apis." + name + ".deadline-ms", Long.class, defaultDeadlineMs);
+        AtomicInteger count = new AtomicInteger();
+        long start = System.currentTimeMillis();
+
+        return Flux.defer(() -> source.streamJobs(title, location, maxResults))
+                .takeUntilOther(Mono.delay(Duration.ofMillis(deadlineMs))
+                    .doOnNext(tick -> logger.warn("{} missed its {} ms deadline, keeping the {} jobs stored so far",
+                        name, deadlineMs, count.get())))
+                .doOnNext(job -> count.incrementAndGet())
+                .onErrorResume(e -> {
+                    logger.error("{} fetch failed after {} jobs: {}", name, count.get(), e.getMessage());
+                    return Flux.empty();
+                })
+                .doOnComplete(() -> logger.info("{} contributed {} new jobs in {} ms",
+                    name, count.get(), System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,109 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import com.jobsearch.repository.JobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory job counts per source, so {@code /jobs/stats} is answered without
+ * touching the database. The counters are seeded at startup, incremented from
+ * {@link JobsSavedEvent} and periodically reset to the database counts, which
+ * also corrects any drift from jobs changed outside the save path.
+ *
+ * Increments are lock-free. Reconciliation builds fresh counters and swaps
+ * them in; a batch counted concurrently with the swap may be off by one
+ * batch until the next reconciliation, as may one committed while the
+ * database is being counted.
+ */
+@Service
+public class JobStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobStatsService.class);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    // Null until the first reconciliation succeeds
+    private volatile Counts counts;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            Counts fresh = new Counts();
+            for (Object[] row : jobRepository.countJobsGroupedBySource()) {
+                long sourceCount = (Long) row[1];
+                if (row[0] != null) {
+                    fresh.counter((String) row[0]).add(sourceCount);
+                }
+                fresh.total.add(sourceCount);
+            }
+            counts = fresh;
+            logger.debug("Reconciled job stats: {} jobs", fresh.total.sum());
+        } catch (Exception e) {
+            logger.error("Failed to reconcile job stats: {}", e.getMessage(), e);
+        }
+    }
+
+    @EventListener
+    public void onJobsSaved(JobsSavedEvent event) {
+        Counts current = counts;
+        if (current == null) {
+            return; // not seeded yet; the seed will include these jobs
+        }
+        // Tally the batch first so each counter is touched once per batch
+        Map<String, Long> added = new HashMap<>();
+        long total = 0;
+        for (Job job : event.getJobs()) {
+            if (event.isUpdate(job)) {
+                continue;
+            }
+            total++;
+            if (job.getSource() != null) {
+                added.merge(job.getSource(), 1L, Long::sum);
+            }
+        }
+        current.total.add(total);
+        added.forEach((source, count) -> current.counter(source).add(count));
+    }
+
+    public long getTotalJobCount() {
+        Counts current = counts;
+        return current != null ? current.total.sum() : jobRepository.count();
+    }
+
+    public long getJobCountBySource(String source) {
+        Counts current = counts;
+        if (current == null) {
+            return jobRepository.countJobsBySource(source);
+        }
+        LongAdder adder = current.bySource.get(source);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static final class Counts {
+        final LongAdder total = new LongAdder();
+        final Map<String, LongAdder> bySource = new ConcurrentHashMap<>();
+
+        LongAdder counter(String source) {
+            return bySource.computeIfAbsent(source, s -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import com.jobsearch.location.LocationNormalizer;
+import com.jobsearch.repository.JobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Shared write path for one page of fetched jobs. A single
+ * {@code externalId IN (...)} lookup returns the stored content hash of every
+ * job of the page that already exists:
+ * <ul>
+ *   <li>new jobs go through one batched insert-if-absent statement each</li>
+ *   <li>stored jobs whose hash differs are updated in one batch</li>
+ *   <li>stored jobs with the same hash are not written at all</li>
+ * </ul>
+ * One {@link JobsSavedEvent} is published for the jobs actually written. A job
+ * stored by a concurrent fetch between the lookup and the insert is counted
+ * as unchanged rather than failing the page.
+ * <p>
+ * The rows are written with plain JDBC, which bypasses the Bean Validation
+ * that {@code save()} applied, so each job is validated here first. A job
+ * that breaks a constraint of {@link Job} is logged and dropped. It would
+ * otherwise store an oversized value, or fail the whole batch on PostgreSQL.
+ */
+@Service
+public class JobWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWriter.class);
+
+    private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LocationNormalizer locationNormalizer;
+    private final Scheduler ingestionScheduler;
+    private final Validator validator;
+    private final Timer lookupTimer;
+    private final Timer insertTimer;
+    private final Timer updateTimer;
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter unchangedCounter;
+    private final Counter invalidCounter;
+
+    public JobWriter(JobRepository jobRepository,
+                     ApplicationEventPublisher eventPublisher,
+                     LocationNormalizer locationNormalizer,
+                     @Qualifier("ingestionScheduler") Scheduler ingestionScheduler,
+                     Validator validator,
+                     MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+        this.locationNormalizer = locationNormalizer;
+        this.ingestionScheduler = ingestionScheduler;
+        this.validator = validator;
+        this.lookupTimer = Timer.builder("jobs.ingest.write")
+            .tag("phase", "lookup")
+            .description("Time to find already stored jobs of a fetched page")
+            .register(meterRegistry);
+        this.insertTimer = Timer.builder("jobs.ingest.write")
+            .tag("phase", "insert")
+            .description("Time to insert the new jobs of a fetched page")
+            .register(meterRegistry);
+        this.updateTimer = Timer.builder("jobs.ingest.write")
+            .tag("phase", "update")
+            .description("Time to update the changed jobs of a fetched page")
+            .register(meterRegistry);
+        this.insertedCounter = Counter.builder("jobs.ingest.rows")
+            .tag("outcome", "inserted")
+            .register(meterRegistry);
+        this.updatedCounter = Counter.builder("jobs.ingest.rows")
+            .tag("outcome", "updated")
+            .register(meterRegistry);
+        this.unchangedCounter = Counter.builder("jobs.ingest.rows")
+            .tag("outcome", "unchanged")
+            .register(meterRegistry);
+        this.invalidCounter = Counter.builder("jobs.ingest.rows")
+            .tag("outcome", "invalid")
+            .register(meterRegistry);
+    }
+
+    /**
+     * {@link #saveNew} on the bounded ingestion scheduler, for the reactive
+     * fetch pipelines. Cancelling, e.g. at a source's fetch deadline, does
+     * not interrupt a write already started; it completes and is published.
+     */
+    public Mono<List<Job>> saveNewAsync(List<Job> page, int limit) {
+        return Mono.fromFuture(() -> CompletableFuture.supplyAsync(() -> saveNew(page, limit),
+                task -> ingestionScheduler.schedule(task)), true);
+    }
+
+    /**
+     * Saves at most {@code limit} jobs of the page that are not stored yet,
+     * keeping page order, and updates the stored jobs of the page whose
+     * content changed. Jobs repeated within the page are written once.
+     *
+     * @return the inserted jobs, with ids assigned
+     */
+    public List<Job> saveNew(List<Job> page, int limit) {
+        if (page.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        Map<String, Job> byExternalId = new LinkedHashMap<>();
+        for (Job job : page) {
+            Set<ConstraintViolation<Job>> violations = validator.validate(job);
+            if (!violations.isEmpty()) {
+                logger.warn("Skipping invalid job {} from {}: {}", job.getExternalId(), job.getSource(),
+                    violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                invalidCounter.increment();
+                continue;
+            }
+            byExternalId.putIfAbsent(job.getExternalId(), job);
+        }
+        if (byExternalId.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Object[]> stored = new HashMap<>();
+        for (Object[] row : lookupTimer.record(() -> jobRepository.findStoredVersions(byExternalId.keySet()))) {
+            stored.put((String) row[0], row);
+        }
+
+        List<Job> fresh = new ArrayList<>();
+        List<Job> changed = new ArrayList<>();
+        int unchanged = 0;
+        for (Job job : byExternalId.values()) {
+            if (job.getContentHash() == null) {
+                job.setContentHash(JobContentHash.of(job));
+            }
+            Object[] version = stored.get(job.getExternalId());
+            if (version == null) {
+                if (fresh.size() < limit) {
+                    locationNormalizer.normalize(job);
+                    fresh.add(job);
+                }
+            } else if (job.getContentHash().equals(version[2])) {
+                logger.debug("Job already exists, skipping: {}", job.getExternalId());
+                unchanged++;
+            } else {
+                job.setId((Long) version[1]);
+                job.setCreatedAt((LocalDateTime) version[3]);
+                locationNormalizer.normalize(job);
+                changed.add(job);
+            }
+        }
+
+        List<Job> inserted = fresh.isEmpty()
+            ? new ArrayList<>()
+            : insertTimer.record(() -> jobRepository.insertIfAbsent(fresh));
+        List<Job> updated = changed.isEmpty()
+            ? new ArrayList<>()
+            : updateTimer.record(() -> jobRepository.updateContent(changed));
+        unchanged += fresh.size() - inserted.size() + changed.size() - updated.size();
+        insertedCounter.increment(inserted.size());
+        updatedCounter.increment(updated.size());
+        unchangedCounter.increment(unchanged);
+        logger.debug("Ingested page: {} inserted, {} updated, {} unchanged",
+            inserted.size(), updated.size(), unchanged);
+
+        if (!inserted.isEmpty() || !updated.isEmpty()) {
+            eventPublisher.publishEvent(new JobsSavedEvent(inserted, updated));
+        }
+        return inserted;
+    }
+}
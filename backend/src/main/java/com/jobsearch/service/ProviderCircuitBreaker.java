@@ -0,0 +1,202 @@
+package com.jobsearch.service;
+
+import com.jobsearch.dto.CircuitStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker per upstream provider. A closed circuit opens after
+ * {@code app.circuit-breaker.failure-threshold} consecutive transient
+ * failures (see {@link UpstreamRetry#isTransient}), or at once on a failure
+ * carrying {@code Retry-After}. An open circuit fails every request instantly
+ * with {@link CircuitOpenException}, for the provider's {@code Retry-After}
+ * if it sent one, otherwise for a jittered backoff that starts at
+ * {@code open-ms} and doubles with every re-open up to {@code max-open-ms}.
+ * After that a single probe request is let through (half-open): its success
+ * closes the circuit, a transient failure opens it again.
+ * <p>
+ * Other failures, such as a 400 or a local quota refusal, say nothing about
+ * the provider's health and leave the circuit as it is.
+ */
+@Service
+public class ProviderCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Duration maxOpenDuration;
+    private final LongSupplier nanoTime;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProviderCircuitBreaker(@Value("${app.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${app.circuit-breaker.open-ms:30000}") long openMs,
+                                  @Value("${app.circuit-breaker.max-open-ms:600000}") long maxOpenMs) {
+        this(failureThreshold, openMs, maxOpenMs, System::nanoTime);
+    }
+
+    /** @param nanoTime the clock open periods are measured on, {@link System#nanoTime} outside tests */
+    ProviderCircuitBreaker(int failureThreshold, long openMs, long maxOpenMs, LongSupplier nanoTime) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = Duration.ofMillis(Math.max(1, openMs));
+        this.maxOpenDuration = Duration.ofMillis(Math.max(openMs, maxOpenMs));
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Subscribes to {@code call} only if the provider's circuit lets it
+     * through, and records its outcome.
+     */
+    public <T> Mono<T> protect(String provider, Mono<T> call) {
+        return Mono.defer(() -> {
+            Circuit circuit = circuitOf(provider);
+            Boolean probe = circuit.tryPass();
+            if (probe == null) {
+                return Mono.error(new CircuitOpenException(provider, circuit.openForMs()));
+            }
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call
+                .doOnSuccess(value -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        circuit.onSuccess(probe);
+                    }
+                })
+                .doOnError(e -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        circuit.onFailure(probe, e);
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (recorded.compareAndSet(false, true)) {
+                        circuit.onCancel(probe);
+                    }
+                });
+        });
+    }
+
+    /** Every provider that has been called, by name. */
+    public List<CircuitStatus> status() {
+        List<CircuitStatus> status = new ArrayList<>();
+        for (Circuit circuit : new TreeMap<>(circuits).values()) {
+            status.add(circuit.status());
+        }
+        return status;
+    }
+
+    private Circuit circuitOf(String provider) {
+        return circuits.computeIfAbsent(provider, Circuit::new);
+    }
+
+    private final class Circuit {
+
+        private final String provider;
+        private State state = State.CLOSED;
+        private int failures;
+        private int opens;
+        private long openUntilNanos;
+        private boolean probeInFlight;
+        private String lastFailure;
+
+        Circuit(String provider) {
+            this.provider = provider;
+        }
+
+        /** @return whether the request is the half-open probe, or {@code null} if it may not pass */
+        synchronized Boolean tryPass() {
+            switch (state) {
+                case CLOSED:
+                    return Boolean.FALSE;
+                case OPEN:
+                    if (nanoTime.getAsLong() - openUntilNanos < 0) {
+                        return null;
+                    }
+                    state = State.HALF_OPEN;
+                    probeInFlight = true;
+                    logger.info("Circuit of {} half-open, sending a probe request", provider);
+                    return Boolean.TRUE;
+                default:
+                    if (probeInFlight) {
+                        return null;
+                    }
+                    probeInFlight = true;
+                    return Boolean.TRUE;
+            }
+        }
+
+        synchronized void onSuccess(boolean probe) {
+            if (probe) {
+                logger.info("Probe request to {} succeeded, closing the circuit", provider);
+                state = State.CLOSED;
+                probeInFlight = false;
+                opens = 0;
+                failures = 0;
+            } else if (state == State.CLOSED) {
+                failures = 0;
+            }
+            // A request admitted before the circuit opened proves nothing now
+        }
+
+        synchronized void onFailure(boolean probe, Throwable e) {
+            if (!UpstreamRetry.isTransient(e)) {
+                onCancel(probe);
+                return;
+            }
+            lastFailure = e.getMessage();
+            Duration retryAfter = UpstreamRetry.retryAfterOf(e);
+            if (probe) {
+                open(retryAfter);
+            } else if (state == State.CLOSED) {
+                failures++;
+                if (retryAfter != null || failures >= failureThreshold) {
+                    open(retryAfter);
+                }
+            }
+        }
+
+        synchronized void onCancel(boolean probe) {
+            if (probe) {
+                probeInFlight = false;
+            }
+        }
+
+        private void open(Duration retryAfter) {
+            Duration openFor = retryAfter != null
+                ? retryAfter
+                : UpstreamRetry.jittered(openDuration, maxOpenDuration, opens);
+            opens++;
+            state = State.OPEN;
+            probeInFlight = false;
+            openUntilNanos = nanoTime.getAsLong() + openFor.toNanos();
+            logger.warn("Circuit of {} opened for {} ms after {} consecutive failures: {}",
+                provider, openFor.toMillis(), failures, lastFailure);
+        }
+
+        synchronized long openForMs() {
+            return Math.max(0, Duration.ofNanos(openUntilNanos - nanoTime.getAsLong()).toMillis());
+        }
+
+        synchronized CircuitStatus status() {
+            Instant openUntil = state == State.OPEN
+                ? Instant.now().plusNanos(Math.max(0, openUntilNanos - nanoTime.getAsLong()))
+                : null;
+            return new CircuitStatus(provider, state.name(), failures, openUntil, lastFailure);
+        }
+    }
+}
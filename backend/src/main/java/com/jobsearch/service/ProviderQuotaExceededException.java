@@ -0,0 +1,19 @@
+package com.jobsearch.service;
+
+/**
+ * The shared request quota of an upstream provider has no permit available
+ * within the configured maximum wait.
+ */
+public class ProviderQuotaExceededException extends RuntimeException {
+
+    private final String provider;
+
+    public ProviderQuotaExceededException(String provider) {
+        super("Request quota of " + provider + " exhausted - try again later");
+        this.provider = provider;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+}
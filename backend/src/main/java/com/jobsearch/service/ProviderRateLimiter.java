@@ -0,0 +1,165 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.ProviderRateLimit;
+import com.jobsearch.repository.ProviderRateLimitRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket per upstream provider, shared by all backend nodes through the
+ * {@code provider_rate_limits} table. For a provider {@code p}:
+ * <ul>
+ *   <li>tokens refill at {@code app.external-apis.p.requests-per-hour},
+ *       by default {@code app.rate-limit.api-requests-per-hour}</li>
+ *   <li>the bucket holds at most {@code app.external-apis.p.max-requests-per-fetch}
+ *       tokens, so one fetch can use its whole page budget without waiting on
+ *       the refill</li>
+ *   <li>consecutive requests start at least
+ *       {@code app.external-apis.p.delay-between-requests} ms apart</li>
+ * </ul>
+ * A permit is reserved in one short row-locked transaction on the
+ * {@code rateLimitScheduler}, which tells the caller when its request may
+ * start; the wait itself is a timer, so no thread is held. A request that would have to wait longer than
+ * {@code app.rate-limit.max-wait-ms} reserves nothing and fails with
+ * {@link ProviderQuotaExceededException}. A reservation whose wait is
+ * cancelled is not given back.
+ */
+@Service
+public class ProviderRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRateLimiter.class);
+    private static final long DENIED = -1;
+
+    private final ProviderRateLimitRepository rateLimitRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Scheduler rateLimitScheduler;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final long defaultRequestsPerHour;
+    private final long maxWaitMs;
+    private final Map<String, Limits> limits = new ConcurrentHashMap<>();
+
+    public ProviderRateLimiter(ProviderRateLimitRepository rateLimitRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier("rateLimitScheduler") Scheduler rateLimitScheduler,
+                               Environment environment,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.rate-limit.api-requests-per-hour:1000}") long defaultRequestsPerHour,
+                               @Value("${app.rate-limit.max-wait-ms:120000}") long maxWaitMs) {
+        this.rateLimitRepository = rateLimitRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimitScheduler = rateLimitScheduler;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.defaultRequestsPerHour = defaultRequestsPerHour;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Completes once a request to {@code provider} may be sent, or fails with
+     * {@link ProviderQuotaExceededException} if that is too far away.
+     */
+    public Mono<Void> acquire(String provider) {
+        return Mono.fromCallable(() -> reserve(provider))
+            .subscribeOn(rateLimitScheduler)
+            .flatMap(waitMs -> {
+                if (waitMs == DENIED) {
+                    logger.warn("Request quota of {} exhausted for the next {} ms", provider, maxWaitMs);
+                    return Mono.<Void>error(new ProviderQuotaExceededException(provider));
+                }
+                waitTimer(provider).record(Duration.ofMillis(waitMs));
+                if (waitMs == 0) {
+                    return Mono.<Void>empty();
+                }
+                logger.debug("Waiting {} ms for a {} request permit", waitMs, provider);
+                return Mono.delay(Duration.ofMillis(waitMs)).then();
+            });
+    }
+
+    /** The most page requests a single fetch from {@code provider} may send. */
+    public int maxRequestsPerFetch(String provider) {
+        return limitsOf(provider).capacity;
+    }
+
+    private long reserve(String provider) {
+        try {
+            return reserveOnce(provider);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the bucket first; it is there now
+            return reserveOnce(provider);
+        }
+    }
+
+    private long reserveOnce(String provider) {
+        Limits limits = limitsOf(provider);
+        return transactionTemplate.execute(status -> {
+            long now = System.currentTimeMillis();
+            ProviderRateLimit bucket = rateLimitRepository.findForUpdate(provider)
+                .orElseGet(() -> rateLimitRepository.saveAndFlush(
+                    new ProviderRateLimit(provider, limits.capacity, now)));
+
+            // Nodes' clocks may disagree slightly; never refill backwards
+            if (now > bucket.getRefilledAtMs()) {
+                double refilled = bucket.getTokens() + (now - bucket.getRefilledAtMs()) * limits.tokensPerMs;
+                bucket.setTokens(Math.min(limits.capacity, refilled));
+                bucket.setRefilledAtMs(now);
+            }
+
+            long tokenAt = bucket.getTokens() >= 1
+                ? now
+                : now + (long) Math.ceil((1 - bucket.getTokens()) / limits.tokensPerMs);
+            long startAt = Math.max(tokenAt, bucket.getNextRequestAtMs());
+            long waitMs = Math.max(0, startAt - now);
+            if (waitMs > maxWaitMs) {
+                return DENIED;
+            }
+
+            bucket.setTokens(bucket.getTokens() - 1);
+            bucket.setNextRequestAtMs(startAt + limits.delayMs);
+            return waitMs;
+        });
+    }
+
+    private Limits limitsOf(String provider) {
+        return limits.computeIfAbsent(provider, p -> {
+            String prefix = "app.external-apis." + p + ".";
+            long perHour = environment.getProperty(prefix + "requests-per-hour", Long.class, defaultRequestsPerHour);
+            int capacity = environment.getProperty(prefix + "max-requests-per-fetch", Integer.class, 10);
+            long delayMs = environment.getProperty(prefix + "delay-between-requests", Long.class, 0L);
+            return new Limits(Math.max(1, perHour), Math.max(1, capacity), Math.max(0, delayMs));
+        });
+    }
+
+    private Timer waitTimer(String provider) {
+        return Timer.builder("upstream.ratelimit.wait")
+            .tag("provider", provider)
+            .description("Time a provider request waited for its permit")
+            .register(meterRegistry);
+    }
+
+    private static final class Limits {
+        final double tokensPerMs;
+        final int capacity;
+        final long delayMs;
+
+        Limits(long requestsPerHour, int capacity, long delayMs) {
+            this.tokensPerMs = requestsPerHour / 3_600_000.0;
+            this.capacity = capacity;
+            this.delayMs = delayMs;
+        }
+    }
+}
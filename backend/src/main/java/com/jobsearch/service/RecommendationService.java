@@ -0,0 +1,50 @@
+package com.jobsearch.service;
+
+import com.jobsearch.dto.RecommendationResult;
+import com.jobsearch.entity.Job;
+import com.jobsearch.recommendation.Recommendation;
+import com.jobsearch.recommendation.RecommendationEngine;
+import com.jobsearch.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RecommendationService {
+
+    @Autowired
+    private RecommendationEngine recommendationEngine;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    /**
+     * The user's precomputed recommendations, best first, up to {@code limit}.
+     */
+    public List<RecommendationResult> recommend(Long userId, int limit) {
+        List<Recommendation> recommendations = recommendationEngine.recommendationsFor(userId);
+        List<Recommendation> page = recommendations.subList(0, Math.min(limit, recommendations.size()));
+
+        List<Long> ids = new ArrayList<>(page.size());
+        for (Recommendation recommendation : page) {
+            ids.add(recommendation.getJobId());
+        }
+        Map<Long, Job> byId = new HashMap<>();
+        for (Job job : jobRepository.findAllById(ids)) {
+            byId.put(job.getId(), job);
+        }
+
+        List<RecommendationResult> results = new ArrayList<>(page.size());
+        for (Recommendation recommendation : page) {
+            Job job = byId.get(recommendation.getJobId());
+            if (job != null) {
+                results.add(new RecommendationResult(job, recommendation.getScore()));
+            }
+        }
+        return results;
+    }
+}
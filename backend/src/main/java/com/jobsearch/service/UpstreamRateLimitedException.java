@@ -0,0 +1,54 @@
+package com.jobsearch.service;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * An upstream provider answered 429. Carries the provider's
+ * {@code Retry-After} hint, if it sent one.
+ */
+public class UpstreamRateLimitedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitedException(String provider, Duration retryAfter) {
+        super("Rate limit of " + provider + " exceeded - try again later");
+        this.retryAfter = retryAfter;
+    }
+
+    /** The wait the provider asked for, or {@code null} if it did not say. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Reads {@code Retry-After} as delay seconds or an HTTP date.
+     *
+     * @return the wait from now, or {@code null} if the header is missing or
+     *         unreadable
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds; try the HTTP-date form
+        }
+        try {
+            Instant at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            Duration wait = Duration.between(Instant.now(), at);
+            return wait.isNegative() ? Duration.ZERO : wait;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
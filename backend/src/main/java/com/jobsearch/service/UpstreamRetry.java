@@ -0,0 +1,80 @@
+package com.jobsearch.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retries a provider request that failed transiently: answered 429 or 5xx,
+ * or not answered at all. The wait is the provider's {@code Retry-After}
+ * when it sent one, otherwise an exponential backoff from
+ * {@code minBackoff} with jitter, so retries of parallel fetches do not
+ * arrive together. A {@code Retry-After} longer than {@code maxBackoff} is
+ * not waited for; the failure is passed on instead.
+ */
+public final class UpstreamRetry {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRetry.class);
+
+    private UpstreamRetry() {
+    }
+
+    public static Retry onTransientFailure(String provider, int maxRetries, Duration minBackoff, Duration maxBackoff) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            if (!isTransient(failure) || signal.totalRetries() >= maxRetries) {
+                return Mono.error(failure);
+            }
+            Duration retryAfter = retryAfterOf(failure);
+            Duration wait = retryAfter != null
+                ? retryAfter
+                : jittered(minBackoff, maxBackoff, signal.totalRetries());
+            if (wait.compareTo(maxBackoff) > 0) {
+                logger.warn("{} asked to retry after {} s, longer than the {} s allowed; giving up",
+                    provider, retryAfter.toSeconds(), maxBackoff.toSeconds());
+                return Mono.error(failure);
+            }
+            logger.warn("Waiting {} ms before retry {} of {} request", wait.toMillis(), signal.totalRetries() + 1, provider);
+            return Mono.delay(wait);
+        }));
+    }
+
+    /** Failures that say the provider is overloaded or unreachable, rather than that the request was wrong. */
+    public static boolean isTransient(Throwable e) {
+        if (e instanceof UpstreamRateLimitedException
+            || e instanceof WebClientRequestException
+            || e instanceof TimeoutException) {
+            return true;
+        }
+        return e instanceof WebClientResponseException
+            && ((WebClientResponseException) e).getStatusCode().is5xxServerError();
+    }
+
+    /** The {@code Retry-After} sent with a failed response, or {@code null}. */
+    public static Duration retryAfterOf(Throwable e) {
+        if (e instanceof UpstreamRateLimitedException) {
+            return ((UpstreamRateLimitedException) e).getRetryAfter();
+        }
+        if (e instanceof WebClientResponseException) {
+            return UpstreamRateLimitedException.retryAfter(((WebClientResponseException) e).getHeaders());
+        }
+        return null;
+    }
+
+    /** Between half and all of {@code min * 2^attempt}, capped at {@code max}. */
+    static Duration jittered(Duration min, Duration max, long attempt) {
+        long ceiling = min.toMillis() << Math.min(attempt, 30);
+        if (ceiling <= 0 || ceiling > max.toMillis()) {
+            ceiling = max.toMillis();
+        }
+        long half = ceiling / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(ceiling - half + 1));
+    }
+}
@@ -1,13 +1,18 @@
 package com.jobsearch.service.mock;
 
 import com.jobsearch.entity.Job;
-import com.jobsearch.repository.JobRepository;
+import com.jobsearch.service.JobContentHash;
+import com.jobsearch.service.JobSource;
+import com.jobsearch.service.JobWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -16,43 +21,44 @@ import java.util.Random;
 
 @Service
 @ConditionalOnProperty(name = "app.adzuna.enabled", havingValue = "true")
-public class MockAdzunaJobService {
+public class MockAdzunaJobService implements JobSource {
     
     private static final Logger logger = LoggerFactory.getLogger(MockAdzunaJobService.class);
-    private final JobRepository jobRepository;
+    private final JobWriter jobWriter;
     private final Random random = new Random();
 
     @Autowired
-    public MockAdzunaJobService(JobRepository jobRepository) {
-        this.jobRepository = jobRepository;
+    public MockAdzunaJobService(JobWriter jobWriter) {
+        this.jobWriter = jobWriter;
     }
 
-    public List<Job> fetchAndSaveJobs(String what, String where, int maxResults) {
-        logger.info("MOCK: Starting Adzuna fetch for what: '{}', where: '{}', maxResults: {}", what, where, maxResults);
-        
-        // Simulate API delay
-        try {
-            Thread.sleep(800 + random.nextInt(1500)); // 0.8-2.3 second delay
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public Mono<List<Job>> fetchJobs(String what, String where, int maxResults) {
+        return streamJobs(what, where, maxResults)
+                .collectList()
+                .doOnNext(savedJobs -> logger.info("MOCK: Fetched {} new jobs from Adzuna for query: {} in {}", savedJobs.size(), what, where));
+    }
 
-        List<Job> mockJobs = generateMockAdzunaJobs(what, where, maxResults);
-        List<Job> savedJobs = new ArrayList<>();
+    @Override
+    public String getName() {
+        return "adzuna";
+    }
 
-        for (Job job : mockJobs) {
-            // Check if job already exists
-            if (!jobRepository.findByExternalId(job.getExternalId()).isPresent()) {
-                Job savedJob = jobRepository.save(job);
-                savedJobs.add(savedJob);
-                logger.debug("MOCK: Saved new job from Adzuna: {}", job.getTitle());
-            } else {
-                logger.debug("MOCK: Job already exists, skipping: {}", job.getExternalId());
-            }
-        }
+    @Override
+    public boolean isMock() {
+        return true;
+    }
 
-        logger.info("MOCK: Fetched {} new jobs from Adzuna for query: {} in {}", savedJobs.size(), what, where);
-        return savedJobs;
+    @Override
+    public Flux<Job> streamJobs(String what, String where, int maxResults) {
+        logger.info("MOCK: Starting Adzuna fetch for what: '{}', where: '{}', maxResults: {}", what, where, maxResults);
+        
+        // Simulate API delay without holding a thread
+        return Mono.delay(Duration.ofMillis(800 + random.nextInt(1500))) // 0.8-2.3 second delay
+                .then(Mono.defer(() -> {
+                    List<Job> mockJobs = generateMockAdzunaJobs(what, where, maxResults);
+                    return jobWriter.saveNewAsync(mockJobs, mockJobs.size());
+                }))
+                .flatMapIterable(savedJobs -> savedJobs);
     }
 
     private List<Job> generateMockAdzunaJobs(String what, String where, int maxResults) {
@@ -125,6 +131,7 @@ public class MockAdzunaJobService {
             // Set timestamps
             job.setCreatedAt(LocalDateTime.now());
             job.setUpdatedAt(LocalDateTime.now());
+            job.setContentHash(JobContentHash.of(job));
             
             jobs.add(job);
         }
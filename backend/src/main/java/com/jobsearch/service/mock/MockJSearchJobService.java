@@ -1,13 +1,18 @@
 package com.jobsearch.service.mock;
 
 import com.jobsearch.entity.Job;
-import com.jobsearch.repository.JobRepository;
+import com.jobsearch.service.JobContentHash;
+import com.jobsearch.service.JobSource;
+import com.jobsearch.service.JobWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -16,43 +21,44 @@ import java.util.Random;
 
 @Service
 @ConditionalOnProperty(name = "app.mock.enabled", havingValue = "true")
-public class MockJSearchJobService {
+public class MockJSearchJobService implements JobSource {
     
     private static final Logger logger = LoggerFactory.getLogger(MockJSearchJobService.class);
-    private final JobRepository jobRepository;
+    private final JobWriter jobWriter;
     private final Random random = new Random();
 
     @Autowired
-    public MockJSearchJobService(JobRepository jobRepository) {
-        this.jobRepository = jobRepository;
+    public MockJSearchJobService(JobWriter jobWriter) {
+        this.jobWriter = jobWriter;
     }
 
-    public List<Job> fetchAndSaveJobs(String role, String location, int maxResults) {
-        logger.info("MOCK: Starting JSearch fetch for role: '{}', location: '{}', maxResults: {}", role, location, maxResults);
-        
-        // Simulate API delay
-        try {
-            Thread.sleep(1000 + random.nextInt(2000)); // 1-3 second delay
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public Mono<List<Job>> fetchJobs(String role, String location, int maxResults) {
+        return streamJobs(role, location, maxResults)
+                .collectList()
+                .doOnNext(savedJobs -> logger.info("MOCK: Fetched {} new jobs from JSearch for query: {} in {}", savedJobs.size(), role, location));
+    }
 
-        List<Job> mockJobs = generateMockJSearchJobs(role, location, maxResults);
-        List<Job> savedJobs = new ArrayList<>();
+    @Override
+    public String getName() {
+        return "jsearch";
+    }
 
-        for (Job job : mockJobs) {
-            // Check if job already exists
-            if (!jobRepository.findByExternalId(job.getExternalId()).isPresent()) {
-                Job savedJob = jobRepository.save(job);
-                savedJobs.add(savedJob);
-                logger.debug("MOCK: Saved new job from JSearch: {}", job.getTitle());
-            } else {
-                logger.debug("MOCK: Job already exists, skipping: {}", job.getExternalId());
-            }
-        }
+    @Override
+    public boolean isMock() {
+        return true;
+    }
 
-        logger.info("MOCK: Fetched {} new jobs from JSearch for query: {} in {}", savedJobs.size(), role, location);
-        return savedJobs;
+    @Override
+    public Flux<Job> streamJobs(String role, String location, int maxResults) {
+        logger.info("MOCK: Starting JSearch fetch for role: '{}', location: '{}', maxResults: {}", role, location, maxResults);
+        
+        // Simulate API delay without holding a thread
+        return Mono.delay(Duration.ofMillis(1000 + random.nextInt(2000))) // 1-3 second delay
+                .then(Mono.defer(() -> {
+                    List<Job> mockJobs = generateMockJSearchJobs(role, location, maxResults);
+                    return jobWriter.saveNewAsync(mockJobs, mockJobs.size());
+                }))
+                .flatMapIterable(savedJobs -> savedJobs);
     }
 
     private List<Job> generateMockJSearchJobs(String role, String location, int maxResults) {
@@ -125,6 +131,7 @@ public class MockJSearchJobService {
             // Set timestamps
             job.setCreatedAt(LocalDateTime.now());
             job.setUpdatedAt(LocalDateTime.now());
+            job.setContentHash(JobContentHash.of(job));
             
             jobs.add(job);
         }
@@ -2,15 +2,16 @@ package com.jobsearch.service.mock;
 
 import com.jobsearch.entity.Job;
 import com.jobsearch.repository.JobRepository;
-import com.jobsearch.service.mock.MockJSearchJobService;
+import com.jobsearch.search.FilterDictionaries;
+import com.jobsearch.service.FetchCoalescer;
+import com.jobsearch.service.JobSourceFanOut;
+import com.jobsearch.service.JobStatsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,60 +20,55 @@ import java.util.concurrent.CompletableFuture;
 public class MockJobAggregatorService {
     
     private static final Logger logger = LoggerFactory.getLogger(MockJobAggregatorService.class);
+    private static final int MAX_RESULTS_PER_SOURCE = 20; // Up to 20 mock jobs from each source for testing
     
     @Autowired
-    private MockJSearchJobService mockJSearchJobService;
+    private JobSourceFanOut jobSourceFanOut;
     
     @Autowired
     private JobRepository jobRepository;
 
-    @Async
-    public CompletableFuture<List<Job>> fetchJobsFromAllSources(String jobTitle, String location, int maxResultsPerSource) {
-        List<Job> allJobs = new ArrayList<>();
-        
-        try {
-            // Use JSearch Mock only (simulating JSearch aggregating multiple sources)
-            int maxResults = Math.min(maxResultsPerSource, 20); // Up to 20 mock jobs for testing
-            
-            logger.info("MOCK: Starting JSearch job aggregation for: {} in {} (up to {} results)", 
-                       jobTitle, location, maxResults);
-            
-            // Fetch from Mock JSearch (simulates aggregated data from Indeed, LinkedIn, etc.)
-            try {
-                List<Job> jSearchJobs = mockJSearchJobService.fetchAndSaveJobs(jobTitle, location, maxResults);
-                allJobs.addAll(jSearchJobs);
-                logger.info("MOCK: JSearch fetch completed successfully: {} jobs found", jSearchJobs.size());
-                
-                if (jSearchJobs.isEmpty()) {
-                    logger.warn("MOCK: No jobs found from JSearch mock service");
-                }
-                
-            } catch (Exception e) {
-                logger.error("MOCK: JSearch fetch failed: {}", e.getMessage());
-            }
-            
-            logger.info("MOCK: Job aggregation completed. Total new jobs from JSearch: {}", allJobs.size());
-            
-        } catch (Exception e) {
-            logger.error("MOCK: Error during job aggregation: {}", e.getMessage(), e);
-        }
+    @Autowired
+    private FilterDictionaries filterDictionaries;
+
+    @Autowired
+    private JobStatsService jobStatsService;
+
+    @Autowired
+    private FetchCoalescer fetchCoalescer;
+
+    public CompletableFuture<List<Job>> fetchJobsFromAllSources(String jobTitle, String location, int maxResults) {
+        return fetchCoalescer.fetch("mock", jobTitle, location, maxResults,
+                () -> fetchFromSources(jobTitle, location, maxResults));
+    }
+
+    private CompletableFuture<List<Job>> fetchFromSources(String jobTitle, String location, int maxResults) {
+        logger.info("MOCK: Starting job aggregation for: {} in {} (up to {} results)", 
+                   jobTitle, location, maxResults);
         
-        return CompletableFuture.completedFuture(allJobs);
+        return jobSourceFanOut.fetchAll(true, jobTitle, location, maxResults, MAX_RESULTS_PER_SOURCE)
+                .doOnNext(allJobs -> {
+                    logger.info("MOCK: Job aggregation completed. Total new jobs: {}", allJobs.size());
+                    if (allJobs.isEmpty()) {
+                        logger.warn("MOCK: No jobs found from the mock sources");
+                    }
+                })
+                .toFuture();
     }
 
     public long getTotalJobCount() {
-        return jobRepository.count();
+        return jobStatsService.getTotalJobCount();
     }
 
     public long getJobCountBySource(String source) {
-        return jobRepository.countJobsBySource(source);
+        return jobStatsService.getJobCountBySource(source);
     }
 
-    public List<String> getDistinctLocations() {
-        return jobRepository.findDistinctLocations();
+    public List<String> getDistinctLocations(String prefix, int limit) {
+        return filterDictionaries.locations(prefix, limit);
     }
 
-    public List<String> getDistinctCompanies() {
-        return jobRepository.findDistinctCompanies();
+    public List<String> getDistinctCompanies(String prefix, int limit) {
+        return filterDictionaries.companies(prefix, limit);
     }
 }
\ No newline at end of file
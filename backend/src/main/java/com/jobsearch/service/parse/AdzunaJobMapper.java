@@ -0,0 +1,71 @@
+package com.jobsearch.service.parse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.jobsearch.entity.Job;
+import com.jobsearch.service.JobContentHash;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Maps an element of the Adzuna {@code results} array. Adzuna does not flag
+ * remote jobs, so they default to on-site.
+ */
+public class AdzunaJobMapper implements JobElementMapper {
+
+    @Override
+    public void value(Job job, String path, JsonParser parser) throws IOException {
+        switch (path) {
+            case "id":
+                job.setExternalId("adzuna_" + JsonValues.asText(parser));
+                break;
+            case "title":
+                job.setTitle(JsonValues.asText(parser));
+                break;
+            case "company.display_name":
+                job.setCompany(JsonValues.asText(parser));
+                break;
+            case "location.display_name":
+                job.setLocation(JsonValues.asText(parser));
+                break;
+            case "salary_min":
+                job.setSalaryMin(JsonValues.isNull(parser) ? null : JsonValues.asLong(parser));
+                break;
+            case "salary_max":
+                job.setSalaryMax(JsonValues.isNull(parser) ? null : JsonValues.asLong(parser));
+                break;
+            case "description":
+                job.setDescription(JsonValues.asText(parser));
+                break;
+            case "redirect_url":
+                job.setJobUrl(JsonValues.asText(parser));
+                break;
+            default:
+                // Not mapped
+                break;
+        }
+    }
+
+    @Override
+    public Job complete(Job job) {
+        if (job.getExternalId() == null) {
+            job.setExternalId("adzuna_" + UUID.randomUUID());
+        }
+        if (job.getTitle() == null) {
+            job.setTitle("");
+        }
+        if (job.getCompany() == null) {
+            job.setCompany("");
+        }
+        if (job.getDescription() == null) {
+            job.setDescription("");
+        }
+        if (job.getJobUrl() == null) {
+            job.setJobUrl("");
+        }
+        job.setSource("adzuna");
+        job.setIsRemote(false);
+        job.setContentHash(JobContentHash.of(job));
+        return job;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobsearch.service.parse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.jobsearch.entity.Job;
+import com.jobsearch.service.JobContentHash;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maps an element of the JSearch {@code data} array.
+ */
+public class JSearchJobMapper implements JobElementMapper {
+
+    @Override
+    public void value(Job job, String path, JsonParser parser) throws IOException {
+        switch (path) {
+            case "job_id":
+                job.setExternalId("jsearch_" + JsonValues.asText(parser));
+                break;
+            case "job_title":
+                job.setTitle(JsonValues.asText(parser));
+                break;
+            case "employer_name":
+                job.setCompany(JsonValues.asText(parser));
+                break;
+            case "job_city":
+                job.setLocation(JsonValues.asText(parser));
+                break;
+            case "job_min_salary":
+                job.setSalaryMin(JsonValues.isNull(parser) ? null : JsonValues.asLong(parser));
+                break;
+            case "job_max_salary":
+                job.setSalaryMax(JsonValues.isNull(parser) ? null : JsonValues.asLong(parser));
+                break;
+            case "job_description":
+                job.setDescription(JsonValues.asText(parser));
+                break;
+            case "job_apply_link":
+                job.setJobUrl(JsonValues.asText(parser));
+                break;
+            case "job_is_remote":
+                job.setIsRemote(JsonValues.asBoolean(parser));
+                break;
+            default:
+                // Not mapped
+                break;
+        }
+    }
+
+    @Override
+    public Job complete(Job job) {
+        if (job.getExternalId() == null) {
+            job.setExternalId("jsearch_" + UUID.randomUUID());
+        }
+        if (job.getTitle() == null) {
+            job.setTitle("");
+        }
+        if (job.getCompany() == null) {
+            job.setCompany("");
+        }
+        if (job.getLocation() == null) {
+            job.setLocation("");
+        }
+        if (job.getDescription() == null) {
+            job.setDescription("");
+        }
+        if (job.getJobUrl() == null) {
+            job.setJobUrl("");
+        }
+        job.setSource("jsearch");
+        // JSearch doesn't provide structured skills; the list starts empty
+        job.setCreatedAt(LocalDateTime.now());
+        job.setUpdatedAt(LocalDateTime.now());
+        job.setContentHash(JobContentHash.of(job));
+        return job;
+    }
+}
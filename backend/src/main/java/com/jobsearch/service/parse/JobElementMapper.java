@@ -0,0 +1,28 @@
+package com.jobsearch.service.parse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.jobsearch.entity.Job;
+
+import java.io.IOException;
+
+/**
+ * Maps the fields of one element of a provider's job array onto a {@link Job}
+ * as {@link StreamingJobParser} reads them.
+ */
+public interface JobElementMapper {
+
+    /**
+     * Called for every value inside the element. {@code path} is the dotted
+     * field path relative to the element, e.g. {@code company.display_name};
+     * values inside arrays carry a {@code []} segment. The parser is
+     * positioned on the value token, which may also be the start of an object
+     * or array whose contents follow as further calls.
+     */
+    void value(Job job, String path, JsonParser parser) throws IOException;
+
+    /**
+     * Called once the element's closing brace has been read, to fill in
+     * defaults for missing fields.
+     */
+    Job complete(Job job);
+}
@@ -0,0 +1,62 @@
+package com.jobsearch.service.parse;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.NumberInput;
+
+import java.io.IOException;
+
+/**
+ * Reads the current token the way {@code JsonNode.asText()}, {@code asLong()}
+ * and {@code asBoolean()} read the equivalent node, so the streaming mappers
+ * produce the same jobs the tree-based parsers did.
+ */
+final class JsonValues {
+
+    private JsonValues() {
+    }
+
+    static boolean isNull(JsonParser parser) {
+        return parser.currentToken() == JsonToken.VALUE_NULL;
+    }
+
+    static String asText(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return "null";
+        }
+        if (token.isNumeric()) {
+            // Canonical form, as NumericNode prints it: 1.5 rather than 1.50
+            return parser.getNumberValue().toString();
+        }
+        return token.isScalarValue() ? parser.getText() : "";
+    }
+
+    static long asLong(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue().longValue();
+            case VALUE_NUMBER_FLOAT:
+                return (long) parser.getDoubleValue();
+            case VALUE_STRING:
+                return NumberInput.parseAsLong(parser.getText(), 0L);
+            case VALUE_TRUE:
+                return 1L;
+            default:
+                return 0L;
+        }
+    }
+
+    static boolean asBoolean(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case VALUE_TRUE:
+                return true;
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue().longValue() != 0;
+            case VALUE_STRING:
+                return "true".equals(parser.getText().trim());
+            default:
+                return false;
+        }
+    }
+}
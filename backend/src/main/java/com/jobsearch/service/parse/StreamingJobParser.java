@@ -0,0 +1,179 @@
+package com.jobsearch.service.parse;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobsearch.entity.Job;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Turns a provider response body into jobs while it is still arriving. The
+ * body is fed buffer by buffer into Jackson's non-blocking parser and every
+ * element of the root-level job array is mapped token by token, so neither
+ * the whole body nor a {@code JsonNode} tree of it is ever held in memory;
+ * each job is emitted as soon as its closing brace has been read.
+ */
+@Component
+public class StreamingJobParser {
+
+    private final JsonFactory jsonFactory;
+
+    public StreamingJobParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * @param body       the response body; every buffer is released once read
+     * @param arrayField the field of the root object holding the job array
+     * @return the mapped jobs, or an {@link UncheckedIOException} signal after
+     *         the jobs read so far if the body is not valid JSON
+     */
+    public Flux<Job> parse(Flux<DataBuffer> body, String arrayField, JobElementMapper mapper) {
+        return Flux.defer(() -> {
+            ElementReader reader = new ElementReader(arrayField, mapper);
+            return body
+                .concatMapIterable(reader::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(reader.finish())))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .doFinally(signal -> reader.close());
+        });
+    }
+
+    private final class ElementReader {
+
+        private final String arrayField;
+        private final JobElementMapper mapper;
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+
+        // Root object is depth 1, the job array 2 and each job element 3
+        private int depth;
+        private boolean inJobArray;
+        private Job current;
+        private final Deque<String> path = new ArrayDeque<>();
+        private final List<Job> completed = new ArrayList<>();
+
+        ElementReader(String arrayField, JobElementMapper mapper) {
+            this.arrayField = arrayField;
+            this.mapper = mapper;
+            try {
+                this.parser = jsonFactory.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Job> feed(DataBuffer buffer) {
+            try (DataBuffer.ByteBufferIterator buffers = buffer.readableByteBuffers()) {
+                while (buffers.hasNext()) {
+                    ByteBuffer input = buffers.next();
+                    feeder.feedInput(input);
+                    drain();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return takeCompleted();
+        }
+
+        List<Job> finish() {
+            try {
+                feeder.endOfInput();
+                drain();
+                if (depth != 0) {
+                    throw new JsonParseException(parser, "Unexpected end of input inside the response");
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return takeCompleted();
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // Nothing is left to read
+            }
+        }
+
+        private void drain() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        startContainer(token);
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        endContainer();
+                        break;
+                    case FIELD_NAME:
+                        break;
+                    default:
+                        if (current != null) {
+                            mapper.value(current, pathOf(parser.getParsingContext().inArray()), parser);
+                        }
+                }
+            }
+        }
+
+        private void startContainer(JsonToken token) throws IOException {
+            if (depth == 1 && token == JsonToken.START_ARRAY && arrayField.equals(parser.currentName())) {
+                inJobArray = true;
+            } else if (inJobArray && depth == 2 && token == JsonToken.START_OBJECT) {
+                current = new Job();
+            } else if (current != null) {
+                // At a start token the context is already the new container's
+                String field = pathOf(parser.getParsingContext().getParent().inArray());
+                mapper.value(current, field, parser);
+                path.push(field);
+            }
+            depth++;
+        }
+
+        private void endContainer() {
+            depth--;
+            if (current != null && depth == 2) {
+                completed.add(mapper.complete(current));
+                current = null;
+            } else if (current != null) {
+                path.pop();
+            } else if (inJobArray && depth == 1) {
+                inJobArray = false;
+            }
+        }
+
+        private String pathOf(boolean inArray) throws IOException {
+            String name = inArray ? "[]" : parser.currentName();
+            return path.isEmpty() ? name : path.peek() + "." + name;
+        }
+
+        private List<Job> takeCompleted() {
+            if (completed.isEmpty()) {
+                return List.of();
+            }
+            List<Job> jobs = new ArrayList<>(completed);
+            completed.clear();
+            return jobs;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.jobsearch.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the page cache against a temporary directory and a clock the test
+ * moves by hand: records expire exactly at the TTL, the segments never
+ * exceed {@code max-size-mb}, and a reopened cache finds its records
+ * through the memory-mapped index, or misses cleanly when the index or a
+ * record is damaged.
+ */
+class UpstreamPageCacheTest {
+
+    private static final String PROVIDER = "jsearch";
+    private static final long TTL_MS = 60_000;
+    private static final int SLOTS = 1024;
+
+    @TempDir
+    Path directory;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-05T09:00:00Z"));
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UpstreamPageCache> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeCaches() {
+        opened.forEach(UpstreamPageCache::close);
+    }
+
+    @Test
+    void recordsExpireAfterTheTtl() {
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        byte[] body = text("page one");
+        put(cache, "https://api.example.com/search?page=1", body);
+
+        clock.advance(Duration.ofMillis(TTL_MS));
+        assertThat(get(cache, "https://api.example.com/search?page=1")).isEqualTo(body);
+
+        clock.advance(Duration.ofMillis(1));
+        assertThat(get(cache, "https://api.example.com/search?page=1")).isNull();
+
+        // Storing the page again makes it fresh
+        put(cache, "https://api.example.com/search?page=1", body);
+        assertThat(get(cache, "https://api.example.com/search?page=1")).isEqualTo(body);
+        assertThat(get(cache, "https://api.example.com/search?page=2")).isNull();
+    }
+
+    @Test
+    void evictsTheOldestSegmentsToStayWithinTheSizeBound() throws IOException {
+        // 1 MB segments, 2 MB in all; incompressible 256 KB pages, three per segment
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        List<byte[]> bodies = new ArrayList<>();
+        Random random = new Random(5);
+        for (int page = 0; page < 12; page++) {
+            byte[] body = new byte[256 * 1024];
+            random.nextBytes(body);
+            bodies.add(body);
+            put(cache, url(page), body);
+            assertThat(segmentBytes()).as("after page %d", page).isLessThanOrEqualTo(2L * 1024 * 1024);
+        }
+
+        assertThat(get(cache, url(0))).isNull();
+        assertThat(get(cache, url(5))).isNull();
+        assertThat(get(cache, url(11))).isEqualTo(bodies.get(11));
+        assertThat(Files.exists(directory.resolve("segment-00000000.dat"))).isFalse();
+    }
+
+    @Test
+    void reopenedCacheFindsRecordsThroughTheIndex() {
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        for (int page = 0; page < 20; page++) {
+            put(cache, url(page), text("page " + page));
+        }
+        cache.close();
+
+        UpstreamPageCache reopened = open(1, 2, SLOTS);
+        for (int page = 0; page < 20; page++) {
+            assertThat(get(reopened, url(page))).as("page %d", page).isEqualTo(text("page " + page));
+        }
+        // The TTL runs from when a record was stored, not from the restart
+        clock.advance(Duration.ofMillis(TTL_MS + 1));
+        assertThat(get(reopened, url(0))).isNull();
+    }
+
+    @Test
+    void damagedIndexStartsEmpty() throws IOException {
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        put(cache, url(0), text("page 0"));
+        cache.close();
+
+        try (FileChannel index = FileChannel.open(directory.resolve("index.dat"), StandardOpenOption.WRITE)) {
+            index.write(ByteBuffer.wrap(new byte[] {0, 0, 0, 0}), 0);
+        }
+        UpstreamPageCache reopened = open(1, 2, SLOTS);
+        assertThat(get(reopened, url(0))).isNull();
+
+        put(reopened, url(1), text("page 1"));
+        assertThat(get(reopened, url(1))).isEqualTo(text("page 1"));
+    }
+
+    @Test
+    void resizedIndexStartsEmpty() {
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        put(cache, url(0), text("page 0"));
+        cache.close();
+
+        UpstreamPageCache reopened = open(1, 2, SLOTS * 2);
+        assertThat(get(reopened, url(0))).isNull();
+    }
+
+    @Test
+    void corruptRecordIsAMiss() throws IOException {
+        UpstreamPageCache cache = open(1, 2, SLOTS);
+        put(cache, url(0), text("page 0"));
+        put(cache, url(1), text("page 1"));
+        cache.close();
+
+        // Flip a byte inside the first record's compressed body
+        try (FileChannel segment = FileChannel.open(directory.resolve("segment-00000000.dat"),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            segment.read(one, 60);
+            one.flip();
+            byte flipped = (byte) (one.get() ^ 0xFF);
+            segment.write(ByteBuffer.wrap(new byte[] {flipped}), 60);
+        }
+        UpstreamPageCache reopened = open(1, 2, SLOTS);
+        assertThat(get(reopened, url(0))).isNull();
+        assertThat(get(reopened, url(1))).isEqualTo(text("page 1"));
+        assertThat(meterRegistry.counter("upstream.page-cache", "result", "corrupt").count()).isEqualTo(1.0);
+    }
+
+    private UpstreamPageCache open(long segmentSizeMb, long maxSizeMb, int slots) {
+        UpstreamPageCache cache = new UpstreamPageCache(true, directory.toString(), TTL_MS, maxSizeMb, segmentSizeMb,
+            slots, meterRegistry, clock);
+        cache.open();
+        opened.add(cache);
+        return cache;
+    }
+
+    /** Records a body the way the provider services do, and waits for the background write. */
+    private static void put(UpstreamPageCache cache, String url, byte[] body) {
+        UpstreamPageCache.Recorder recorder = cache.recorder(PROVIDER, url);
+        recorder.append(DefaultDataBufferFactory.sharedInstance.wrap(body));
+        recorder.commit();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!Arrays.equals(get(cache, url), body)) {
+            assertThat(System.nanoTime() - deadline).as("write of %s", url).isNegative();
+            Thread.onSpinWait();
+        }
+    }
+
+    private static byte[] get(UpstreamPageCache cache, String url) {
+        return cache.get(PROVIDER, url).block();
+    }
+
+    private long segmentBytes() throws IOException {
+        long total = 0;
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(directory, "segment-*.dat")) {
+            for (Path segment : segments) {
+                total += Files.size(segment);
+            }
+        }
+        return total;
+    }
+
+    private static String url(int page) {
+        return "https://api.example.com/search?query=developer&page=" + page;
+    }
+
+    private static byte[] text(String body) {
+        return ("{\"status\":\"OK\",\"data\":[\"" + body + "\"]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
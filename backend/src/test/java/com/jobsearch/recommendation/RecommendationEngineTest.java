@@ -0,0 +1,123 @@
+package com.jobsearch.recommendation;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.entity.User;
+import com.jobsearch.entity.UserProfile;
+import com.jobsearch.event.UserProfileChangedEvent;
+import com.jobsearch.repository.JobRepository;
+import com.jobsearch.repository.UserProfileRepository;
+import com.jobsearch.repository.UserRepository;
+import com.jobsearch.search.JobCatalogLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-catalog scoring runs on the recommendation scheduler, here a queue the
+ * test drains, and the user is served the list they had until it finishes.
+ */
+@DataJpaTest
+class RecommendationEngineTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserProfileRepository userProfileRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private RecommendationEngine engine;
+
+    @BeforeEach
+    void createEngine() {
+        engine = new RecommendationEngine(new JobCatalogLoader(jobRepository), userProfileRepository,
+            new TransactionTemplate(transactionManager), Schedulers.fromExecutor(scheduled::add), 10);
+    }
+
+    @Test
+    void profileCreatedAfterStartupGetsAnEmptyListUntilTheRefreshRuns() {
+        Job java = job("rec_java", "Java Developer", "Java");
+        engine.rebuild();
+        UserProfile profile = profile("asha", "Java Developer", "Java");
+
+        assertThat(engine.recommendationsFor(profile.getUser().getId())).isEmpty();
+        assertThat(engine.recommendationsFor(profile.getUser().getId())).isEmpty();
+        assertThat(scheduled).hasSize(1);
+
+        runScheduled();
+
+        assertThat(engine.recommendationsFor(profile.getUser().getId()))
+            .extracting(Recommendation::getJobId).containsExactly(java.getId());
+        assertThat(scheduled).isEmpty();
+    }
+
+    @Test
+    void profileChangeServesThePreviousListUntilTheRescoreFinishes() {
+        Job java = job("rec_java", "Java Developer", "Java");
+        Job python = job("rec_python", "Python Analyst", "Python");
+        UserProfile profile = profile("ravi", "Java Developer", "Java");
+        Long userId = profile.getUser().getId();
+        engine.rebuild();
+        assertThat(engine.recommendationsFor(userId)).extracting(Recommendation::getJobId).containsExactly(java.getId());
+
+        profile.setDesiredTitles(new ArrayList<>(List.of("Python Analyst")));
+        profile.setSkills(new ArrayList<>(List.of("Python")));
+        userProfileRepository.saveAndFlush(profile);
+        engine.onProfileChanged(new UserProfileChangedEvent(userId));
+
+        assertThat(engine.recommendationsFor(userId)).extracting(Recommendation::getJobId).containsExactly(java.getId());
+
+        runScheduled();
+
+        assertThat(engine.recommendationsFor(userId)).extracting(Recommendation::getJobId).containsExactly(python.getId());
+    }
+
+    @Test
+    void userWithoutAProfileGetsACachedEmptyList() {
+        User user = userRepository.saveAndFlush(new User("meera", "meera@example.com", "secret"));
+
+        assertThat(engine.recommendationsFor(user.getId())).isEmpty();
+        runScheduled();
+
+        assertThat(engine.recommendationsFor(user.getId())).isEmpty();
+        assertThat(scheduled).isEmpty();
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private Job job(String externalId, String title, String skill) {
+        Job job = new Job(externalId, title, "Acme", "jsearch");
+        job.setLocation("Chennai");
+        job.setSkills(new ArrayList<>(List.of(skill)));
+        return jobRepository.saveAndFlush(job);
+    }
+
+    private UserProfile profile(String username, String title, String skill) {
+        User user = userRepository.saveAndFlush(new User(username, username + "@example.com", "secret"));
+        UserProfile profile = new UserProfile();
+        profile.setUser(user);
+        profile.setDesiredTitles(new ArrayList<>(List.of(title)));
+        profile.setSkills(new ArrayList<>(List.of(skill)));
+        profile.setLocations(new ArrayList<>());
+        return userProfileRepository.saveAndFlush(profile);
+    }
+}
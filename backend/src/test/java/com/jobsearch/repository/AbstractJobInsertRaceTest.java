@@ -0,0 +1,116 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.service.JobContentHash;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two threads insert the same page of jobs through
+ * {@link JobRepository#insertIfAbsent} at the same moment, as two
+ * ingestions of overlapping searches do. Every job must be stored exactly
+ * once and reported as inserted by exactly one thread, and neither call may
+ * fail on the unique external id. Subclasses pick the database.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+abstract class AbstractJobInsertRaceTest {
+
+    private static final int ROUNDS = 25;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void deleteJobs() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createNativeQuery("DELETE FROM job_skills").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM jobs").executeUpdate();
+        });
+    }
+
+    @Test
+    void concurrentInsertsOfTheSameJobsStoreEachOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CyclicBarrier start = new CyclicBarrier(2);
+                String prefix = "race_" + round + "_";
+                // Each thread has its own Job instances, as each ingestion maps its own
+                Future<List<Job>> first = executor.submit(() -> {
+                    List<Job> page = page(prefix);
+                    start.await();
+                    return jobRepository.insertIfAbsent(page);
+                });
+                Future<List<Job>> second = executor.submit(() -> {
+                    List<Job> page = page(prefix);
+                    start.await();
+                    return jobRepository.insertIfAbsent(page);
+                });
+
+                // get() rethrows anything either insert threw
+                List<Job> inserted = new ArrayList<>(first.get(30, TimeUnit.SECONDS));
+                inserted.addAll(second.get(30, TimeUnit.SECONDS));
+
+                assertThat(inserted).extracting(Job::getExternalId).as("round %d", round)
+                    .doesNotHaveDuplicates()
+                    .hasSize(PAGE_SIZE);
+                Map<String, Long> stored = storedIds(prefix);
+                assertThat(stored).as("round %d", round).hasSize(PAGE_SIZE);
+                assertThat(stored).as("round %d", round).isEqualTo(inserted.stream()
+                    .collect(Collectors.toMap(Job::getExternalId, Job::getId)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** External id to id of every stored row with the prefix; a duplicate row fails the collect. */
+    private Map<String, Long> storedIds(String prefix) {
+        return jobRepository.findAll().stream()
+            .filter(job -> job.getExternalId().startsWith(prefix))
+            .collect(Collectors.toMap(Job::getExternalId, Job::getId));
+    }
+
+    private static List<Job> page(String prefix) {
+        List<Job> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Job job = new Job();
+            job.setExternalId(prefix + i);
+            job.setTitle("Java Developer");
+            job.setCompany("Acme");
+            job.setLocation("Pune");
+            job.setSalaryMin(50_000L);
+            job.setIsRemote(false);
+            job.setSource("jsearch");
+            job.setSkills(new ArrayList<>(List.of("Java", "SQL")));
+            job.setContentHash(JobContentHash.of(job));
+            page.add(job);
+        }
+        return page;
+    }
+}
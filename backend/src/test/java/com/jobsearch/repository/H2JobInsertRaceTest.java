@@ -0,0 +1,11 @@
+package com.jobsearch.repository;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ * The insert race on H2, where each row is a MERGE and a lost race surfaces
+ * as a unique-key violation that the repository must absorb.
+ */
+@DataJpaTest
+class H2JobInsertRaceTest extends AbstractJobInsertRaceTest {
+}
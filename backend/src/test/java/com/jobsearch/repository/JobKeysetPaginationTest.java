@@ -0,0 +1,160 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.search.JobCatalogLoader;
+import com.jobsearch.search.JobCursor;
+import com.jobsearch.search.JobSearchCriteria;
+import com.jobsearch.search.JobSearchIndex;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scrolls a fixture with NULL salaries and duplicate creation times through
+ * {@link JobRepository#findJobsAfter} and {@link JobSearchIndex#searchAfter},
+ * in both directions and at several page sizes, and compares the rows with
+ * an OFFSET query over the same ordering: the sort key with NULLs largest,
+ * then id ascending.
+ */
+@DataJpaTest
+class JobKeysetPaginationTest {
+
+    private static final LocalDateTime[] CREATED = {
+        LocalDateTime.of(2026, 1, 5, 9, 0),
+        LocalDateTime.of(2026, 1, 5, 9, 0, 0, 500_000_000),
+        LocalDateTime.of(2026, 2, 1, 0, 0),
+    };
+    private static final Long[] SALARIES = {null, 40_000L, 60_000L, null, 60_000L, 90_000L, null};
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void saveFixture() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Job job = new Job();
+            job.setExternalId("keyset_" + i);
+            job.setTitle(i % 2 == 0 ? "Java Developer" : "Data Analyst");
+            job.setCompany("Acme");
+            job.setSource(i % 3 == 0 ? "adzuna" : "jsearch");
+            job.setSalaryMin(SALARIES[i % SALARIES.length]);
+            job.setSalaryMax(SALARIES[(i + 2) % SALARIES.length]);
+            jobs.add(job);
+        }
+        jobs = jobRepository.saveAllAndFlush(jobs);
+
+        // createdAt is set on persist, so the duplicates are written afterwards
+        for (int i = 0; i < jobs.size(); i++) {
+            entityManager.getEntityManager()
+                .createQuery("UPDATE Job j SET j.createdAt = :createdAt WHERE j.id = :id")
+                .setParameter("createdAt", CREATED[i % CREATED.length])
+                .setParameter("id", jobs.get(i).getId())
+                .executeUpdate();
+        }
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "salaryMin, false, 1", "salaryMin, false, 4", "salaryMin, true, 1", "salaryMin, true, 4",
+        "salaryMax, false, 3", "salaryMax, true, 3",
+        "createdAt, false, 2", "createdAt, false, 5", "createdAt, true, 2", "createdAt, true, 5",
+        "id, false, 7", "id, true, 7",
+    })
+    void scrollsEveryRowOnceInOffsetOrder(String sortBy, boolean descending, int pageSize) {
+        for (JobSearchCriteria criteria : List.of(
+                new JobSearchCriteria(null, null, null, null, null, null, null),
+                new JobSearchCriteria("developer", null, null, null, null, null, "jsearch"))) {
+            List<Long> expected = offsetIds(criteria, sortBy, descending, pageSize);
+            assertThat(expected).isNotEmpty();
+
+            List<Long> scrolled = scrollDatabase(criteria, sortBy, descending, pageSize);
+            assertThat(scrolled).as("database, %s %s by %d", sortBy, descending ? "desc" : "asc", pageSize)
+                .isEqualTo(expected);
+            assertThat(new HashSet<>(scrolled)).hasSameSizeAs(scrolled);
+
+            assertThat(scrollIndex(criteria, sortBy, descending, pageSize))
+                .as("index, %s %s by %d", sortBy, descending ? "desc" : "asc", pageSize)
+                .isEqualTo(expected);
+        }
+    }
+
+    private List<Long> scrollDatabase(JobSearchCriteria criteria, String sortBy, boolean descending, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        JobCursor after = null;
+        while (true) {
+            List<Job> page = jobRepository.findJobsAfter(criteria, sortBy, descending, after, pageSize);
+            page.forEach(job -> ids.add(job.getId()));
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            // Round-trip the token, as a client does
+            String token = JobCursor.after(page.get(page.size() - 1), sortBy, descending).encode();
+            after = JobCursor.decode(token, sortBy, descending);
+        }
+    }
+
+    private List<Long> scrollIndex(JobSearchCriteria criteria, String sortBy, boolean descending, int pageSize) {
+        JobSearchIndex index = new JobSearchIndex(new JobCatalogLoader(jobRepository), "token");
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.rebuild();
+
+        List<Long> ids = new ArrayList<>();
+        JobCursor after = null;
+        while (true) {
+            List<Long> page = index.searchAfter(criteria, sortBy, descending, after, pageSize);
+            ids.addAll(page);
+            if (page.size() < pageSize) {
+                return ids;
+            }
+            Job last = jobRepository.findById(page.get(page.size() - 1)).orElseThrow();
+            after = JobCursor.decode(JobCursor.after(last, sortBy, descending).encode(), sortBy, descending);
+        }
+    }
+
+    /** The same rows paged with OFFSET, in the order the cursor pagination promises. */
+    private List<Long> offsetIds(JobSearchCriteria criteria, String sortBy, boolean descending, int pageSize) {
+        StringBuilder jpql = new StringBuilder("SELECT j.id FROM Job j WHERE 1 = 1");
+        if (criteria.getTitle() != null) {
+            jpql.append(" AND UPPER(j.title) LIKE UPPER(CONCAT('%', :title, '%'))");
+        }
+        if (criteria.getSource() != null) {
+            jpql.append(" AND j.source = :source");
+        }
+        jpql.append(" ORDER BY j.").append(sortBy)
+            .append(descending ? " DESC NULLS FIRST" : " ASC NULLS LAST")
+            .append(", j.id ASC");
+
+        List<Long> ids = new ArrayList<>();
+        for (int offset = 0; ; offset += pageSize) {
+            TypedQuery<Long> query = entityManager.getEntityManager().createQuery(jpql.toString(), Long.class);
+            if (criteria.getTitle() != null) {
+                query.setParameter("title", criteria.getTitle());
+            }
+            if (criteria.getSource() != null) {
+                query.setParameter("source", criteria.getSource());
+            }
+            List<Long> page = query.setFirstResult(offset).setMaxResults(pageSize).getResultList();
+            ids.addAll(page);
+            if (page.size() < pageSize) {
+                return ids;
+            }
+        }
+    }
+}
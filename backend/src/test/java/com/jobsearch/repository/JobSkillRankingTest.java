@@ -0,0 +1,63 @@
+package com.jobsearch.repository;
+
+import com.jobsearch.entity.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JobRepository#rankJobsBySkills} ranks whole jobs before the limit,
+ * so a job matching every skill is found however many single-skill matches
+ * were stored before it.
+ */
+@DataJpaTest
+class JobSkillRankingTest {
+
+    private static final List<String> SKILLS = List.of("Java", "Spring", "Kafka");
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final List<Long> singleMatches = new ArrayList<>();
+    private Long allMatch;
+    private Long twoMatch;
+
+    @BeforeEach
+    void saveFixture() {
+        for (int i = 0; i < 6; i++) {
+            singleMatches.add(save("ranking_single_" + i, "Java", "Python").getId());
+        }
+        twoMatch = save("ranking_two", "Spring", "Kafka").getId();
+        allMatch = save("ranking_all", "Kafka", "Java", "Spring").getId();
+        save("ranking_none", "Go");
+    }
+
+    @Test
+    void jobsAreRankedByMatchedSkillsBeforeTheLimit() {
+        List<Object[]> ranked = jobRepository.rankJobsBySkills(SKILLS, PageRequest.of(0, 2));
+
+        assertThat(ranked).extracting(row -> row[0]).containsExactly(allMatch, twoMatch);
+        assertThat(ranked).extracting(row -> row[1]).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void equalMatchesFavourTheNewerJob() {
+        List<Object[]> ranked = jobRepository.rankJobsBySkills(List.of("Java"), PageRequest.of(0, 3));
+
+        assertThat(ranked).extracting(row -> row[0])
+            .containsExactly(allMatch, singleMatches.get(5), singleMatches.get(4));
+    }
+
+    private Job save(String externalId, String... skills) {
+        Job job = new Job(externalId, "Backend Developer", "Acme", "jsearch");
+        job.setSkills(new ArrayList<>(List.of(skills)));
+        return jobRepository.saveAndFlush(job);
+    }
+}
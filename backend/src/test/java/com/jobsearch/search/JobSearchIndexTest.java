@@ -0,0 +1,186 @@
+package com.jobsearch.search;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.event.JobsSavedEvent;
+import com.jobsearch.repository.JobRepository;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same criteria through {@link JobSearchIndex#search} and
+ * {@link JobRepository#findJobsWithFilters} on H2 and requires the same job
+ * ids, for both substring matchers, on a freshly built index and after
+ * enough updates to compact it.
+ */
+@DataJpaTest
+class JobSearchIndexTest {
+
+    private static final String[] TITLES = {
+        "Java Developer", "JAVA DEVELOPER", "java developer (remote)", "Senior JavaScript Engineer",
+        "100% Remote QA", "1000 Remote Testers", "DEV_OPS Engineer", "DevXOps Engineer", "Data Analyst",
+        "Back\\end Developer", "Über Engineer", "QA",
+    };
+    private static final String[] COMPANIES = {"Acme", "acme corp", "Acme_Labs", "AcmeXLabs", "Globex", "Initech", "Hooli"};
+    private static final String[] LOCATIONS = {"Bangalore, Karnataka", "bangalore", null, "Remote", "Pune", "Mumbai", "New Delhi"};
+    private static final Long[] SALARY_MINS = {50_000L, null, 30_000L, 70_000L, 60_000L};
+    private static final Long[] SALARY_MAXS = {90_000L, 70_000L, null, 120_000L, 40_000L, 60_000L};
+    private static final Boolean[] REMOTE = {false, true, null};
+    private static final String[] SOURCES = {"jsearch", "adzuna", "mock"};
+
+    private static final List<JobSearchCriteria> CRITERIA = List.of(
+        criteria(null, null, null),
+        // case folding
+        criteria("java", null, null),
+        criteria("JAVA", null, null),
+        criteria("jAvA dEv", null, null),
+        criteria("über", null, null),
+        criteria(null, "ACME", null),
+        criteria(null, null, "BANGALORE"),
+        // fragments shorter than a trigram, and across word boundaries
+        criteria("q", null, null),
+        criteria("qa", null, null),
+        criteria("a d", null, null),
+        criteria(null, null, "e"),
+        criteria(null, null, ", k"),
+        // '%' and '_' in the input are LIKE wildcards; '\' is a plain character
+        criteria("%", null, null),
+        criteria("_", null, null),
+        criteria("100%", null, null),
+        criteria("100\\%", null, null),
+        criteria("dev_ops", null, null),
+        criteria("dev\\_ops", null, null),
+        criteria(null, "acme_", null),
+        criteria(null, "acme\\_", null),
+        criteria("k\\\\e", null, null),
+        criteria("j%r", null, null),
+        // null columns never match a filter on them
+        criteria(null, null, "r"),
+        new JobSearchCriteria(null, null, null, 60_000L, null, null, null),
+        new JobSearchCriteria(null, null, null, null, 50_000L, null, null),
+        new JobSearchCriteria(null, null, null, 50_000L, 70_000L, null, null),
+        new JobSearchCriteria(null, null, null, null, null, true, null),
+        new JobSearchCriteria(null, null, null, null, null, false, null),
+        // combined predicates
+        new JobSearchCriteria("engineer", null, null, 70_000L, null, null, null),
+        new JobSearchCriteria("developer", "acme", "bangalore", null, null, false, null),
+        new JobSearchCriteria(null, null, "mumbai", null, 100_000L, null, "mock"),
+        new JobSearchCriteria("", "", "", null, null, null, "adzuna"),
+        criteria("no such job", null, null)
+    );
+
+    private static final int JOBS = 40;
+    private static final int UPDATE_ROUNDS = 30;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"token", "trigram"})
+    void freshIndexMatchesJpql(String substringMatcher) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobs.add(version(new Job(), i, 0));
+        }
+        jobRepository.saveAllAndFlush(jobs);
+        JobSearchIndex index = buildIndex(substringMatcher);
+
+        assertMatchesJpql(index, "fresh index");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"token", "trigram"})
+    void updatedAndCompactedIndexMatchesJpql(String substringMatcher) {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < JOBS; i++) {
+            jobs.add(version(new Job(), i, 0));
+        }
+        jobs = jobRepository.saveAllAndFlush(jobs);
+        JobSearchIndex index = buildIndex(substringMatcher);
+
+        for (int round = 1; round <= UPDATE_ROUNDS; round++) {
+            List<Job> updated = new ArrayList<>();
+            for (int i = 0; i < jobs.size(); i++) {
+                updated.add(version(jobs.get(i), i, round));
+            }
+            Job inserted = version(new Job(), jobs.size(), round);
+            updated = jobRepository.saveAllAndFlush(updated);
+            inserted = jobRepository.saveAndFlush(inserted);
+            index.onJobsSaved(new JobsSavedEvent(List.of(inserted), updated));
+            jobs = new ArrayList<>(updated);
+            jobs.add(inserted);
+
+            if (round == 1 || round % 10 == 0) {
+                assertMatchesJpql(index, "after round " + round);
+            }
+        }
+
+        // Every round tombstones the previous version of each job; without a
+        // compaction there would be one doc id per version
+        int versions = JOBS * (UPDATE_ROUNDS + 1) + UPDATE_ROUNDS * (UPDATE_ROUNDS + 1) / 2;
+        assertThat((Integer) ReflectionTestUtils.getField(index, "maxDoc")).isLessThan(versions / 2);
+        assertMatchesJpql(index, "after compaction");
+    }
+
+    private void assertMatchesJpql(JobSearchIndex index, String state) {
+        Pageable byId = PageRequest.of(0, 10_000, Sort.by("id"));
+        for (JobSearchCriteria criteria : CRITERIA) {
+            Page<Job> expected = jobRepository.findJobsWithFilters(criteria.getTitle(), criteria.getCompany(),
+                criteria.getLocation(), criteria.getMinSalary(), criteria.getMaxSalary(), criteria.getIsRemote(),
+                criteria.getSource(), byId);
+            List<Long> expectedIds = expected.map(Job::getId).getContent();
+
+            IndexSearchResult actual = index.search(criteria, byId);
+            assertThat(actual.getJobIds()).as("%s: %s", state, describe(criteria)).isEqualTo(expectedIds);
+            assertThat(actual.getTotalHits()).as("%s: %s", state, describe(criteria)).isEqualTo(expected.getTotalElements());
+
+            IndexSearchResult ranked = index.search(criteria, PageRequest.of(0, 10_000, Sort.by(JobSearchIndex.RELEVANCE)));
+            assertThat(new HashSet<>(ranked.getJobIds())).as("%s, by relevance: %s", state, describe(criteria))
+                .isEqualTo(new HashSet<>(expectedIds));
+        }
+    }
+
+    private JobSearchIndex buildIndex(String substringMatcher) {
+        JobSearchIndex index = new JobSearchIndex(new JobCatalogLoader(jobRepository), substringMatcher);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "compactTombstoneRatio", 0.25);
+        index.rebuild();
+        assertThat(index.isReady()).isTrue();
+        return index;
+    }
+
+    /** Version {@code round} of the {@code i}-th fixture job. */
+    private static Job version(Job job, int i, int round) {
+        job.setExternalId("test_" + i);
+        job.setTitle(TITLES[(i + round) % TITLES.length]);
+        job.setCompany(COMPANIES[(i + 2 * round) % COMPANIES.length]);
+        job.setLocation(LOCATIONS[(i + 3 * round) % LOCATIONS.length]);
+        job.setSalaryMin(SALARY_MINS[(i + round) % SALARY_MINS.length]);
+        job.setSalaryMax(SALARY_MAXS[(i + 2 * round) % SALARY_MAXS.length]);
+        job.setIsRemote(REMOTE[(i + round) % REMOTE.length]);
+        job.setSource(SOURCES[i % SOURCES.length]);
+        job.setDescription("Round " + round + " opening for a " + job.getTitle());
+        return job;
+    }
+
+    private static JobSearchCriteria criteria(String title, String company, String location) {
+        return new JobSearchCriteria(title, company, location, null, null, null, null);
+    }
+
+    private static String describe(JobSearchCriteria c) {
+        return String.format("title=%s company=%s location=%s min=%s max=%s remote=%s source=%s",
+            c.getTitle(), c.getCompany(), c.getLocation(), c.getMinSalary(), c.getMaxSalary(), c.getIsRemote(), c.getSource());
+    }
+}
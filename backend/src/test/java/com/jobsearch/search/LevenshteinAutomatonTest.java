@@ -0,0 +1,158 @@
+package com.jobsearch.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the terms the automaton accepts from a term dictionary with a
+ * brute-force restricted Damerau-Levenshtein (optimal string alignment)
+ * distance over every term of the dictionary.
+ */
+class LevenshteinAutomatonTest {
+
+    private static final String[] TERMS = {
+        "AJVA", "ANALYST", "ENGINEER", "ENGINEERS", "ENGINER", "ENIGNEER", "DEVELOPER", "DEVELOPERS",
+        "DEVELOPR", "DEVLOPER", "DEEVLOPER", "DVELOPERS", "JAV", "JAVA", "JAVAS", "JAVASCRIPT", "JVAA",
+        "KAVA", "LAVA", "MANAGER", "MANGAER", "PHYTON", "PYHTON", "PYTHON", "PYTON", "SENIOR", "SNEIOR",
+    };
+
+    private final TreeMap<String, Object> dictionary = dictionaryOf(TERMS);
+
+    @Test
+    void oneEditAcceptsEachKindOfEdit() {
+        List<String> accepted = new LevenshteinAutomaton("JAVA", 1).intersect(dictionary);
+
+        // substitution, insertion, deletion and adjacent transposition
+        assertThat(accepted).contains("KAVA", "LAVA", "JAVAS", "JAV", "AJVA", "JVAA", "JAVA");
+        assertThat(accepted).doesNotContain("JAVASCRIPT");
+        assertThat(accepted).isEqualTo(bruteForce("JAVA", 1));
+    }
+
+    @Test
+    void twoEditsAcceptTermsOneEditRejects() {
+        List<String> oneEdit = new LevenshteinAutomaton("DEVELOPER", 1).intersect(dictionary);
+        List<String> twoEdits = new LevenshteinAutomaton("DEVELOPER", 2).intersect(dictionary);
+
+        assertThat(oneEdit).isEqualTo(bruteForce("DEVELOPER", 1));
+        assertThat(twoEdits).isEqualTo(bruteForce("DEVELOPER", 2));
+        assertThat(oneEdit).doesNotContain("DVELOPERS");
+        assertThat(twoEdits).contains("DVELOPERS", "DEEVLOPER");
+    }
+
+    @Test
+    void transpositionCountsAsOneEdit() {
+        assertThat(new LevenshteinAutomaton("PYTHON", 1).intersect(dictionary)).contains("PYHTON");
+        assertThat(new LevenshteinAutomaton("ENGINEER", 1).intersect(dictionary)).contains("ENIGNEER");
+        assertThat(new LevenshteinAutomaton("MANAGER", 1).intersect(dictionary)).contains("MANGAER");
+        assertThat(new LevenshteinAutomaton("SENIOR", 1).intersect(dictionary)).contains("SNEIOR");
+        // Plain Levenshtein needs two edits for a transposition
+        assertThat(new LevenshteinAutomaton("PYTHON", 1).intersect(dictionaryOf("PHYTON"))).isEmpty();
+    }
+
+    @Test
+    void transposedCharactersAreNotEditedAgain() {
+        // Unrestricted Damerau-Levenshtein puts CA and ABC two edits apart; the
+        // automaton, like the brute force, uses optimal string alignment
+        assertThat(osaDistance("CA", "ABC")).isEqualTo(3);
+        assertThat(new LevenshteinAutomaton("CA", 2).intersect(dictionaryOf("ABC"))).isEmpty();
+        assertThat(new LevenshteinAutomaton("CA", 3).intersect(dictionaryOf("ABC"))).containsExactly("ABC");
+    }
+
+    @Test
+    void matchesBruteForceForEveryDictionaryTerm() {
+        for (String query : TERMS) {
+            for (int maxEdits = 0; maxEdits <= 2; maxEdits++) {
+                assertThat(new LevenshteinAutomaton(query, maxEdits).intersect(dictionary))
+                    .as("%s within %d", query, maxEdits)
+                    .isEqualTo(bruteForce(query, maxEdits));
+            }
+        }
+    }
+
+    @Test
+    void matchesBruteForceOnRandomDictionaries() {
+        // A small alphabet gives many near neighbours and long shared prefixes,
+        // which exercises the prefix reuse and the seeking past dead prefixes
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            String[] terms = new String[200];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = randomWord(random, 1 + random.nextInt(7));
+            }
+            TreeMap<String, Object> randomDictionary = dictionaryOf(terms);
+            for (int q = 0; q < 20; q++) {
+                String query = randomWord(random, 1 + random.nextInt(6));
+                for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+                    assertThat(new LevenshteinAutomaton(query, maxEdits).intersect(randomDictionary))
+                        .as("%s within %d", query, maxEdits)
+                        .isEqualTo(bruteForce(randomDictionary, query, maxEdits));
+                }
+            }
+        }
+    }
+
+    @Test
+    void editBudgetGrowsWithTermLength() {
+        assertThat(LevenshteinAutomaton.maxEditsFor("QA")).isEqualTo(0);
+        assertThat(LevenshteinAutomaton.maxEditsFor("JAVA")).isEqualTo(1);
+        assertThat(LevenshteinAutomaton.maxEditsFor("REACT")).isEqualTo(1);
+        assertThat(LevenshteinAutomaton.maxEditsFor("PYTHON")).isEqualTo(2);
+    }
+
+    private List<String> bruteForce(String query, int maxEdits) {
+        return bruteForce(dictionary, query, maxEdits);
+    }
+
+    private static List<String> bruteForce(TreeMap<String, Object> dictionary, String query, int maxEdits) {
+        List<String> accepted = new ArrayList<>();
+        for (String term : dictionary.keySet()) {
+            if (osaDistance(query, term) <= maxEdits) {
+                accepted.add(term);
+            }
+        }
+        return accepted;
+    }
+
+    /** Edit distance with adjacent transpositions, no substring edited twice. */
+    private static int osaDistance(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('A' + random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static TreeMap<String, Object> dictionaryOf(String... terms) {
+        TreeMap<String, Object> dictionary = new TreeMap<>();
+        for (String term : terms) {
+            dictionary.put(term, Boolean.TRUE);
+        }
+        return dictionary;
+    }
+}
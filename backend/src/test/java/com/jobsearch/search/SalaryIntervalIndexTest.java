@@ -0,0 +1,171 @@
+package com.jobsearch.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares salary overlap queries with a brute-force
+ * {@code salaryMax >= min AND salaryMin <= max} filter over the live docs,
+ * with SQL's treatment of a NULL bound as non-matching, as the index is
+ * updated in batches the way {@link JobSearchIndex} updates it.
+ */
+class SalaryIntervalIndexTest {
+
+    private static final Long[] BOUNDS = {null, 0L, 30_000L, 50_000L, 50_001L, 80_000L, 120_000L, 500_000L};
+
+    private final SalaryIntervalIndex index = new SalaryIntervalIndex();
+    private final Map<Integer, Long[]> live = new HashMap<>();
+    private int maxDoc;
+
+    @Test
+    void answersOpenEndedAndClosedRanges() {
+        add(50_000L, 80_000L);
+        add(30_000L, 50_000L);
+        add(null, 60_000L);
+        add(70_000L, null);
+        add(null, null);
+        add(80_000L, 80_000L);
+        index.refresh();
+
+        assertThat(query(50_000L, null)).isEqualTo(docs(0, 1, 2, 5));
+        assertThat(query(null, 50_000L)).isEqualTo(docs(0, 1));
+        assertThat(query(50_001L, 79_999L)).isEqualTo(docs(0));
+        assertThat(query(80_000L, 80_000L)).isEqualTo(docs(0, 5));
+        assertThat(query(90_000L, null)).isEqualTo(new BitSet());
+        assertAllQueriesMatchBruteForce();
+    }
+
+    @Test
+    void nullSalariesNeverSatisfyABound() {
+        add(null, null);
+        add(null, 100_000L);
+        add(40_000L, null);
+        index.refresh();
+
+        assertThat(query(0L, null)).isEqualTo(docs(1));
+        assertThat(query(null, 500_000L)).isEqualTo(docs(2));
+        assertThat(query(0L, 500_000L)).isEqualTo(new BitSet());
+    }
+
+    @Test
+    void staysExactAcrossIncrementalBatches() {
+        Random random = new Random(11);
+        for (int batch = 0; batch < 30; batch++) {
+            int adds = 1 + random.nextInt(40);
+            for (int i = 0; i < adds; i++) {
+                Long min = randomSalary(random);
+                Long max = randomSalary(random);
+                if (min != null && max != null && random.nextBoolean()) {
+                    max = min + random.nextInt(4) * 10_000L;
+                }
+                add(min, max);
+            }
+            // Updates tombstone the old doc and add the job again under a new id
+            List<Integer> docs = new ArrayList<>(live.keySet());
+            int removes = random.nextInt(Math.max(1, docs.size() / 4));
+            for (int i = 0; i < removes; i++) {
+                int doc = docs.get(random.nextInt(docs.size()));
+                if (live.remove(doc) != null) {
+                    index.remove(doc);
+                    if (random.nextBoolean()) {
+                        add(randomSalary(random), randomSalary(random));
+                    }
+                }
+            }
+            index.refresh();
+            assertAllQueriesMatchBruteForce();
+        }
+    }
+
+    @Test
+    void removalsAloneAreAppliedOnRefresh() {
+        add(50_000L, 90_000L);
+        add(60_000L, 70_000L);
+        index.refresh();
+
+        index.remove(0);
+        live.remove(0);
+        index.refresh();
+
+        assertThat(query(50_000L, null)).isEqualTo(docs(1));
+        assertAllQueriesMatchBruteForce();
+    }
+
+    @Test
+    void rebuildsAfterClearAsTheIndexDoesOnCompaction() {
+        Random random = new Random(3);
+        for (int i = 0; i < 200; i++) {
+            add(randomSalary(random), randomSalary(random));
+        }
+        index.refresh();
+
+        // Keep every other job, renumbered densely
+        Map<Integer, Long[]> kept = new HashMap<>();
+        for (int doc = 0; doc < maxDoc; doc += 2) {
+            kept.put(kept.size(), live.get(doc));
+        }
+        index.clear();
+        live.clear();
+        maxDoc = 0;
+        for (int doc = 0; doc < kept.size(); doc++) {
+            add(kept.get(doc)[0], kept.get(doc)[1]);
+        }
+        index.refresh();
+
+        assertAllQueriesMatchBruteForce();
+    }
+
+    private void assertAllQueriesMatchBruteForce() {
+        for (Long min : BOUNDS) {
+            for (Long max : BOUNDS) {
+                if (min == null && max == null) {
+                    continue;
+                }
+                assertThat(query(min, max)).as("min %s, max %s", min, max).isEqualTo(bruteForce(min, max));
+            }
+        }
+    }
+
+    private BitSet bruteForce(Long minSalary, Long maxSalary) {
+        BitSet result = new BitSet();
+        live.forEach((doc, salary) -> {
+            boolean minOk = minSalary == null || (salary[1] != null && salary[1] >= minSalary);
+            boolean maxOk = maxSalary == null || (salary[0] != null && salary[0] <= maxSalary);
+            if (minOk && maxOk) {
+                result.set(doc);
+            }
+        });
+        return result;
+    }
+
+    private BitSet query(Long minSalary, Long maxSalary) {
+        return index.query(minSalary, maxSalary);
+    }
+
+    private void add(Long salaryMin, Long salaryMax) {
+        int doc = maxDoc++;
+        index.add(doc, salaryMin, salaryMax);
+        live.put(doc, new Long[] {salaryMin, salaryMax});
+    }
+
+    private static Long randomSalary(Random random) {
+        // Few distinct values, so many docs tie on a bound
+        return random.nextInt(6) == 0 ? null : random.nextInt(12) * 10_000L;
+    }
+
+    private static BitSet docs(int... docs) {
+        BitSet bits = new BitSet();
+        for (int doc : docs) {
+            bits.set(doc);
+        }
+        return bits;
+    }
+}
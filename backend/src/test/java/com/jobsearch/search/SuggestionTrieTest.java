@@ -0,0 +1,36 @@
+package com.jobsearch.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prefix lookups ignore case and leading whitespace, but a trailing space in
+ * the prefix has to match a space in the value.
+ */
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = new SuggestionTrie(10);
+
+    @Test
+    void trailingSpaceInThePrefixEndsTheWord() {
+        trie.add("Java Developer");
+        trie.add("JavaScript Engineer");
+        trie.add("JavaScript Engineer");
+
+        assertThat(trie.suggest("java", 10)).extracting(Suggestion::getValue)
+            .containsExactly("JavaScript Engineer", "Java Developer");
+        assertThat(trie.suggest("java ", 10)).extracting(Suggestion::getValue)
+            .containsExactly("Java Developer");
+        assertThat(trie.suggest("java d", 10)).extracting(Suggestion::getValue)
+            .containsExactly("Java Developer");
+    }
+
+    @Test
+    void leadingWhitespaceIsIgnoredInPrefixesAndValues() {
+        trie.add("  Data Analyst ");
+
+        assertThat(trie.suggest("  data", 10)).extracting(Suggestion::getValue).containsExactly("Data Analyst");
+        assertThat(trie.suggest("data analyst ", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,157 @@
+package com.jobsearch.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the trigram candidates against {@link TextAnalyzer#containsLike},
+ * the LIKE predicate the index verifies them with: a candidate set may hold
+ * false positives but must never miss a match, whatever the fragment length.
+ */
+class TrigramIndexTest {
+
+    private static final String[] TITLES = {
+        "Java Developer",
+        "Senior Java Developer",
+        "JavaScript Engineer",
+        "A",
+        "QA",
+        "QA Lead",
+        "Data Engineer",
+        "Front-end Engineer (React)",
+        "100% Remote Engineer",
+        "1000 Remote Engineers",
+        "Dev_Ops Engineer",
+        "DevXOps Engineer",
+        "C++ Developer",
+        "C",
+        "",
+        "Back\\slash Tester",
+    };
+
+    private final TrigramIndex index = indexOf(TITLES);
+
+    @Test
+    void singleCharacterFragmentsFindExactlyTheValuesContainingThem() {
+        for (String fragment : new String[] {"A", "Q", "C", "+", "-", "(", " ", "0", "%", "Z"}) {
+            assertExactMatches(fragment);
+        }
+    }
+
+    @Test
+    void twoCharacterFragmentsFindExactlyTheValuesContainingThem() {
+        for (String fragment : new String[] {"QA", "JA", "++", "C+", "00", "ZZ", "A ", " E", "R)"}) {
+            assertExactMatches(fragment);
+        }
+    }
+
+    @Test
+    void longerFragmentsNeverMissAMatch() {
+        for (String fragment : new String[] {"JAVA", "DEVELOPER", "ENGINEER", "QA L", "SCRIPT", "DATA ENGINEERS", "XYZ"}) {
+            assertCandidatesCoverMatches(fragment);
+        }
+    }
+
+    @Test
+    void fragmentsSpanningAWordBoundaryNeverMissAMatch() {
+        for (String fragment : new String[] {"VA DEV", "A D", "R J", "D-E", "D (", "% R", "T E", "OR JAVA"}) {
+            assertCandidatesCoverMatches(fragment);
+        }
+        assertThat(matches("VA DEV").cardinality()).isEqualTo(2);
+        assertThat(matches("OR JAVA").cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void wildcardsFollowLikeSemanticsWithoutAnEscapeCharacter() {
+        // '_' is any one character and '%' any run; a backslash is a literal, as in the JPQL search
+        assertThat(TextAnalyzer.containsLike("DEVXOPS ENGINEER", "DEV_OPS")).isTrue();
+        assertThat(TextAnalyzer.containsLike("DEVXOPS ENGINEER", "DEV\\_OPS")).isFalse();
+        assertThat(TextAnalyzer.containsLike("DEV_OPS ENGINEER", "DEV\\_OPS")).isFalse();
+        assertThat(TextAnalyzer.containsLike("DEV\\_OPS ENGINEER", "DEV\\_OPS")).isTrue();
+        assertThat(TextAnalyzer.containsLike("100% REMOTE ENGINEER", "100\\%")).isFalse();
+        assertThat(TextAnalyzer.containsLike("1000 REMOTE ENGINEERS", "100%ENGINEERS")).isTrue();
+        assertThat(TextAnalyzer.containsLike("BACK\\SLASH TESTER", "K\\S")).isTrue();
+        assertThat(TextAnalyzer.containsLike("BACK\\SLASH TESTER", "K\\\\S")).isFalse();
+        assertThat(TextAnalyzer.containsLike("QA", "Q_")).isTrue();
+        assertThat(TextAnalyzer.containsLike("QA", "QA_")).isFalse();
+
+        for (String pattern : new String[] {"DEV_OPS", "DEV\\_OPS", "100\\%", "100%ENGINEERS", "A_", "_", "%",
+                                            "J%R", "Q_", "K\\S", "K\\\\S", "%%", "E_N"}) {
+            assertCandidatesCoverMatches(pattern);
+        }
+        assertThat(matches("DEV_OPS").cardinality()).isEqualTo(2);
+        assertThat(matches("DEV\\_OPS").cardinality()).isZero();
+        assertThat(matches("K\\S").cardinality()).isEqualTo(1);
+    }
+
+    @Test
+    void randomFragmentsOfIndexedValuesNeverMissAMatch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            String value = TextAnalyzer.normalize(TITLES[random.nextInt(TITLES.length)]);
+            if (value.isEmpty()) {
+                continue;
+            }
+            int start = random.nextInt(value.length());
+            int end = Math.min(value.length(), start + 1 + random.nextInt(6));
+            String fragment = value.substring(start, end);
+            if (!TextAnalyzer.hasLikeWildcards(fragment)) {
+                assertCandidatesCoverMatches(fragment);
+                assertThat(matches(fragment).get(docOf(value))).as(fragment).isTrue();
+            }
+        }
+    }
+
+    /** Fragments shorter than a trigram are answered from the dictionary keys, without false positives. */
+    private void assertExactMatches(String fragment) {
+        BitSet candidates = index.candidates(JobField.TITLE, fragment);
+        if (TextAnalyzer.likeLiterals(fragment).isEmpty()) {
+            assertThat(candidates).as(fragment).isNull();
+            return;
+        }
+        assertThat(candidates).as(fragment).isEqualTo(matches(fragment));
+    }
+
+    private void assertCandidatesCoverMatches(String pattern) {
+        BitSet expected = matches(pattern);
+        BitSet candidates = index.candidates(JobField.TITLE, pattern);
+        if (candidates == null) {
+            // The matcher could not narrow the search; every doc stays a candidate
+            return;
+        }
+        BitSet missed = (BitSet) expected.clone();
+        missed.andNot(candidates);
+        assertThat(missed).as("matches of %s missing from the candidates", pattern).isEqualTo(new BitSet());
+    }
+
+    private static BitSet matches(String pattern) {
+        BitSet matches = new BitSet();
+        for (int doc = 0; doc < TITLES.length; doc++) {
+            if (TextAnalyzer.containsLike(TextAnalyzer.normalize(TITLES[doc]), pattern)) {
+                matches.set(doc);
+            }
+        }
+        return matches;
+    }
+
+    private static int docOf(String normalizedValue) {
+        for (int doc = 0; doc < TITLES.length; doc++) {
+            if (TextAnalyzer.normalize(TITLES[doc]).equals(normalizedValue)) {
+                return doc;
+            }
+        }
+        throw new IllegalArgumentException(normalizedValue);
+    }
+
+    private static TrigramIndex indexOf(String[] values) {
+        TrigramIndex index = new TrigramIndex();
+        for (int doc = 0; doc < values.length; doc++) {
+            index.add(JobField.TITLE, doc, TextAnalyzer.normalize(values[doc]));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,79 @@
+package com.jobsearch.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares prefix lookups with a filter over every stored value, with
+ * values that differ only in case on either side of the prefix.
+ */
+class ValueDictionaryTest {
+
+    private static final String[] VALUES = {
+        "Pune", "pune", "PUNE", "Pune, MH", "pune city", "Punjab", "Puducherry", "Mumbai", "mumbai", "Bangalore",
+        "bangalore", "Bangalore, Karnataka", "Navi Mumbai", "Remote", "remote", "Über HQ", "über hq",
+    };
+
+    private final ValueDictionary dictionary = new ValueDictionary();
+
+    @Test
+    void prefixFindsValuesThatSortBeforeItIgnoringCase() {
+        dictionary.add("Pune");
+        dictionary.add("Pune, MH");
+
+        assertThat(dictionary.values("pune", 10)).containsExactly("Pune", "Pune, MH");
+        assertThat(dictionary.values("PUNE", 10)).containsExactly("Pune", "Pune, MH");
+        assertThat(dictionary.values("Pune", 1)).containsExactly("Pune");
+    }
+
+    @Test
+    void everyPrefixMatchesAFilterOverAllValues() {
+        for (String value : VALUES) {
+            dictionary.add(value);
+        }
+        Random random = new Random(9);
+        for (String value : VALUES) {
+            for (int length = 1; length <= value.length(); length++) {
+                String prefix = randomCase(random, value.substring(0, length));
+                assertThat(dictionary.values(prefix, Integer.MAX_VALUE)).as(prefix).isEqualTo(bruteForce(prefix));
+            }
+        }
+        assertThat(dictionary.values("x", 10)).isEqualTo(new ArrayList<>());
+        assertThat(dictionary.values(null, 3)).containsExactly("Bangalore", "bangalore", "Bangalore, Karnataka");
+    }
+
+    @Test
+    void removedValuesDisappearOnceUnused() {
+        dictionary.add("Pune");
+        dictionary.add("Pune");
+        dictionary.add("pune");
+        dictionary.remove("Pune");
+        assertThat(dictionary.values("pu", 10)).containsExactly("Pune", "pune");
+
+        dictionary.remove("Pune");
+        assertThat(dictionary.values("pu", 10)).containsExactly("pune");
+    }
+
+    private List<String> bruteForce(String prefix) {
+        List<String> expected = new ArrayList<>();
+        for (String value : dictionary.values(null, Integer.MAX_VALUE)) {
+            if (value.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                expected.add(value);
+            }
+        }
+        return expected;
+    }
+
+    private static String randomCase(Random random, String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (char c : text.toCharArray()) {
+            result.append(random.nextBoolean() ? Character.toUpperCase(c) : Character.toLowerCase(c));
+        }
+        return result.toString();
+    }
+}
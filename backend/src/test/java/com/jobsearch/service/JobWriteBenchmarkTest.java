@@ -0,0 +1,241 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.repository.JobRepository;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-page DB time of the ingestion write path before and after batching, on
+ * H2 with the application's JDBC batch size. Each round writes the same page
+ * of new jobs through:
+ * <ul>
+ *   <li>before: {@code findByExternalId} and {@code save} per job, each in
+ *       its own transaction, with IDENTITY ids that cannot be batched</li>
+ *   <li>batched: one {@code externalId IN (...)} lookup and {@code saveAll}
+ *       with ids from the pooled {@code jobs_seq}</li>
+ *   <li>insert-if-absent: the same lookup and the conflict-tolerant insert
+ *       {@link JobWriter} uses now</li>
+ * </ul>
+ * The median page time of each is logged. Absolute times depend on the
+ * machine, so only the JDBC statement counts are asserted.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobWriteBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobWriteBenchmarkTest.class);
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void deleteJobs() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM IdentityJob").executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM jobs").executeUpdate();
+        });
+    }
+
+    @Test
+    void batchedWritePathUsesFewerStatementsPerPage() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long[] perJobNanos = new long[ROUNDS];
+        long[] batchedNanos = new long[ROUNDS];
+        long[] insertIfAbsentNanos = new long[ROUNDS];
+        long perJobStatements = 0;
+        long batchedStatements = 0;
+
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            List<Job> page = page("r" + round);
+
+            statistics.clear();
+            long start = System.nanoTime();
+            writePerJob(page);
+            long perJob = System.nanoTime() - start;
+            long perJobPrepared = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            start = System.nanoTime();
+            writeBatched(page("b" + round));
+            long batched = System.nanoTime() - start;
+            long batchedPrepared = statistics.getPrepareStatementCount();
+
+            start = System.nanoTime();
+            writeInsertIfAbsent(page("i" + round));
+            long insertIfAbsent = System.nanoTime() - start;
+
+            if (round >= 0) {
+                perJobNanos[round] = perJob;
+                batchedNanos[round] = batched;
+                insertIfAbsentNanos[round] = insertIfAbsent;
+                perJobStatements = perJobPrepared;
+                batchedStatements = batchedPrepared;
+            }
+        }
+
+        logger.info("Write path, {} new jobs per page, median of {} rounds:", PAGE_SIZE, ROUNDS);
+        logger.info("  before (lookup + save per job, IDENTITY):    {} ms, {} statements",
+            medianMillis(perJobNanos), perJobStatements);
+        logger.info("  batched (IN lookup + saveAll, jobs_seq):     {} ms, {} statements",
+            medianMillis(batchedNanos), batchedStatements);
+        logger.info("  insert-if-absent (IN lookup + batched MERGE): {} ms",
+            medianMillis(insertIfAbsentNanos));
+
+        // Two round trips per job before; one lookup, the insert batches and
+        // one sequence call per 50 ids after
+        assertThat(perJobStatements).isGreaterThanOrEqualTo(2L * PAGE_SIZE);
+        assertThat(batchedStatements).isLessThan(PAGE_SIZE / 5);
+        assertThat(jobRepository.count()).isEqualTo(2L * PAGE_SIZE * (WARMUP_ROUNDS + ROUNDS));
+    }
+
+    /** The write path before batching, as the ingestion services ran it. */
+    private void writePerJob(List<Job> page) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (Job job : page) {
+            boolean exists = transaction.execute(status -> !entityManager
+                .createQuery("SELECT j FROM IdentityJob j WHERE j.externalId = :externalId", IdentityJob.class)
+                .setParameter("externalId", job.getExternalId())
+                .getResultList()
+                .isEmpty());
+            if (!exists) {
+                transaction.executeWithoutResult(status -> entityManager.persist(IdentityJob.of(job)));
+            }
+        }
+    }
+
+    private void writeBatched(List<Job> page) {
+        List<String> externalIds = page.stream().map(Job::getExternalId).toList();
+        assertThat(jobRepository.findStoredVersions(externalIds)).isEmpty();
+        jobRepository.saveAll(page);
+    }
+
+    private void writeInsertIfAbsent(List<Job> page) {
+        List<String> externalIds = page.stream().map(Job::getExternalId).toList();
+        assertThat(jobRepository.findStoredVersions(externalIds)).isEmpty();
+        assertThat(jobRepository.insertIfAbsent(page)).hasSize(page.size());
+    }
+
+    private static List<Job> page(String prefix) {
+        List<Job> page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Job job = new Job();
+            job.setExternalId("bench_" + prefix + "_" + i);
+            job.setTitle("Java Developer " + i);
+            job.setCompany("Acme " + (i % 10));
+            job.setLocation("Bangalore, Karnataka");
+            job.setSalaryMin(50_000L + i);
+            job.setSalaryMax(90_000L + i);
+            job.setIsRemote(i % 2 == 0);
+            job.setDescription("Build and run the services behind a job search site. ".repeat(20));
+            job.setJobUrl("https://jobs.example.com/" + prefix + "/" + i);
+            job.setSource("jsearch");
+            job.setContentHash(JobContentHash.of(job));
+            page.add(job);
+        }
+        return page;
+    }
+
+    private static String medianMillis(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("%.1f", sorted[sorted.length / 2] / 1_000_000.0);
+    }
+
+    /** The jobs table as it was mapped before batching: IDENTITY ids, one insert per save. */
+    @Entity(name = "IdentityJob")
+    @Table(name = "jobs_identity_benchmark")
+    static class IdentityJob {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+
+        @Column(name = "external_id", unique = true)
+        private String externalId;
+
+        private String title;
+        private String company;
+        private String location;
+
+        @Column(name = "salary_min")
+        private Long salaryMin;
+
+        @Column(name = "salary_max")
+        private Long salaryMax;
+
+        @Column(name = "is_remote")
+        private Boolean isRemote;
+
+        @Column(columnDefinition = "TEXT")
+        private String description;
+
+        @Column(name = "job_url")
+        private String jobUrl;
+
+        private String source;
+
+        @Column(name = "created_at")
+        private LocalDateTime createdAt;
+
+        @Column(name = "updated_at")
+        private LocalDateTime updatedAt;
+
+        static IdentityJob of(Job job) {
+            IdentityJob row = new IdentityJob();
+            row.externalId = job.getExternalId();
+            row.title = job.getTitle();
+            row.company = job.getCompany();
+            row.location = job.getLocation();
+            row.salaryMin = job.getSalaryMin();
+            row.salaryMax = job.getSalaryMax();
+            row.isRemote = job.getIsRemote();
+            row.description = job.getDescription();
+            row.jobUrl = job.getJobUrl();
+            row.source = job.getSource();
+            row.createdAt = LocalDateTime.now();
+            row.updatedAt = row.createdAt;
+            return row;
+        }
+    }
+}
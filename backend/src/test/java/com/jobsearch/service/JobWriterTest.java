@@ -0,0 +1,80 @@
+package com.jobsearch.service;
+
+import com.jobsearch.entity.Job;
+import com.jobsearch.location.Gazetteer;
+import com.jobsearch.location.LocationNormalizer;
+import com.jobsearch.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The write path on H2: jobs that break a constraint of {@link Job} are
+ * dropped before the JDBC insert, and the rest of the page is stored.
+ */
+@DataJpaTest
+class JobWriterTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final List<Object> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JobWriter jobWriter;
+
+    @BeforeEach
+    void createWriter() {
+        jobWriter = new JobWriter(jobRepository, events::add, new LocationNormalizer(new Gazetteer(), jobRepository),
+            Schedulers.immediate(), Validation.buildDefaultValidatorFactory().getValidator(), meterRegistry);
+    }
+
+    @Test
+    void invalidJobsAreDroppedAndTheRestOfThePageIsStored() {
+        Job longTitle = job("writer_1");
+        longTitle.setTitle("T".repeat(201));
+        Job blankCompany = job("writer_2");
+        blankCompany.setCompany(" ");
+        Job longUrl = job("writer_3");
+        longUrl.setJobUrl("https://jobs.example.com/" + "x".repeat(300));
+        Job noExternalId = job(null);
+
+        List<Job> inserted = jobWriter.saveNew(
+            List.of(job("writer_0"), longTitle, blankCompany, longUrl, noExternalId, job("writer_4")), 10);
+
+        assertThat(inserted).extracting(Job::getExternalId).containsExactly("writer_0", "writer_4");
+        assertThat(jobRepository.findAll()).extracting(Job::getExternalId)
+            .containsExactlyInAnyOrder("writer_0", "writer_4");
+        assertThat(meterRegistry.counter("jobs.ingest.rows", "outcome", "invalid").count()).isEqualTo(4.0);
+        assertThat(events).hasSize(1);
+    }
+
+    @Test
+    void pageOfOnlyInvalidJobsWritesNothing() {
+        Job longSource = job("writer_5");
+        longSource.setSource("s".repeat(51));
+
+        assertThat(jobWriter.saveNew(List.of(longSource), 10)).isEmpty();
+        assertThat(jobRepository.count()).isZero();
+        assertThat(events).isEmpty();
+    }
+
+    private static Job job(String externalId) {
+        Job job = new Job();
+        job.setExternalId(externalId);
+        job.setTitle("Java Developer");
+        job.setCompany("Acme");
+        job.setLocation("Pune");
+        job.setJobUrl("https://jobs.example.com/" + externalId);
+        job.setSource("jsearch");
+        return job;
+    }
+}
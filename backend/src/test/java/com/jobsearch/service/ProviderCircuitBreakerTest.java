@@ -0,0 +1,164 @@
+package com.jobsearch.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks a provider's circuit through closed, open and half-open on virtual
+ * time: the breaker reads the same {@link VirtualTimeScheduler} that
+ * {@link StepVerifier} advances, so open periods pass without waiting.
+ * Each call is reported as {@code ok}, {@code failed} or {@code rejected}
+ * (failed fast by the open circuit, without reaching the provider).
+ */
+class ProviderCircuitBreakerTest {
+
+    private static final String PROVIDER = "jsearch";
+
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    // Opens after 3 failures, for 500-1000 ms at first, doubling per re-open
+    private final ProviderCircuitBreaker breaker =
+        new ProviderCircuitBreaker(3, 1000, 8000, () -> scheduler.now(TimeUnit.NANOSECONDS));
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void opensAfterConsecutiveFailuresAndClosesOnASuccessfulProbe() {
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(failure()), call(failure()), call(failure()), state(),
+                    call(success()),
+                    after(499, call(success())),
+                    after(501, call(success())), state()),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "failed", "failed", "OPEN", "rejected")
+            .thenAwait(Duration.ofMillis(499))
+            .expectNext("rejected")
+            .thenAwait(Duration.ofMillis(501))
+            .expectNext("ok", "CLOSED")
+            .verifyComplete();
+
+        // The rejected calls never reached the provider
+        assertThat(upstreamCalls).hasValue(4);
+        assertThat(breaker.status().get(0).getConsecutiveFailures()).isZero();
+    }
+
+    @Test
+    void failedProbeReopensForLonger() {
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(failure()), call(failure()), call(failure()),
+                    after(1000, call(failure())), state(),
+                    // The second open lasts 1000-2000 ms
+                    after(999, call(success())),
+                    after(1001, call(success())), state()),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "failed", "failed")
+            .thenAwait(Duration.ofMillis(1000))
+            .expectNext("failed", "OPEN")
+            .thenAwait(Duration.ofMillis(999))
+            .expectNext("rejected")
+            .thenAwait(Duration.ofMillis(1001))
+            .expectNext("ok", "CLOSED")
+            .verifyComplete();
+    }
+
+    @Test
+    void halfOpenCircuitLetsASingleProbeThrough() {
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(failure()), call(failure()), call(failure()),
+                    after(1000, Flux.merge(
+                        call(Mono.delay(Duration.ofMillis(100)).then(success())),
+                        after(10, call(success())))),
+                    state()),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "failed", "failed")
+            .thenAwait(Duration.ofMillis(1010))
+            .expectNext("rejected")
+            .thenAwait(Duration.ofMillis(90))
+            .expectNext("ok", "CLOSED")
+            .verifyComplete();
+    }
+
+    @Test
+    void retryAfterOpensAtOnceForExactlyThatLong() {
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(rateLimited(Duration.ofSeconds(5))), state(),
+                    after(4999, call(success())),
+                    after(1, call(success())), state()),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "OPEN")
+            .thenAwait(Duration.ofMillis(4999))
+            .expectNext("rejected")
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("ok", "CLOSED")
+            .verifyComplete();
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(failure()), call(failure()), call(success()),
+                    call(failure()), call(failure()), state()),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "failed", "ok", "failed", "failed", "CLOSED")
+            .verifyComplete();
+    }
+
+    @Test
+    void failuresThatAreNotTransientLeaveTheCircuitClosed() {
+        Mono<String> badRequest = Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null));
+        });
+
+        StepVerifier.withVirtualTime(() -> Flux.concat(
+                    call(badRequest), call(badRequest), call(badRequest), call(badRequest), state(),
+                    call(success())),
+                () -> scheduler, Long.MAX_VALUE)
+            .expectNext("failed", "failed", "failed", "failed", "CLOSED", "ok")
+            .verifyComplete();
+    }
+
+    private Mono<String> call(Mono<String> upstream) {
+        return breaker.protect(PROVIDER, upstream)
+            .onErrorResume(e -> Mono.just(e instanceof CircuitOpenException ? "rejected" : "failed"));
+    }
+
+    private Mono<String> state() {
+        return Mono.fromCallable(() -> breaker.status().get(0).getState());
+    }
+
+    private static <T> Mono<T> after(long millis, Mono<T> next) {
+        return Mono.delay(Duration.ofMillis(millis)).then(next);
+    }
+
+    private static Flux<String> after(long millis, Flux<String> next) {
+        return Mono.delay(Duration.ofMillis(millis)).thenMany(next);
+    }
+
+    private Mono<String> success() {
+        return Mono.fromCallable(() -> {
+            upstreamCalls.incrementAndGet();
+            return "ok";
+        });
+    }
+
+    private Mono<String> failure() {
+        return rateLimited(null);
+    }
+
+    private Mono<String> rateLimited(Duration retryAfter) {
+        return Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.error(new UpstreamRateLimitedException(PROVIDER, retryAfter));
+        });
+    }
+}
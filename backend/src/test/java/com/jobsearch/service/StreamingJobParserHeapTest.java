@@ -0,0 +1,206 @@
+package com.jobsearch.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobsearch.entity.Job;
+import com.jobsearch.service.parse.JSearchJobMapper;
+import com.jobsearch.service.parse.StreamingJobParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Peak heap of parsing a large JSearch page with {@link StreamingJobParser}
+ * and with the String-plus-tree parsing it replaced. Each path runs in a
+ * child JVM ({@link #main}) with SerialGC, and the smallest {@code -Xmx}
+ * that completes is taken as its peak heap: the page is 10 jobs with 200 KB
+ * descriptions arriving in 8 KB buffers, parsed three times. A harness run
+ * that builds the page without parsing it gives the baseline.
+ */
+@Tag("benchmark")
+class StreamingJobParserHeapTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingJobParserHeapTest.class);
+
+    private static final int JOBS = 10;
+    private static final int DESCRIPTION_CHARS = 200 * 1024;
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int PARSES = 3;
+
+    private static final int MIN_HEAP_MB = 4;
+    private static final int MAX_HEAP_MB = 128;
+
+    @Test
+    void streamingParserNeedsLessHeapThanTheTreeParser() throws Exception {
+        int baseline = smallestHeapMb("baseline");
+        int tree = smallestHeapMb("tree");
+        int streaming = smallestHeapMb("streaming");
+
+        logger.info("Smallest -Xmx to parse a {} KB page {} times:", JOBS * DESCRIPTION_CHARS / 1024, PARSES);
+        logger.info("  harness alone                            {} MB", baseline);
+        logger.info("  StringDecoder + readTree (the old path)  {} MB (+{} MB)", tree, tree - baseline);
+        logger.info("  StreamingJobParser                       {} MB (+{} MB)", streaming, streaming - baseline);
+
+        assertThat(baseline).isGreaterThan(MIN_HEAP_MB).isLessThan(MAX_HEAP_MB);
+        assertThat(tree).isLessThan(MAX_HEAP_MB);
+        assertThat(streaming).isLessThan(tree);
+    }
+
+    /** Binary search for the smallest heap, in MB, at which {@code mode} completes. */
+    private static int smallestHeapMb(String mode) throws Exception {
+        int low = MIN_HEAP_MB;
+        int high = MAX_HEAP_MB;
+        while (low < high) {
+            int mid = (low + high) / 2;
+            if (completes(mode, mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean completes(String mode, int heapMb) throws Exception {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Xmx" + heapMb + "m", "-XX:+UseSerialGC",
+                "-cp", System.getProperty("java.class.path"), StreamingJobParserHeapTest.class.getName(), mode)
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            return false;
+        }
+        return process.exitValue() == 0;
+    }
+
+    /** Runs one mode in the child JVM; an OutOfMemoryError exits non-zero. */
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<byte[]> page = page(objectMapper);
+        List<Job> jobs = List.of();
+        for (int i = 0; i < PARSES; i++) {
+            jobs = switch (args[0]) {
+                case "baseline" -> jobs;
+                case "tree" -> parseTree(objectMapper, page);
+                case "streaming" -> parseStreaming(objectMapper, page);
+                default -> throw new IllegalArgumentException(args[0]);
+            };
+        }
+        if (!"baseline".equals(args[0]) && jobs.size() != JOBS) {
+            System.exit(2);
+        }
+    }
+
+    // What bodyToMono(String.class) and readTree did: join the buffers,
+    // decode the String, then build the tree
+    private static List<Job> parseTree(ObjectMapper objectMapper, List<byte[]> page) throws IOException {
+        byte[] joined = new byte[page.stream().mapToInt(chunk -> chunk.length).sum()];
+        int offset = 0;
+        for (byte[] chunk : page) {
+            System.arraycopy(chunk, 0, joined, offset, chunk.length);
+            offset += chunk.length;
+        }
+        String body = new String(joined, StandardCharsets.UTF_8);
+        joined = null;
+        return StreamingJobParserTest.parseJSearchTree(objectMapper.readTree(body));
+    }
+
+    private static List<Job> parseStreaming(ObjectMapper objectMapper, List<byte[]> page) {
+        return new StreamingJobParser(objectMapper)
+            .parse(Flux.fromIterable(page).map(DefaultDataBufferFactory.sharedInstance::wrap), "data", new JSearchJobMapper())
+            .collectList()
+            .block();
+    }
+
+    /** The page, written straight into buffer-sized chunks so building it never holds a second copy. */
+    private static List<byte[]> page(ObjectMapper objectMapper) throws IOException {
+        ChunkedOutput out = new ChunkedOutput();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("status", "OK");
+            json.writeArrayFieldStart("data");
+            for (int i = 0; i < JOBS; i++) {
+                json.writeStartObject();
+                json.writeStringField("job_id", "heap-" + i);
+                json.writeStringField("employer_name", "Acme " + i);
+                json.writeStringField("job_title", "Senior Java Developer");
+                json.writeStringField("job_city", "Bangalore");
+                json.writeNumberField("job_min_salary", 1_200_000 + i);
+                json.writeNumberField("job_max_salary", 2_400_000 + i);
+                json.writeStringField("job_description", description(i));
+                json.writeStringField("job_apply_link", "https://jobs.example.com/heap-" + i);
+                json.writeBooleanField("job_is_remote", i % 2 == 0);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return out.chunks();
+    }
+
+    private static String description(int i) {
+        StringBuilder description = new StringBuilder(DESCRIPTION_CHARS);
+        String line = "Job " + i + ": design, build and run high-throughput services in Java.\n";
+        while (description.length() + line.length() <= DESCRIPTION_CHARS) {
+            description.append(line);
+        }
+        return description.toString();
+    }
+
+    private static final class ChunkedOutput extends OutputStream {
+
+        private final List<byte[]> chunks = new ArrayList<>();
+        private byte[] current = new byte[BUFFER_SIZE];
+        private int position;
+
+        @Override
+        public void write(int b) {
+            if (position == current.length) {
+                chunks.add(current);
+                current = new byte[BUFFER_SIZE];
+                position = 0;
+            }
+            current[position++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (position == current.length) {
+                    chunks.add(current);
+                    current = new byte[BUFFER_SIZE];
+                    position = 0;
+                }
+                int n = Math.min(length, current.length - position);
+                System.arraycopy(bytes, offset, current, position, n);
+                position += n;
+                offset += n;
+                length -= n;
+            }
+        }
+
+        List<byte[]> chunks() {
+            if (position > 0) {
+                chunks.add(Arrays.copyOf(current, position));
+                position = 0;
+            }
+            return chunks;
+        }
+    }
+}
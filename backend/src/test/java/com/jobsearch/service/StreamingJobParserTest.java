@@ -0,0 +1,166 @@
+package com.jobsearch.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobsearch.entity.Job;
+import com.jobsearch.service.parse.AdzunaJobMapper;
+import com.jobsearch.service.parse.JSearchJobMapper;
+import com.jobsearch.service.parse.JobElementMapper;
+import com.jobsearch.service.parse.StreamingJobParser;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the streaming parser against the tree-based parsing it replaced, on
+ * recorded provider pages fed whole and in small, randomly sized buffers.
+ */
+class StreamingJobParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StreamingJobParser parser = new StreamingJobParser(objectMapper);
+
+    @Test
+    void jsearchPageMatchesTreeParser() throws IOException {
+        byte[] body = fixture("jsearch-search-page.json");
+        List<Job> expected = parseJSearchTree(objectMapper.readTree(body));
+
+        assertThat(expected).hasSize(4);
+        assertSameJobs(parse(body, body.length, "data", new JSearchJobMapper()), expected);
+        for (int maxChunk : new int[] {1, 7, 64}) {
+            assertSameJobs(parse(body, maxChunk, "data", new JSearchJobMapper()), expected);
+        }
+    }
+
+    @Test
+    void adzunaPageMatchesTreeParser() throws IOException {
+        byte[] body = fixture("adzuna-search-page.json");
+        List<Job> expected = parseAdzunaTree(body);
+
+        assertThat(expected).hasSize(3);
+        assertSameJobs(parse(body, body.length, "results", new AdzunaJobMapper()), expected);
+        for (int maxChunk : new int[] {1, 7, 64}) {
+            assertSameJobs(parse(body, maxChunk, "results", new AdzunaJobMapper()), expected);
+        }
+    }
+
+    @Test
+    void truncatedBodyKeepsJobsReadBeforeTheError() throws IOException {
+        byte[] body = fixture("jsearch-search-page.json");
+        String text = new String(body, StandardCharsets.UTF_8);
+        byte[] truncated = text.substring(0, text.indexOf("\"bU8nT1rQa0kAAAAAAAAAAA==\"")).getBytes(StandardCharsets.UTF_8);
+
+        List<Job> jobs = new ArrayList<>();
+        assertThatThrownBy(() -> parser.parse(chunks(truncated, 16), "data", new JSearchJobMapper())
+                .doOnNext(jobs::add)
+                .blockLast())
+            .isInstanceOf(UncheckedIOException.class);
+        assertThat(jobs).extracting(Job::getExternalId).containsExactly("jsearch_Xk3pQ9vLw2YAAAAAAAAAAA==");
+    }
+
+    private List<Job> parse(byte[] body, int maxChunk, String arrayField, JobElementMapper mapper) {
+        return parser.parse(chunks(body, maxChunk), arrayField, mapper).collectList().block();
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body, int maxChunk) {
+        Random random = new Random(maxChunk);
+        List<byte[]> slices = new ArrayList<>();
+        for (int start = 0; start < body.length; ) {
+            int end = Math.min(body.length, start + 1 + random.nextInt(maxChunk));
+            slices.add(Arrays.copyOfRange(body, start, end));
+            start = end;
+        }
+        return Flux.fromIterable(slices).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+
+    private static void assertSameJobs(List<Job> actual, List<Job> expected) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(fields(actual.get(i))).as("job %d", i).isEqualTo(fields(expected.get(i)));
+        }
+    }
+
+    private static List<Object> fields(Job job) {
+        return Arrays.asList(job.getExternalId(), job.getTitle(), job.getCompany(), job.getLocation(),
+            job.getSalaryMin(), job.getSalaryMax(), job.getDescription(), job.getJobUrl(), job.getIsRemote(),
+            job.getSource(), job.getSkills(), job.getContentHash());
+    }
+
+    private byte[] fixture(String name) throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/" + name)) {
+            assertThat(in).as(name).isNotNull();
+            return in.readAllBytes();
+        }
+    }
+
+    // The tree-based parsing JSearchJobService used before StreamingJobParser
+    static List<Job> parseJSearchTree(JsonNode page) {
+        List<Job> jobs = new ArrayList<>();
+        for (JsonNode jobNode : page.get("data")) {
+            Job job = new Job();
+            job.setExternalId("jsearch_" + jobNode.get("job_id").asText());
+            job.setTitle(jobNode.has("job_title") ? jobNode.get("job_title").asText() : "");
+            job.setCompany(jobNode.has("employer_name") ? jobNode.get("employer_name").asText() : "");
+            job.setLocation(jobNode.has("job_city") ? jobNode.get("job_city").asText() : "");
+            job.setSource("jsearch");
+            if (jobNode.has("job_min_salary") && !jobNode.get("job_min_salary").isNull()) {
+                job.setSalaryMin(jobNode.get("job_min_salary").asLong());
+            }
+            if (jobNode.has("job_max_salary") && !jobNode.get("job_max_salary").isNull()) {
+                job.setSalaryMax(jobNode.get("job_max_salary").asLong());
+            }
+            job.setDescription(jobNode.has("job_description") ? jobNode.get("job_description").asText() : "");
+            job.setJobUrl(jobNode.has("job_apply_link") ? jobNode.get("job_apply_link").asText() : "");
+            job.setIsRemote(jobNode.has("job_is_remote") && jobNode.get("job_is_remote").asBoolean());
+            job.setSkills(new ArrayList<>());
+            job.setContentHash(JobContentHash.of(job));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    // The tree-based parsing AdzunaJobService used before StreamingJobParser
+    private List<Job> parseAdzunaTree(byte[] body) throws IOException {
+        List<Job> jobs = new ArrayList<>();
+        for (JsonNode jobNode : objectMapper.readTree(body).get("results")) {
+            Job job = new Job();
+            job.setExternalId("adzuna_" + jobNode.get("id").asText());
+            job.setTitle(jobNode.has("title") ? jobNode.get("title").asText() : "");
+            job.setSource("adzuna");
+            if (jobNode.has("company") && jobNode.get("company").has("display_name")) {
+                job.setCompany(jobNode.get("company").get("display_name").asText());
+            } else {
+                job.setCompany("");
+            }
+            if (jobNode.has("location") && jobNode.get("location").has("display_name")) {
+                job.setLocation(jobNode.get("location").get("display_name").asText());
+            }
+            if (jobNode.has("salary_min") && !jobNode.get("salary_min").isNull()) {
+                job.setSalaryMin(jobNode.get("salary_min").asLong());
+            }
+            if (jobNode.has("salary_max") && !jobNode.get("salary_max").isNull()) {
+                job.setSalaryMax(jobNode.get("salary_max").asLong());
+            }
+            job.setDescription(jobNode.has("description") ? jobNode.get("description").asText() : "");
+            job.setJobUrl(jobNode.has("redirect_url") ? jobNode.get("redirect_url").asText() : "");
+            job.setIsRemote(false);
+            job.setSkills(new ArrayList<>());
+            job.setContentHash(JobContentHash.of(job));
+            jobs.add(job);
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,115 @@
+package com.jobsearch.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks on virtual time that {@link UpstreamRetry} waits exactly as long as
+ * the provider's {@code Retry-After} asks, backs off with jitter when it
+ * does not say, and gives up when it should.
+ */
+class UpstreamRetryTest {
+
+    private static final String PROVIDER = "jsearch";
+
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @Test
+    void waitsForRetryAfterOfA429() {
+        StepVerifier.withVirtualTime(() -> failingTimes(1, () -> new UpstreamRateLimitedException(PROVIDER, Duration.ofSeconds(3)))
+                .retryWhen(retry()))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(2999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("page")
+            .verifyComplete();
+
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    void waitsForRetryAfterHeaderOfA503() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+
+        StepVerifier.withVirtualTime(() -> failingTimes(1, () -> serverError(headers)).retryWhen(retry()))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(1999))
+            .thenAwait(Duration.ofMillis(1))
+            .expectNext("page")
+            .verifyComplete();
+    }
+
+    @Test
+    void givesUpWhenRetryAfterIsLongerThanTheMaxBackoff() {
+        StepVerifier.withVirtualTime(() -> failingTimes(1, () -> new UpstreamRateLimitedException(PROVIDER, Duration.ofSeconds(60)))
+                .retryWhen(retry()))
+            .expectSubscription()
+            .expectError(UpstreamRateLimitedException.class)
+            .verify();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    void backsOffExponentiallyWithoutRetryAfter() {
+        // 50-100 ms before the first retry, then 100-200 ms
+        StepVerifier.withVirtualTime(() -> failingTimes(2, () -> serverError(HttpHeaders.EMPTY)).retryWhen(retry()))
+            .expectSubscription()
+            .expectNoEvent(Duration.ofMillis(149))
+            .thenAwait(Duration.ofMillis(151))
+            .expectNext("page")
+            .verifyComplete();
+
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void stopsAfterMaxRetries() {
+        StepVerifier.withVirtualTime(() -> failingTimes(Integer.MAX_VALUE, () -> serverError(HttpHeaders.EMPTY))
+                .retryWhen(retry()))
+            .expectSubscription()
+            .thenAwait(Duration.ofSeconds(10))
+            .expectError(WebClientResponseException.class)
+            .verify();
+
+        assertThat(attempts).hasValue(4);
+    }
+
+    @Test
+    void doesNotRetryARequestTheProviderRejected() {
+        StepVerifier.withVirtualTime(() -> failingTimes(1,
+                    () -> WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null))
+                .retryWhen(retry()))
+            .expectSubscription()
+            .expectError(WebClientResponseException.class)
+            .verify();
+
+        assertThat(attempts).hasValue(1);
+    }
+
+    private static Retry retry() {
+        return UpstreamRetry.onTransientFailure(PROVIDER, 3, Duration.ofMillis(100), Duration.ofSeconds(10));
+    }
+
+    /** A request that fails {@code failures} times, then returns a page. */
+    private Mono<String> failingTimes(int failures, Supplier<RuntimeException> failure) {
+        return Mono.defer(() -> attempts.incrementAndGet() <= failures
+            ? Mono.error(failure.get())
+            : Mono.just("page"));
+    }
+
+    private static WebClientResponseException serverError(HttpHeaders headers) {
+        return WebClientResponseException.create(503, "Service Unavailable", headers, new byte[0], null);
+    }
+}